@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** {@link Table#fromBeans(Class, Iterable)} 的基准测试，与手写的逐行写入对比，衡量属性访问的开销。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BeanBenchmark {
+
+  public static class Person {
+    private final String name;
+    private final int age;
+    private final double score;
+
+    Person(String name, int age, double score) {
+      this.name = name;
+      this.age = age;
+      this.score = score;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public double getScore() {
+      return score;
+    }
+  }
+
+  @Param({"1000", "1000000"})
+  private int rows;
+
+  private List<Person> people;
+
+  @Setup
+  public void setUp() {
+    people = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      people.add(new Person("name" + i, i % 100, i * 0.5));
+    }
+  }
+
+  @Benchmark
+  public Table fromBeans() {
+    return Table.fromBeans(Person.class, people);
+  }
+
+  @Benchmark
+  public Table handWritten() {
+    IntColumn age = new Column.Builder().withHeader("age").withExpectedRows(rows).buildIntColumn();
+    DoubleColumn score =
+        new Column.Builder().withHeader("score").withExpectedRows(rows).buildDoubleColumn();
+    Column name = new Column.Builder().withHeader("name").withExpectedRows(rows).build();
+    for (Person person : people) {
+      name.addCell(person.getName());
+      age.addCell(person.getAge());
+      score.addCell(person.getScore());
+    }
+    return new Table.Builder().withColumns(name, age, score).build();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+/** 基准测试使用的数据生成工具。 同样的参数总是生成同样的数据，保证多次运行之间的结果可以比较。 */
+public final class BenchmarkData {
+
+  /** 单元格内容的字符类型。 */
+  public enum Content {
+    /** 纯ASCII字符，走显示宽度计算的快速路径。 */
+    ASCII("name", "value", "comment", "status"),
+
+    /** 中日韩字符，每个字符的显示宽度为2。 */
+    CJK("张远航", "数据", "备注信息", "状态"),
+
+    /** Emoji，包含补充平面的代码点。 */
+    EMOJI("😀 ok", "🚀🚀", "✅ done", "🔥 hot");
+
+    private final String[] words;
+
+    Content(String... words) {
+      this.words = words;
+    }
+
+    /**
+     * 生成指定位置的单元格内容。
+     *
+     * @param row 行索引
+     * @param column 列索引
+     * @return 单元格内容
+     */
+    public String cell(int row, int column) {
+      return words[(row + column) % words.length] + '-' + row;
+    }
+  }
+
+  private BenchmarkData() {}
+
+  /**
+   * 根据名称获取预设的边框样式。
+   *
+   * @param name 边框样式名称，与 {@link BorderStyle} 中的常量名一致
+   * @return 边框样式
+   * @throws IllegalArgumentException 当名称不存在时抛出
+   */
+  public static BorderStyle borderStyle(String name) {
+    switch (name) {
+      case "FANCY":
+        return BorderStyle.FANCY;
+      case "FANCY2":
+        return BorderStyle.FANCY2;
+      case "BASIC":
+        return BorderStyle.BASIC;
+      case "BASIC2":
+        return BorderStyle.BASIC2;
+      default:
+        throw new IllegalArgumentException("Unknown border style: " + name);
+    }
+  }
+
+  /**
+   * 生成填充好数据的列。
+   *
+   * @param rows 行数
+   * @param columns 列数
+   * @param content 单元格内容类型
+   * @return 列数组
+   */
+  public static Column[] columns(int rows, int columns, Content content) {
+    Column[] result = new Column[columns];
+    for (int j = 0; j < columns; j++) {
+      result[j] = new Column.Builder().withHeader("column" + j).build();
+      for (int i = 0; i < rows; i++) {
+        result[j].addCell(content.cell(i, j));
+      }
+    }
+    return result;
+  }
+}
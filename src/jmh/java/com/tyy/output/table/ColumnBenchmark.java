@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** {@link Column#addCell(String)} 的基准测试，衡量向列中写入数据的吞吐量和内存分配，以及预留容量对扩容的影响。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnBenchmark {
+
+  @Param({"10", "1000", "100000", "1000000"})
+  private int rows;
+
+  @Param({"ASCII", "CJK", "EMOJI"})
+  private BenchmarkData.Content content;
+
+  @Param({"false", "true"})
+  private boolean compactStorage;
+
+  private String[] cells;
+
+  @Setup
+  public void setUp() {
+    cells = new String[rows];
+    for (int i = 0; i < rows; i++) {
+      cells[i] = content.cell(i, 0);
+    }
+  }
+
+  @Benchmark
+  public Column addCell() {
+    Column column =
+        new Column.Builder().withHeader("column").withCompactStorage(compactStorage).build();
+    for (String cell : cells) {
+      column.addCell(cell);
+    }
+    return column;
+  }
+
+  @Benchmark
+  public Column addCellWithExpectedRows() {
+    Column column =
+        new Column.Builder()
+            .withHeader("column")
+            .withCompactStorage(compactStorage)
+            .withExpectedRows(rows)
+            .build();
+    for (String cell : cells) {
+      column.addCell(cell);
+    }
+    return column;
+  }
+}
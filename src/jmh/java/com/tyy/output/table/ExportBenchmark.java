@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.io.ByteStreams;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** {@link Table#exportCsv(OutputStream)} 等导出方法的基准测试，与 {@link Table#print(OutputStream)} 对比。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExportBenchmark {
+
+  @Param({"1000", "1000000"})
+  private int rows;
+
+  @Param({"4"})
+  private int columns;
+
+  @Param({"ASCII", "CJK"})
+  private BenchmarkData.Content content;
+
+  private Column[] data;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkData.columns(rows, columns, content);
+  }
+
+  private Table newTable() {
+    return new Table.Builder().withColumns(data).build();
+  }
+
+  @Benchmark
+  public void print() {
+    newTable().print(ByteStreams.nullOutputStream());
+  }
+
+  @Benchmark
+  public void exportCsv() {
+    newTable().exportCsv(ByteStreams.nullOutputStream());
+  }
+
+  @Benchmark
+  public void exportTsv() {
+    newTable().exportTsv(ByteStreams.nullOutputStream());
+  }
+
+  @Benchmark
+  public void exportJsonLines() {
+    newTable().exportJsonLines(ByteStreams.nullOutputStream());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.io.ByteStreams;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link Table#getStringFormat()} 和 {@link Table#print(OutputStream)} 的基准测试，衡量列宽计算和渲染的吞吐量和内存分配。
+ *
+ * <p>表格会缓存布局，为了同时衡量布局计算，每次调用都会使用预先填充好的列重新构建表格。不限制行数时构建只是创建几个对象；设置了行数限制时，
+ * 表格会复制预先填充的全部行并重新执行限制，开销与行数成正比，因此 {@link #build()} 单独衡量构建的开销， {@link #getStringFormat()} 和 {@link
+ * #print()} 的结果需要扣除这一部分。 {@link #renderCached()} 复用同一个表格，只衡量写入的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TableBenchmark {
+
+  @Param({"10", "1000", "100000", "1000000"})
+  private int rows;
+
+  @Param({"1", "4", "16"})
+  private int columns;
+
+  @Param({"ASCII", "CJK", "EMOJI"})
+  private BenchmarkData.Content content;
+
+  @Param({"FANCY", "FANCY2", "BASIC", "BASIC2"})
+  private String borderStyle;
+
+  /** 行数限制，-1即 {@link Constant#UNLIMITED}，表示不限制。 */
+  @Param({"-1", "100"})
+  private int limit;
+
+  @Param({"false", "true"})
+  private boolean rowNumbersEnabled;
+
+  private Column[] data;
+  private BorderStyle style;
+  private Table cached;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkData.columns(rows, columns, content);
+    style = BenchmarkData.borderStyle(borderStyle);
+    cached = newTable();
+  }
+
+  private Table newTable() {
+    return new Table.Builder()
+        .withColumns(data)
+        .withBorderStyle(style)
+        .withLimit(limit)
+        .withRowNumbersEnabled(rowNumbersEnabled)
+        .build();
+  }
+
+  @Benchmark
+  public Table build() {
+    return newTable();
+  }
+
+  @Benchmark
+  public String getStringFormat() {
+    return newTable().getStringFormat();
+  }
+
+  @Benchmark
+  public void print() {
+    newTable().print(ByteStreams.nullOutputStream());
+  }
+
+  @Benchmark
+  public String renderCached() {
+    return cached.getStringFormat();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table.utils;
+
+import com.tyy.output.table.BenchmarkData;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** {@link LineUtil#getDisplayWidth(CharSequence)} 的基准测试，衡量不同字符类型下显示宽度计算的吞吐量和内存分配。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LineUtilBenchmark {
+
+  /** 每个字符串由多少个单元格内容拼接而成。 */
+  @Param({"1", "10", "100"})
+  private int words;
+
+  @Param({"ASCII", "CJK", "EMOJI"})
+  private BenchmarkData.Content content;
+
+  private String text;
+
+  @Setup
+  public void setUp() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      sb.append(content.cell(i, 0));
+    }
+    text = sb.toString();
+  }
+
+  @Benchmark
+  public int getDisplayWidth() {
+    return LineUtil.getDisplayWidth(text);
+  }
+}
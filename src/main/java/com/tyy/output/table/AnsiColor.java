@@ -0,0 +1,36 @@
+package com.tyy.output.table;
+
+/** ANSI 终端的 16 种标准颜色，用于 {@link CellStyle} 的前景色和背景色。 */
+public enum AnsiColor {
+  BLACK(30),
+  RED(31),
+  GREEN(32),
+  YELLOW(33),
+  BLUE(34),
+  MAGENTA(35),
+  CYAN(36),
+  WHITE(37),
+  BRIGHT_BLACK(90),
+  BRIGHT_RED(91),
+  BRIGHT_GREEN(92),
+  BRIGHT_YELLOW(93),
+  BRIGHT_BLUE(94),
+  BRIGHT_MAGENTA(95),
+  BRIGHT_CYAN(96),
+  BRIGHT_WHITE(97);
+
+  /** 前景色的 SGR 参数，背景色的参数比前景色大 10。 */
+  private final int foregroundCode;
+
+  AnsiColor(int foregroundCode) {
+    this.foregroundCode = foregroundCode;
+  }
+
+  int getForegroundCode() {
+    return foregroundCode;
+  }
+
+  int getBackgroundCode() {
+    return foregroundCode + 10;
+  }
+}
@@ -0,0 +1,417 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * 在后台线程中输出表格的写入器。 提交表格只是把表格放入无锁队列，布局计算、渲染和写入都在唯一的后台线程中完成，适合在请求处理线程中输出诊断信息。
+ *
+ * <p>后台线程每次取出队列中已有的所有表格（最多 {@value #MAX_BATCH_SIZE} 个），按 {@link Table#print(java.io.OutputStream)}
+ * 的格式依次渲染，每个表格完整渲染后才写入缓冲区，整批写完后只刷新一次输出流，因此渲染失败的表格不会留下不完整的输出。 队列的容量有限，队列已满时按照 {@link
+ * QueueFullPolicy} 阻塞或丢弃。
+ *
+ * <p>提交后的表格由后台线程读取，提交方不能再修改该表格。写入器提供队列长度、丢弃数量以及从提交到写入输出流的延迟等计数， 渲染或写入失败的表格计入 {@link
+ * #getFailedCount()}，不会影响后续的表格，失败的原因通过 {@link #getLastError()} 和 {@link
+ * Builder#withErrorHandler(Consumer)} 获取。{@link #close()} 会等待队列中的表格全部写完，但不会关闭输出流。
+ */
+public final class AsyncTableWriter implements Closeable {
+  /** 默认的队列容量。 */
+  public static final int DEFAULT_CAPACITY = 1_024;
+
+  /** 每批最多写入的表格数量，避免一直有新表格时迟迟不刷新。 */
+  static final int MAX_BATCH_SIZE = 256;
+
+  private static final int WRITE_BUFFER_CHARS = 64 * 1_024;
+
+  /** 渲染单个表格的缓冲区超过该容量时不再复用，避免一个很大的表格长期占用内存。 */
+  private static final int MAX_RETAINED_RENDER_CHARS = 16 * WRITE_BUFFER_CHARS;
+
+  /** 队列为空时后台线程等待的最长时间，提交表格时会立即唤醒。 */
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+
+  /** 队列中的空位，提交时获取，后台线程取出表格时释放。 */
+  private final Semaphore permits;
+
+  @Getter private final int capacity;
+  @Getter private final QueueFullPolicy queueFullPolicy;
+  private final Writer writer;
+  private final boolean terminal;
+  private final Consumer<Throwable> errorHandler;
+  private final Thread thread;
+
+  /** 渲染单个表格的缓冲区，只由后台线程使用。 */
+  private StringBuilder rendering = new StringBuilder(WRITE_BUFFER_CHARS);
+
+  private volatile boolean closed;
+
+  /** 后台线程是否正在或即将等待新的表格。 */
+  private volatile boolean parked;
+
+  private final LongAdder submittedCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+
+  /** 以下计数只由后台线程修改。 */
+  private volatile long writtenCount;
+
+  private volatile long failedCount;
+  private volatile long batchCount;
+  private volatile long totalLatencyNanos;
+  private volatile long maxLatencyNanos;
+  private volatile Throwable lastError;
+
+  private AsyncTableWriter(Builder builder) {
+    this.capacity = builder.capacity;
+    this.queueFullPolicy = builder.queueFullPolicy;
+    this.permits = new Semaphore(capacity);
+    this.writer =
+        new BufferedWriter(
+            new OutputStreamWriter(builder.sink, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+    this.terminal = Table.isTerminal(builder.sink);
+    this.errorHandler = builder.errorHandler;
+    this.thread = new Thread(this::run, "async-table-writer");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /** Builder 模式构造器类。 用于配置和创建 AsyncTableWriter 实例。 */
+  public static final class Builder {
+    private final OutputStream sink;
+    private int capacity;
+    private QueueFullPolicy queueFullPolicy;
+    private Consumer<Throwable> errorHandler;
+
+    /**
+     * 创建Builder。
+     *
+     * @param sink 输出流
+     * @throws IllegalArgumentException 当sink为null时抛出
+     */
+    public Builder(OutputStream sink) {
+      Preconditions.checkArgument(sink != null, "OutputStream cannot be null");
+      this.sink = sink;
+      this.capacity = DEFAULT_CAPACITY;
+      this.queueFullPolicy = QueueFullPolicy.BLOCK;
+    }
+
+    /**
+     * 设置队列的容量，默认为 {@value #DEFAULT_CAPACITY}。
+     *
+     * @param capacity 最多等待写入的表格数量
+     * @return Builder实例
+     * @throws IllegalArgumentException 当capacity不是正数时抛出
+     */
+    public Builder withCapacity(int capacity) {
+      Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * 设置队列已满时的处理策略，默认为 {@link QueueFullPolicy#BLOCK}。
+     *
+     * @param queueFullPolicy 队列已满时的处理策略
+     * @return Builder实例
+     * @throws NullPointerException 当queueFullPolicy为null时抛出
+     */
+    public Builder withQueueFullPolicy(QueueFullPolicy queueFullPolicy) {
+      this.queueFullPolicy =
+          Preconditions.checkNotNull(queueFullPolicy, "Queue full policy cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置渲染或写入失败时的回调，默认不设置。 回调在后台线程中执行，每个失败的表格调用一次，刷新失败时整批调用一次；回调抛出的异常被忽略。
+     *
+     * @param errorHandler 失败时的回调
+     * @return Builder实例
+     * @throws NullPointerException 当errorHandler为null时抛出
+     */
+    public Builder withErrorHandler(Consumer<Throwable> errorHandler) {
+      this.errorHandler = Preconditions.checkNotNull(errorHandler, "Error handler cannot be null");
+      return this;
+    }
+
+    /**
+     * 创建写入器并启动后台线程。
+     *
+     * @return 写入器
+     */
+    public AsyncTableWriter build() {
+      return new AsyncTableWriter(this);
+    }
+  }
+
+  /**
+   * 提交要输出的表格。 队列未满时只把表格放入队列，不会计算布局或渲染；队列已满时按照 {@link QueueFullPolicy} 阻塞或丢弃。
+   *
+   * @param table 表格，提交后不能再修改
+   * @return 表格已放入队列时返回true；被丢弃，或者阻塞等待时线程被中断返回false
+   * @throws IllegalArgumentException 当table为null时抛出
+   * @throws IllegalStateException 当写入器已关闭时抛出
+   */
+  public boolean submit(Table table) {
+    Preconditions.checkArgument(table != null, "Table cannot be null");
+    Preconditions.checkState(!closed, "Writer is closed");
+    if (queueFullPolicy == QueueFullPolicy.DROP) {
+      if (!permits.tryAcquire()) {
+        droppedCount.increment();
+        return false;
+      }
+    } else {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        droppedCount.increment();
+        return false;
+      }
+    }
+    if (closed) {
+      permits.release();
+      throw new IllegalStateException("Writer is closed");
+    }
+
+    queue.offer(new Entry(table, System.nanoTime()));
+    submittedCount.increment();
+    if (parked) {
+      LockSupport.unpark(thread);
+    }
+    return true;
+  }
+
+  /**
+   * 关闭写入器。 不再接受新的表格，等待队列中的表格全部写完后返回，不会关闭输出流。重复调用没有影响。
+   *
+   * @throws InterruptedIOException 当前线程在等待时被中断时抛出
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for tables to be written");
+    }
+  }
+
+  /**
+   * 获取等待写入的表格数量。
+   *
+   * @return 队列长度
+   */
+  public int getQueueDepth() {
+    return capacity - permits.availablePermits();
+  }
+
+  /**
+   * 获取已放入队列的表格数量。
+   *
+   * @return 提交成功的表格数量
+   */
+  public long getSubmittedCount() {
+    return submittedCount.sum();
+  }
+
+  /**
+   * 获取因为队列已满或线程被中断而丢弃的表格数量。
+   *
+   * @return 丢弃的表格数量
+   */
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * 获取已写入并刷新到输出流的表格数量。
+   *
+   * @return 写入的表格数量
+   */
+  public long getWrittenCount() {
+    return writtenCount;
+  }
+
+  /**
+   * 获取渲染或写入失败的表格数量。
+   *
+   * @return 失败的表格数量
+   */
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  /**
+   * 获取最近一次渲染或写入失败的原因。
+   *
+   * @return 最近一次失败的异常，没有失败时返回null
+   */
+  public Throwable getLastError() {
+    return lastError;
+  }
+
+  /**
+   * 获取刷新输出流的次数，每批表格刷新一次。
+   *
+   * @return 批次数
+   */
+  public long getBatchCount() {
+    return batchCount;
+  }
+
+  /**
+   * 获取表格从提交到刷新到输出流的平均延迟。
+   *
+   * @return 平均延迟，单位为纳秒；还没有写入表格时返回0
+   */
+  public long getAverageLatencyNanos() {
+    long written = writtenCount;
+    return written == 0 ? 0L : totalLatencyNanos / written;
+  }
+
+  /**
+   * 获取表格从提交到刷新到输出流的最大延迟。
+   *
+   * @return 最大延迟，单位为纳秒
+   */
+  public long getMaxLatencyNanos() {
+    return maxLatencyNanos;
+  }
+
+  private void run() {
+    boolean finished = false;
+    try {
+      while (true) {
+        Entry entry = queue.poll();
+        if (entry != null) {
+          writeBatch(entry);
+        } else if (closed) {
+          // 所有空位都已归还，说明没有正在提交的表格
+          if (permits.availablePermits() == capacity && queue.isEmpty()) {
+            finished = true;
+            return;
+          }
+          Thread.yield();
+        } else {
+          parked = true;
+          if (queue.isEmpty() && !closed) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+          }
+          parked = false;
+        }
+      }
+    } finally {
+      if (!finished) {
+        // 写入线程意外退出，拒绝之后的提交并唤醒等待空位的线程，避免它们永远阻塞
+        closed = true;
+        permits.release(capacity);
+      }
+    }
+  }
+
+  /** 写入从指定表格开始的一批表格，全部写完后刷新一次。 */
+  private void writeBatch(Entry first) {
+    int rendered = 0;
+    int failed = 0;
+    // 提交时间相对于第一个表格的偏移，避免累加绝对时间溢出
+    long offsetSum = 0;
+    long minOffset = 0;
+
+    Entry entry = first;
+    for (int i = 0; entry != null; i++) {
+      permits.release();
+      try {
+        // 先渲染到单独的缓冲区，渲染中途失败时不会把不完整的表格写入输出
+        rendering.setLength(0);
+        entry.table.print(rendering, terminal);
+        writer.append(rendering);
+        long offset = entry.submitNanos - first.submitNanos;
+        offsetSum += offset;
+        minOffset = Math.min(minOffset, offset);
+        rendered++;
+      } catch (Throwable e) {
+        // 单个表格失败不能终止写入线程，否则等待空位的线程会永远阻塞
+        failed++;
+        reportError(e);
+      }
+      entry = i + 1 < MAX_BATCH_SIZE ? queue.poll() : null;
+    }
+    if (rendering.capacity() > MAX_RETAINED_RENDER_CHARS) {
+      rendering = new StringBuilder(WRITE_BUFFER_CHARS);
+    }
+
+    try {
+      writer.flush();
+    } catch (Throwable e) {
+      failed += rendered;
+      rendered = 0;
+      reportError(e);
+    }
+    if (rendered > 0) {
+      long sinceFirst = System.nanoTime() - first.submitNanos;
+      totalLatencyNanos += sinceFirst * rendered - offsetSum;
+      maxLatencyNanos = Math.max(maxLatencyNanos, sinceFirst - minOffset);
+      writtenCount += rendered;
+    }
+    failedCount += failed;
+    batchCount++;
+  }
+
+  /** 记录失败的原因并调用回调，回调抛出的异常被忽略，以免终止写入线程。 */
+  private void reportError(Throwable error) {
+    lastError = error;
+    if (errorHandler != null) {
+      try {
+        errorHandler.accept(error);
+      } catch (Throwable ignored) {
+        // 忽略回调自身的异常
+      }
+    }
+  }
+
+  /** 队列中的表格及其提交时间。 */
+  private static final class Entry {
+    final Table table;
+    final long submitNanos;
+
+    Entry(Table table, long submitNanos) {
+      this.table = table;
+      this.submitNanos = submitNanos;
+    }
+  }
+}
@@ -0,0 +1,478 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 记录和JavaBean的属性访问器，供 {@link Table#fromBeans(Class, Iterable)} 使用。
+ *
+ * <p>每个类的属性只在第一次使用时通过反射查找一次，访问器通过 {@link LambdaMetafactory} 生成并按类缓存， 之后读取属性与直接调用getter方法相同，不再使用反射。
+ * 返回 {@code int}、{@code long}、{@code double} 的属性直接写入对应的数值列，不会装箱。
+ *
+ * <p>记录和 {@code MethodHandles.privateLookupIn} 通过反射使用，因此在 Java 8 上同样可以运行：没有记录时只支持JavaBean；
+ * 无法获取私有查找对象时，不能直接访问的getter方法通过 {@link MethodHandleProxies} 调用。
+ */
+final class BeanProperties {
+  /** {@code Class#isRecord()}，Java 16 之前为null。 */
+  private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+
+  /** {@code Class#getRecordComponents()}，Java 16 之前为null。 */
+  private static final Method GET_RECORD_COMPONENTS =
+      findMethod(Class.class, "getRecordComponents");
+
+  /** {@code MethodHandles#privateLookupIn(Class, Lookup)}，Java 9 之前为null。 */
+  private static final Method PRIVATE_LOOKUP_IN =
+      findMethod(MethodHandles.class, "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+
+  private static final ClassValue<ImmutableList<BeanProperty>> CACHE =
+      new ClassValue<ImmutableList<BeanProperty>>() {
+        @Override
+        protected ImmutableList<BeanProperty> computeValue(Class<?> type) {
+          return discover(type);
+        }
+      };
+
+  private BeanProperties() {}
+
+  /**
+   * 获取类的属性，按 {@link TableColumn#order()} 和声明顺序排列。
+   *
+   * @param type 记录或JavaBean类
+   * @return 属性列表
+   * @throws IllegalArgumentException 当类没有可读的属性或属性无法访问时抛出
+   */
+  static List<BeanProperty> of(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  /** 一个属性及其访问器。 */
+  abstract static class BeanProperty {
+    private final String name;
+    private final TableColumn annotation;
+    private final int declarationIndex;
+
+    BeanProperty(String name, TableColumn annotation, int declarationIndex) {
+      this.name = name;
+      this.annotation = annotation;
+      this.declarationIndex = declarationIndex;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    /**
+     * 根据注解创建列。
+     *
+     * @return 新的列
+     */
+    Column createColumn() {
+      Column.Builder builder = new Column.Builder();
+      if (annotation == null) {
+        return build(builder.withHeader(name));
+      }
+      builder
+          .withHeader(annotation.header().isEmpty() ? name : annotation.header())
+          .withHeaderAlign(annotation.headerAlign())
+          .withDataAlign(annotation.dataAlign());
+      if (annotation.maxWidth() >= 0) {
+        builder.withMaxWidth(annotation.maxWidth());
+      }
+      return build(builder);
+    }
+
+    Column build(Column.Builder builder) {
+      return builder.build();
+    }
+
+    /**
+     * 读取属性并添加到列中。
+     *
+     * @param bean 对象
+     * @param column 由 {@link #createColumn()} 创建的列
+     */
+    abstract void append(Object bean, Column column);
+
+    private int getOrder() {
+      return annotation == null ? Integer.MAX_VALUE : annotation.order();
+    }
+  }
+
+  private static final class IntProperty extends BeanProperty {
+    private final ToIntFunction<Object> getter;
+
+    IntProperty(String name, TableColumn annotation, int index, ToIntFunction<Object> getter) {
+      super(name, annotation, index);
+      this.getter = getter;
+    }
+
+    @Override
+    Column build(Column.Builder builder) {
+      return builder.buildIntColumn();
+    }
+
+    @Override
+    void append(Object bean, Column column) {
+      ((IntColumn) column).addCell(getter.applyAsInt(bean));
+    }
+  }
+
+  private static final class LongProperty extends BeanProperty {
+    private final ToLongFunction<Object> getter;
+
+    LongProperty(String name, TableColumn annotation, int index, ToLongFunction<Object> getter) {
+      super(name, annotation, index);
+      this.getter = getter;
+    }
+
+    @Override
+    Column build(Column.Builder builder) {
+      return builder.buildLongColumn();
+    }
+
+    @Override
+    void append(Object bean, Column column) {
+      ((LongColumn) column).addCell(getter.applyAsLong(bean));
+    }
+  }
+
+  private static final class DoubleProperty extends BeanProperty {
+    private final ToDoubleFunction<Object> getter;
+
+    DoubleProperty(
+        String name, TableColumn annotation, int index, ToDoubleFunction<Object> getter) {
+      super(name, annotation, index);
+      this.getter = getter;
+    }
+
+    @Override
+    Column build(Column.Builder builder) {
+      return builder.buildDoubleColumn();
+    }
+
+    @Override
+    void append(Object bean, Column column) {
+      ((DoubleColumn) column).addCell(getter.applyAsDouble(bean));
+    }
+  }
+
+  private static final class ObjectProperty extends BeanProperty {
+    private final Function<Object, Object> getter;
+
+    ObjectProperty(
+        String name, TableColumn annotation, int index, Function<Object, Object> getter) {
+      super(name, annotation, index);
+      this.getter = getter;
+    }
+
+    @Override
+    void append(Object bean, Column column) {
+      column.addValue(getter.apply(bean));
+    }
+  }
+
+  /**
+   * 判断类是否是记录。
+   *
+   * @param type 类
+   * @return 是记录时返回true；Java 16 之前总是返回false
+   */
+  static boolean isRecord(Class<?> type) {
+    try {
+      return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** 获取能访问类中所有成员的查找对象，Java 9 之前返回 {@link BeanProperties} 自身的查找对象。 */
+  private static MethodHandles.Lookup lookup(Class<?> type) {
+    if (PRIVATE_LOOKUP_IN == null) {
+      return MethodHandles.lookup();
+    }
+    try {
+      return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, type, MethodHandles.lookup());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Cannot access properties of " + type.getName(), e);
+    }
+  }
+
+  private static ImmutableList<BeanProperty> discover(Class<?> type) {
+    MethodHandles.Lookup lookup = lookup(type);
+    List<BeanProperty> properties = new ArrayList<>();
+    if (isRecord(type)) {
+      Object[] components;
+      try {
+        components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalArgumentException("Cannot access properties of " + type.getName(), e);
+      }
+      for (int i = 0; i < components.length; i++) {
+        // 记录组件上的注解会传递到同名的访问方法和字段上
+        Method accessor = getRecordAccessor(type, components[i]);
+        TableColumn annotation = accessor.getAnnotation(TableColumn.class);
+        if (annotation == null) {
+          annotation = getFieldAnnotation(type, accessor.getName());
+        }
+        addProperty(properties, lookup, accessor, accessor.getName(), annotation, i);
+      }
+    } else {
+      Map<String, Field> fields = new HashMap<>();
+      Map<String, Integer> fieldIndexes = new HashMap<>();
+      collectFields(type, fields, fieldIndexes);
+      for (Map.Entry<String, Method> getter : getters(type).entrySet()) {
+        String name = getter.getKey();
+        Method method = getter.getValue();
+        TableColumn annotation = method.getAnnotation(TableColumn.class);
+        Field field = fields.get(name);
+        if (annotation == null && field != null) {
+          annotation = field.getAnnotation(TableColumn.class);
+        }
+        int index = fieldIndexes.getOrDefault(name, Integer.MAX_VALUE);
+        addProperty(properties, lookup, method, name, annotation, index);
+      }
+    }
+
+    if (properties.isEmpty()) {
+      throw new IllegalArgumentException("No readable properties found in " + type.getName());
+    }
+    properties.sort(
+        Comparator.comparingInt(BeanProperty::getOrder)
+            .thenComparingInt(property -> property.declarationIndex)
+            .thenComparing(BeanProperty::getName));
+    return ImmutableList.copyOf(properties);
+  }
+
+  /** 记录组件的访问方法，与组件同名且没有参数。 */
+  private static Method getRecordAccessor(Class<?> type, Object component) {
+    try {
+      Method getName = component.getClass().getMethod("getName");
+      return type.getDeclaredMethod((String) getName.invoke(component));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Cannot access properties of " + type.getName(), e);
+    }
+  }
+
+  private static TableColumn getFieldAnnotation(Class<?> type, String name) {
+    try {
+      return type.getDeclaredField(name).getAnnotation(TableColumn.class);
+    } catch (NoSuchFieldException e) {
+      return null;
+    }
+  }
+
+  /** 按从父类到子类的顺序记录字段，字段的位置作为属性的声明顺序。 */
+  private static void collectFields(
+      Class<?> type, Map<String, Field> fields, Map<String, Integer> indexes) {
+    if (type == null || type == Object.class) {
+      return;
+    }
+    collectFields(type.getSuperclass(), fields, indexes);
+    for (Field field : type.getDeclaredFields()) {
+      if (!Modifier.isStatic(field.getModifiers())) {
+        fields.putIfAbsent(field.getName(), field);
+        indexes.putIfAbsent(field.getName(), indexes.size());
+      }
+    }
+  }
+
+  /**
+   * 按属性名收集公开的getter方法。 编译器为泛型或协变返回类型生成的桥接方法会被跳过，同一属性有多个getter时保留返回类型最具体的一个。
+   *
+   * @param type JavaBean的类型
+   * @return 属性名到getter方法的映射
+   */
+  private static Map<String, Method> getters(Class<?> type) {
+    Map<String, Method> getters = new HashMap<>();
+    for (Method method : type.getMethods()) {
+      if (method.isBridge() || method.isSynthetic()) {
+        continue;
+      }
+      String name = getPropertyName(method);
+      if (name == null) {
+        continue;
+      }
+      Method existing = getters.get(name);
+      if (existing == null
+          || existing.getReturnType().isAssignableFrom(method.getReturnType())
+              && existing.getReturnType() != method.getReturnType()) {
+        getters.put(name, method);
+      }
+    }
+    return getters;
+  }
+
+  /**
+   * 获取getter方法对应的属性名。
+   *
+   * @return 属性名，方法不是getter时返回null
+   */
+  private static String getPropertyName(Method method) {
+    if (Modifier.isStatic(method.getModifiers())
+        || method.getParameterCount() != 0
+        || method.getDeclaringClass() == Object.class) {
+      return null;
+    }
+    String name = method.getName();
+    if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+      return decapitalize(name.substring(3));
+    }
+    if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+      return decapitalize(name.substring(2));
+    }
+    return null;
+  }
+
+  /** 与 {@code java.beans.Introspector#decapitalize} 相同：前两个字符都是大写时保持不变。 */
+  private static String decapitalize(String name) {
+    if (name.length() > 1
+        && Character.isUpperCase(name.charAt(0))
+        && Character.isUpperCase(name.charAt(1))) {
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static void addProperty(
+      List<BeanProperty> properties,
+      MethodHandles.Lookup lookup,
+      Method getter,
+      String name,
+      TableColumn annotation,
+      int index) {
+    if (annotation != null && annotation.ignore()) {
+      return;
+    }
+    Class<?> returnType = getter.getReturnType();
+    if (returnType == int.class || returnType == short.class || returnType == byte.class) {
+      properties.add(
+          new IntProperty(
+              name,
+              annotation,
+              index,
+              accessor(lookup, getter, ToIntFunction.class, "applyAsInt", int.class)));
+    } else if (returnType == long.class) {
+      properties.add(
+          new LongProperty(
+              name,
+              annotation,
+              index,
+              accessor(lookup, getter, ToLongFunction.class, "applyAsLong", long.class)));
+    } else if (returnType == double.class) {
+      properties.add(
+          new DoubleProperty(
+              name,
+              annotation,
+              index,
+              accessor(lookup, getter, ToDoubleFunction.class, "applyAsDouble", double.class)));
+    } else {
+      properties.add(
+          new ObjectProperty(
+              name,
+              annotation,
+              index,
+              accessor(lookup, getter, Function.class, "apply", Object.class)));
+    }
+  }
+
+  /**
+   * 为getter方法生成函数式接口的实现。
+   *
+   * @param functionType 函数式接口
+   * @param methodName 函数式接口的方法名
+   * @param resultType 函数式接口方法的返回类型
+   * @return 调用getter方法的函数
+   */
+  @SuppressWarnings("unchecked")
+  private static <F> F accessor(
+      MethodHandles.Lookup lookup,
+      Method getter,
+      Class<? super F> functionType,
+      String methodName,
+      Class<?> resultType) {
+    try {
+      if (PRIVATE_LOOKUP_IN == null && !isPubliclyAccessible(getter)) {
+        // 生成的实现类不能访问非公共的类和方法，改为通过方法句柄调用
+        getter.setAccessible(true);
+        MethodHandle handle =
+            lookup.unreflect(getter).asType(MethodType.methodType(resultType, Object.class));
+        return (F) MethodHandleProxies.asInterfaceInstance(functionType, handle);
+      }
+      MethodHandle handle = lookup.unreflect(getter);
+      Class<?> instantiatedResult =
+          resultType.isPrimitive()
+              ? resultType
+              : MethodType.methodType(getter.getReturnType()).wrap().returnType();
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              methodName,
+              MethodType.methodType(functionType),
+              MethodType.methodType(resultType, Object.class),
+              handle,
+              MethodType.methodType(instantiatedResult, getter.getDeclaringClass()));
+      return (F) site.getTarget().invoke();
+    } catch (Throwable e) {
+      throw new IllegalArgumentException("Cannot access property " + getter.getName(), e);
+    }
+  }
+
+  /** 判断方法及其所在的类（包括外部类）是否都是公共的。 */
+  private static boolean isPubliclyAccessible(Method method) {
+    if (!Modifier.isPublic(method.getModifiers())) {
+      return false;
+    }
+    for (Class<?> type = method.getDeclaringClass();
+        type != null;
+        type = type.getEnclosingClass()) {
+      if (!Modifier.isPublic(type.getModifiers())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -24,6 +24,7 @@ import static com.tyy.output.table.Constant.FANCY_ASCII;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /** 边框样式 */
@@ -39,6 +40,9 @@ public class BorderStyle {
   /** 是否显示行边界 */
   private final boolean showRowBoundaries;
 
+  /** 按UTF-8预先编码的边框字符，与 characters 一一对应，字符为null时对应null。 */
+  private final byte[][] encodedCharacters;
+
   /**
    * 创建边框样式。
    *
@@ -50,6 +54,7 @@ public class BorderStyle {
     Preconditions.checkArgument(characters.size() > 28, "Invalid number of characters");
     this.characters = characters;
     this.showRowBoundaries = showRowBoundaries;
+    this.encodedCharacters = encode(this.characters);
   }
 
   /**
@@ -63,6 +68,16 @@ public class BorderStyle {
     Preconditions.checkArgument(characters.length > 28, "Invalid number of characters");
     this.characters = ImmutableList.copyOf(characters);
     this.showRowBoundaries = showRowBoundaries;
+    this.encodedCharacters = encode(this.characters);
+  }
+
+  private static byte[][] encode(List<Character> characters) {
+    byte[][] encoded = new byte[characters.size()][];
+    for (int i = 0; i < encoded.length; i++) {
+      Character c = characters.get(i);
+      encoded[i] = c == null ? null : String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+    }
+    return encoded;
   }
 
   /**
@@ -74,6 +89,16 @@ public class BorderStyle {
     return characters;
   }
 
+  /**
+   * 获取按UTF-8预先编码的边框字符。 返回的数组是内部共享的，调用方不能修改。
+   *
+   * @param index 边框字符的索引
+   * @return 编码后的字节，边框字符为null时返回null
+   */
+  byte[] getEncodedCharacter(int index) {
+    return encodedCharacters[index];
+  }
+
   /**
    * 判断是否启用了数据行之间的边界显示。
    *
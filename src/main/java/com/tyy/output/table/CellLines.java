@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.tyy.output.table.utils.DisplayWidth;
+import com.tyy.output.table.utils.LineUtil;
+import java.util.Arrays;
+
+/**
+ * 单元格的分行结果。 单元格按照其中的换行符分行，{@link OverflowBehaviour#WRAP} 模式下超出列宽的行再按单词和显示宽度折行。
+ *
+ * <p>分行结果保存为一个整数数组，每一行依次占用三个元素：在原始内容中的起始位置、结束位置和显示宽度。 渲染时按位置直接写出原始内容的片段，不会创建子串。
+ */
+final class CellLines {
+  private static final int STRIDE = 3;
+
+  private CellLines() {}
+
+  /**
+   * 判断单元格是否包含换行符。
+   *
+   * @param cell 单元格内容
+   * @return 包含 {@code '\n'} 时返回true
+   */
+  static boolean containsLineBreak(CharSequence cell) {
+    if (cell instanceof String) {
+      return ((String) cell).indexOf('\n') >= 0;
+    }
+    for (int i = 0; i < cell.length(); i++) {
+      if (cell.charAt(i) == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 计算包含换行符的单元格的显示宽度，即各行显示宽度的最大值。
+   *
+   * @param cell 单元格内容
+   * @return 最宽一行的显示宽度
+   */
+  static int getMaxLineWidth(CharSequence cell) {
+    int maxWidth = 0;
+    int length = cell.length();
+    int lineStart = 0;
+    while (lineStart <= length) {
+      int lineEnd = indexOfLineBreak(cell, lineStart);
+      maxWidth =
+          Math.max(
+              maxWidth,
+              LineUtil.getDisplayWidth(
+                  cell, lineStart, trimCarriageReturn(cell, lineStart, lineEnd)));
+      lineStart = lineEnd + 1;
+    }
+    return maxWidth;
+  }
+
+  /**
+   * 在单元格需要占用多行时计算分行结果。
+   *
+   * @param cell 单元格内容
+   * @param cellWidth 单元格的显示宽度
+   * @param columnWidth 列宽
+   * @param wrap 是否将超出列宽的行折行
+   * @return 分行结果，单元格只占一行时返回null
+   */
+  static int[] splitIfNeeded(CharSequence cell, int cellWidth, int columnWidth, boolean wrap) {
+    if (!(wrap && cellWidth > columnWidth) && !containsLineBreak(cell)) {
+      return null;
+    }
+    int[] lines = split(cell, columnWidth, wrap);
+    return count(lines) > 1 ? lines : null;
+  }
+
+  /**
+   * 计算单元格的分行结果。
+   *
+   * @param cell 单元格内容
+   * @param columnWidth 列宽
+   * @param wrap 是否将超出列宽的行折行，为false时超出列宽的行由渲染时的裁剪处理
+   * @return 分行结果
+   */
+  static int[] split(CharSequence cell, int columnWidth, boolean wrap) {
+    Builder lines = new Builder();
+    int length = cell.length();
+    int lineStart = 0;
+    while (lineStart <= length) {
+      int lineEnd = indexOfLineBreak(cell, lineStart);
+      int contentEnd = trimCarriageReturn(cell, lineStart, lineEnd);
+      if (wrap && columnWidth > 0) {
+        wrap(cell, lineStart, contentEnd, columnWidth, lines);
+      } else {
+        lines.add(lineStart, contentEnd, LineUtil.getDisplayWidth(cell, lineStart, contentEnd));
+      }
+      lineStart = lineEnd + 1;
+    }
+    return lines.toArray();
+  }
+
+  /** 获取行数。 */
+  static int count(int[] lines) {
+    return lines.length / STRIDE;
+  }
+
+  /** 获取第 line 行在原始内容中的起始位置。 */
+  static int start(int[] lines, int line) {
+    return lines[line * STRIDE];
+  }
+
+  /** 获取第 line 行在原始内容中的结束位置。 */
+  static int end(int[] lines, int line) {
+    return lines[line * STRIDE + 1];
+  }
+
+  /** 获取第 line 行的显示宽度。 */
+  static int width(int[] lines, int line) {
+    return lines[line * STRIDE + 2];
+  }
+
+  /** 将不含换行符的一行按列宽折行。 优先在空格处折行，折行处的空格不会输出；单词本身超出列宽时按显示宽度强制折行，宽字符不会被拆开。 */
+  private static void wrap(CharSequence cell, int start, int end, int columnWidth, Builder lines) {
+    if (start == end) {
+      lines.add(start, end, 0);
+      return;
+    }
+    int lineStart = start;
+    while (lineStart < end) {
+      int width = 0;
+      int breakEnd = -1;
+      int breakWidth = 0;
+      int i = lineStart;
+      int codePointWidth = 0;
+      while (i < end) {
+        int sequenceEnd = DisplayWidth.escapeSequenceEnd(cell, i, end);
+        if (sequenceEnd > i) {
+          // 控制序列不占宽度，也不能从中间折行
+          i = sequenceEnd;
+          continue;
+        }
+        int codePoint = Character.codePointAt(cell, i);
+        if (codePoint == ' ' && i > lineStart && cell.charAt(i - 1) != ' ') {
+          breakEnd = i;
+          breakWidth = width;
+        }
+        codePointWidth = Math.max(0, DisplayWidth.DEFAULT.width(codePoint));
+        if (width + codePointWidth > columnWidth) {
+          break;
+        }
+        width += codePointWidth;
+        i += Character.charCount(codePoint);
+      }
+
+      if (i == end) {
+        lines.add(lineStart, end, width);
+        return;
+      }
+      int lineEnd;
+      if (breakEnd > lineStart) {
+        lineEnd = breakEnd;
+        width = breakWidth;
+      } else if (i > lineStart) {
+        lineEnd = i;
+      } else {
+        // 单个字符比列宽更宽，单独占一行
+        lineEnd = i + Character.charCount(Character.codePointAt(cell, i));
+        width = codePointWidth;
+      }
+      lines.add(lineStart, lineEnd, width);
+
+      lineStart = lineEnd;
+      while (lineStart < end && cell.charAt(lineStart) == ' ') {
+        lineStart++;
+      }
+    }
+  }
+
+  private static int indexOfLineBreak(CharSequence cell, int from) {
+    int length = cell.length();
+    for (int i = from; i < length; i++) {
+      if (cell.charAt(i) == '\n') {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  /** 去掉行尾的 {@code '\r'}，使 {@code "\r\n"} 与 {@code "\n"} 的效果一致。 */
+  private static int trimCarriageReturn(CharSequence cell, int start, int end) {
+    return end > start && cell.charAt(end - 1) == '\r' ? end - 1 : end;
+  }
+
+  /** 分行结果的构造器。 */
+  private static final class Builder {
+    private int[] values = new int[2 * STRIDE];
+    private int size;
+
+    void add(int start, int end, int width) {
+      if (size + STRIDE > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[size++] = start;
+      values[size++] = end;
+      values[size++] = width;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
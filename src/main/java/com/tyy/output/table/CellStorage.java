@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+/** 列单元格内容的存储方式。 */
+interface CellStorage {
+
+  /**
+   * 追加一个单元格。
+   *
+   * @param cell 单元格内容，可以为null
+   */
+  void add(String cell);
+
+  /**
+   * 获取单元格内容。
+   *
+   * @param index 单元格索引
+   * @return 单元格内容，null单元格返回 {@code "null"}
+   */
+  String get(int index);
+
+  /**
+   * 判断单元格是否是以null添加的。 所有存储都记录这一点，因此以null添加的单元格和字符串 {@code "null"} 可以区分，与存储方式无关。
+   *
+   * @param index 单元格索引
+   * @return 单元格以null添加时返回true
+   */
+  boolean isNull(int index);
+
+  /**
+   * 获取单元格内容的只读视图，供渲染时直接写出，避免创建字符串。 返回的视图在下一次调用本方法之前有效。
+   *
+   * @param index 单元格索引
+   * @return 单元格内容的视图
+   */
+  CharSequence view(int index);
+
+  /**
+   * 预留容量，使之后添加单元格时不需要扩容。
+   *
+   * @param capacity 预计的单元格数量
+   */
+  void ensureCapacity(int capacity);
+
+  /**
+   * 获取单元格数量。
+   *
+   * @return 单元格数量
+   */
+  int size();
+
+  /**
+   * 创建只包含前n个单元格的副本。
+   *
+   * @param n 保留的单元格数量
+   * @return 新的存储实例
+   */
+  CellStorage head(int n);
+
+  /**
+   * 只保留指定的单元格，并按给定顺序重新排列到存储的开头，其余单元格被丢弃。
+   *
+   * @param indexes 要保留的单元格索引，按升序排列
+   */
+  void retain(int[] indexes);
+
+  /**
+   * 创建当前存储的完整副本。
+   *
+   * @return 新的存储实例
+   */
+  default CellStorage copy() {
+    return head(size());
+  }
+}
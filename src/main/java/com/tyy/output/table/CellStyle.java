@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 单元格的 ANSI 样式，包括前景色、背景色和粗体、斜体、下划线等属性。 样式对应的控制序列在创建时生成一次，渲染时写在单元格内容（包括内边距）的前面，
+ * 单元格之后写入重置序列，控制序列不计入列宽。
+ *
+ * <p>通过 {@link Column.Builder#withDataStyle(CellStyle)} 等方法为列设置样式，通过 {@link
+ * Column.Builder#withStyleRule(java.util.function.Predicate, CellStyle)} 按单元格内容设置条件样式。
+ */
+public final class CellStyle {
+  /** 不包含任何样式。 */
+  public static final CellStyle NONE = new Builder().build();
+
+  /** 重置所有样式的控制序列。 */
+  static final String RESET = "\u001B[0m";
+
+  /** 前景色，null表示使用终端的默认颜色。 */
+  @Getter private final AnsiColor foreground;
+
+  /** 背景色，null表示使用终端的默认颜色。 */
+  @Getter private final AnsiColor background;
+
+  @Getter private final boolean bold;
+  @Getter private final boolean italic;
+  @Getter private final boolean underline;
+
+  /** 样式的控制序列，没有任何样式时为null。 */
+  private final String sequence;
+
+  private CellStyle(Builder builder) {
+    this.foreground = builder.foreground;
+    this.background = builder.background;
+    this.bold = builder.bold;
+    this.italic = builder.italic;
+    this.underline = builder.underline;
+
+    List<String> parameters = new ArrayList<>();
+    if (bold) {
+      parameters.add("1");
+    }
+    if (italic) {
+      parameters.add("3");
+    }
+    if (underline) {
+      parameters.add("4");
+    }
+    if (foreground != null) {
+      parameters.add(String.valueOf(foreground.getForegroundCode()));
+    }
+    if (background != null) {
+      parameters.add(String.valueOf(background.getBackgroundCode()));
+    }
+    this.sequence = parameters.isEmpty() ? null : "\u001B[" + String.join(";", parameters) + "m";
+  }
+
+  /**
+   * 获取样式的控制序列。
+   *
+   * @return 控制序列，没有任何样式时返回null
+   */
+  String getSequence() {
+    return sequence;
+  }
+
+  /**
+   * 判断是否不包含任何样式。
+   *
+   * @return 不包含样式时返回true
+   */
+  public boolean isEmpty() {
+    return sequence == null;
+  }
+
+  @Override
+  public String toString() {
+    return sequence == null ? "CellStyle[NONE]" : "CellStyle[" + sequence.substring(1) + "]";
+  }
+
+  /** 创建Builder实例，默认不包含任何样式。 */
+  public static class Builder {
+    private AnsiColor foreground;
+    private AnsiColor background;
+    private boolean bold;
+    private boolean italic;
+    private boolean underline;
+
+    /**
+     * 设置前景色。
+     *
+     * @param foreground 前景色
+     * @return Builder实例
+     * @throws NullPointerException 当foreground为null时抛出
+     */
+    public Builder withForeground(AnsiColor foreground) {
+      this.foreground = Preconditions.checkNotNull(foreground, "Foreground cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置背景色。
+     *
+     * @param background 背景色
+     * @return Builder实例
+     * @throws NullPointerException 当background为null时抛出
+     */
+    public Builder withBackground(AnsiColor background) {
+      this.background = Preconditions.checkNotNull(background, "Background cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置是否使用粗体。
+     *
+     * @param bold 是否使用粗体
+     * @return Builder实例
+     */
+    public Builder withBold(boolean bold) {
+      this.bold = bold;
+      return this;
+    }
+
+    /**
+     * 设置是否使用斜体。
+     *
+     * @param italic 是否使用斜体
+     * @return Builder实例
+     */
+    public Builder withItalic(boolean italic) {
+      this.italic = italic;
+      return this;
+    }
+
+    /**
+     * 设置是否添加下划线。
+     *
+     * @param underline 是否添加下划线
+     * @return Builder实例
+     */
+    public Builder withUnderline(boolean underline) {
+      this.underline = underline;
+      return this;
+    }
+
+    public CellStyle build() {
+      return new CellStyle(this);
+    }
+  }
+}
@@ -20,15 +20,23 @@
 package com.tyy.output.table;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import com.tyy.output.table.utils.LineUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Predicate;
 import lombok.Getter;
-import lombok.Setter;
 
 /** 表格列的实现类。 支持设置列头、列尾、对齐方式、可见性等属性， 并提供了Builder模式进行构建。 */
 public class Column {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int NULL_CELL_WIDTH = 4;
+
+  /** 表格按目标宽度收窄时列的默认最小宽度，足够显示两个字符和省略号。 */
+  public static final int DEFAULT_MIN_WIDTH = 3;
+
   @Getter private final String header;
 
   @Getter private final String footer;
@@ -39,22 +47,87 @@ public class Column {
 
   @Getter private final HorizontalAlign footerAlign;
 
-  @Setter @Getter private int maxWidth;
+  @Getter private final CellStyle headerStyle;
+
+  @Getter private final CellStyle dataStyle;
+
+  @Getter private final CellStyle footerStyle;
+
+  /** 按单元格内容设置的条件样式，按添加顺序匹配，第一个匹配的规则生效。 */
+  private final ImmutableList<StyleRule> styleRules;
+
+  private int maxWidth;
+
+  /** 列头和列尾的显示宽度，移除单元格后重新计算列宽时使用。 */
+  private final int labelWidth;
+
+  /** 表格按目标宽度收窄时该列的最小宽度。 */
+  @Getter private final int minWidth;
+
+  /** 表格按目标宽度收窄时该列的权重，权重越大保留的宽度越多。 */
+  @Getter private final int weight;
+
   @Getter private final boolean visible;
   @Getter private final boolean isCustomerWidth;
-  private List<String> cellContents;
+  private CellStorage cellContents;
+
+  /** 与 cellContents 一一对应的单元格显示宽度，在添加单元格时计算一次。 */
+  private int[] cellWidths;
+
+  /** 是否添加过包含换行符的单元格，没有时渲染不需要检查单元格是否分行。 */
+  private boolean multiLine;
+
+  /** 列的修改次数，添加单元格或修改列宽时递增，用于判断缓存的布局是否仍然有效。 */
+  private int modCount;
+
+  /** 添加单元格时执行的行数限制，null表示不限制。 */
+  private RowSampler sampler;
+
+  /** 列是否已被复制到行数受限的表格中，之后添加的单元格不会出现在表格里，因此不再允许添加。 */
+  private boolean detached;
 
   private Column(Builder builder) {
+    this(
+        builder,
+        builder.cellContents != null
+            ? builder.cellContents
+            : builder.compactStorage ? new SlabCellStorage() : new ListCellStorage());
+  }
+
+  /**
+   * 使用指定的单元格存储创建列，供特定类型的列使用。
+   *
+   * @param builder 列配置
+   * @param cellContents 单元格存储
+   */
+  Column(Builder builder, CellStorage cellContents) {
     this.header = builder.header.toUpperCase(Locale.ENGLISH);
     this.footer = builder.footer;
 
     this.headerAlign = builder.headerAlign;
     this.dataAlign = builder.dataAlign;
     this.footerAlign = builder.footerAlign;
+    this.headerStyle = builder.headerStyle;
+    this.dataStyle = builder.dataStyle;
+    this.footerStyle = builder.footerStyle;
+    this.styleRules = ImmutableList.copyOf(builder.styleRules);
     this.visible = builder.visible;
     this.maxWidth = builder.maxWidth;
-    this.cellContents = builder.cellContents;
+    this.labelWidth =
+        Math.max(
+            LineUtil.getDisplayWidth(builder.header), LineUtil.getDisplayWidth(builder.footer));
+    this.minWidth = builder.minWidth;
+    this.weight = builder.weight;
+    this.cellContents = cellContents;
+    this.cellWidths =
+        builder.cellWidths != null
+            ? builder.cellWidths
+            : new int[Math.max(builder.expectedRows, INITIAL_CAPACITY)];
     this.isCustomerWidth = builder.isCustomerWidth;
+    this.multiLine = builder.multiLine;
+    if (builder.expectedRows > 0) {
+      cellContents.ensureCapacity(builder.expectedRows);
+    }
   }
 
   /** 创建Builder实例并初始化默认值。 */
@@ -64,10 +137,22 @@ public class Column {
     private HorizontalAlign headerAlign;
     private HorizontalAlign dataAlign;
     private HorizontalAlign footerAlign;
+    private CellStyle headerStyle;
+    private CellStyle dataStyle;
+    private CellStyle footerStyle;
+    private List<StyleRule> styleRules;
     private boolean visible;
     private int maxWidth;
+    private int minWidth;
+    private int weight;
     private boolean isCustomerWidth;
-    private List<String> cellContents;
+    private boolean compactStorage;
+    /** 复制列时使用的单元格存储和宽度，只由 {@link #copy()} 等方法设置，每个Builder只用于创建一列。 */
+    private CellStorage cellContents;
+
+    private int[] cellWidths;
+    private int expectedRows;
+    private boolean multiLine;
 
     public Builder() {
       this.header = "";
@@ -75,10 +160,16 @@ public class Column {
       this.headerAlign = com.tyy.output.table.HorizontalAlign.CENTER;
       this.dataAlign = com.tyy.output.table.HorizontalAlign.LEFT;
       this.footerAlign = com.tyy.output.table.HorizontalAlign.CENTER;
+      this.headerStyle = CellStyle.NONE;
+      this.dataStyle = CellStyle.NONE;
+      this.footerStyle = CellStyle.NONE;
+      this.styleRules = new ArrayList<>();
       this.visible = true;
       this.maxWidth = 0;
+      this.minWidth = DEFAULT_MIN_WIDTH;
+      this.weight = 1;
       this.isCustomerWidth = false;
-      this.cellContents = Lists.newArrayList();
+      this.compactStorage = false;
     }
 
     /**
@@ -134,6 +225,59 @@ public class Column {
       return this;
     }
 
+    /**
+     * 设置表头的样式。
+     *
+     * @param headerStyle 表头样式
+     * @return Builder实例
+     * @throws NullPointerException 当headerStyle为null时抛出
+     */
+    public Builder withHeaderStyle(CellStyle headerStyle) {
+      this.headerStyle = Preconditions.checkNotNull(headerStyle, "Header style cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置数据单元格的默认样式，没有匹配的条件样式时使用。
+     *
+     * @param dataStyle 数据样式
+     * @return Builder实例
+     * @throws NullPointerException 当dataStyle为null时抛出
+     */
+    public Builder withDataStyle(CellStyle dataStyle) {
+      this.dataStyle = Preconditions.checkNotNull(dataStyle, "Data style cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置表尾的样式。
+     *
+     * @param footerStyle 表尾样式
+     * @return Builder实例
+     * @throws NullPointerException 当footerStyle为null时抛出
+     */
+    public Builder withFooterStyle(CellStyle footerStyle) {
+      this.footerStyle = Preconditions.checkNotNull(footerStyle, "Footer style cannot be null");
+      return this;
+    }
+
+    /**
+     * 添加条件样式。 渲染时按添加顺序对单元格内容求值，使用第一个匹配的规则的样式，都不匹配时使用数据样式。 数值列的单元格按格式化后的文本求值。
+     *
+     * <p>只有在输出样式时才会求值，参见 {@link StyleMode}。
+     *
+     * @param predicate 单元格内容的条件，单元格为null时传入 {@code "null"}
+     * @param style 条件成立时的样式
+     * @return Builder实例
+     * @throws NullPointerException 当predicate或style为null时抛出
+     */
+    public Builder withStyleRule(Predicate<String> predicate, CellStyle style) {
+      Preconditions.checkNotNull(predicate, "Predicate cannot be null");
+      Preconditions.checkNotNull(style, "Style cannot be null");
+      styleRules.add(new StyleRule(predicate, style));
+      return this;
+    }
+
     public Builder withVisible(boolean visible) {
       this.visible = visible;
       return this;
@@ -146,10 +290,89 @@ public class Column {
       return this;
     }
 
+    /**
+     * 设置表格按目标宽度收窄时该列的最小宽度，默认为 {@value #DEFAULT_MIN_WIDTH}。 内容比最小宽度更窄的列不会被收窄。
+     *
+     * @param minWidth 最小宽度
+     * @return Builder实例
+     * @throws IllegalArgumentException 当minWidth不是正数时抛出
+     * @see Table.Builder#withTableWidth(int)
+     */
+    public Builder withMinWidth(int minWidth) {
+      Preconditions.checkArgument(minWidth > 0, "Min width must be positive");
+      this.minWidth = minWidth;
+      return this;
+    }
+
+    /**
+     * 设置表格按目标宽度收窄时该列的权重，默认为1。 收窄时各列的宽度与权重成比例，权重为2的列保留的宽度是权重为1的列的两倍。
+     *
+     * @param weight 权重
+     * @return Builder实例
+     * @throws IllegalArgumentException 当weight不是正数时抛出
+     * @see Table.Builder#withTableWidth(int)
+     */
+    public Builder withWeight(int weight) {
+      Preconditions.checkArgument(weight > 0, "Weight must be positive");
+      this.weight = weight;
+      return this;
+    }
+
+    /**
+     * 设置是否使用紧凑存储。 紧凑存储将所有单元格编码到同一个字节数组中，适合单元格数量很多的列。
+     *
+     * @param compactStorage 是否使用紧凑存储
+     * @return Builder实例
+     */
+    public Builder withCompactStorage(boolean compactStorage) {
+      this.compactStorage = compactStorage;
+      return this;
+    }
+
+    /**
+     * 设置预计的行数。 创建列时按该行数预留单元格存储，添加单元格时不再扩容。
+     *
+     * @param expectedRows 预计的行数
+     * @return Builder实例
+     * @throws IllegalArgumentException 当expectedRows为负数时抛出
+     */
+    public Builder withExpectedRows(int expectedRows) {
+      Preconditions.checkArgument(expectedRows >= 0, "Expected rows must be non-negative");
+      this.expectedRows = expectedRows;
+      return this;
+    }
+
     public Column build() {
       Column column = new Column(this);
       return column;
     }
+
+    /**
+     * 创建整数列，单元格以 {@code int[]} 保存。
+     *
+     * @return 整数列实例
+     */
+    public IntColumn buildIntColumn() {
+      return new IntColumn(this);
+    }
+
+    /**
+     * 创建长整数列，单元格以 {@code long[]} 保存。
+     *
+     * @return 长整数列实例
+     */
+    public LongColumn buildLongColumn() {
+      return new LongColumn(this);
+    }
+
+    /**
+     * 创建浮点数列，单元格以 {@code double[]} 保存。
+     *
+     * @return 浮点数列实例
+     */
+    public DoubleColumn buildDoubleColumn() {
+      return new DoubleColumn(this);
+    }
   }
 
   /**
@@ -158,34 +381,231 @@ public class Column {
    * @return 列的新实例，包含相同的配置和内容
    */
   public Column copy() {
+    compactIfNeeded();
+    Builder builder = toBuilder();
+    builder.cellContents = cellContents.copy();
+    builder.cellWidths = Arrays.copyOf(cellWidths, Math.max(cellContents.size(), INITIAL_CAPACITY));
+    return builder.build();
+  }
+
+  /**
+   * 创建一个与当前列配置相同、只包含一个空单元格的新列，用于渲染没有数据的表格。
+   *
+   * @return 新的列实例
+   */
+  Column withEmptyCell() {
+    return toBuilder().build().addCell("");
+  }
+
+  /** 创建一个与当前列配置相同、但不包含单元格内容的 Builder。 */
+  private Builder toBuilder() {
     Builder builder = new Builder();
     builder.header = header;
     builder.footer = footer;
     builder.headerAlign = headerAlign;
     builder.dataAlign = dataAlign;
     builder.footerAlign = footerAlign;
+    builder.headerStyle = headerStyle;
+    builder.dataStyle = dataStyle;
+    builder.footerStyle = footerStyle;
+    builder.styleRules = new ArrayList<>(styleRules);
     builder.visible = visible;
     builder.maxWidth = maxWidth;
-    builder.cellContents = Lists.newArrayList(cellContents);
-    return builder.build();
+    builder.minWidth = minWidth;
+    builder.weight = weight;
+    builder.isCustomerWidth = isCustomerWidth;
+    builder.compactStorage = cellContents instanceof SlabCellStorage;
+    builder.multiLine = multiLine;
+    return builder;
   }
 
   /**
-   * 添加字符串类型的单元格内容。
+   * 添加字符串类型的单元格内容。 包含换行符的单元格渲染为多行，显示宽度取最宽的一行。
    *
    * @param cell 字符值
    * @return 当前列实例
    */
   public Column addCell(String cell) {
-    if (cell == null) {
-      cell = "null";
+    if (!acceptCell()) {
+      return this;
     }
-
-    maxWidth = isCustomerWidth ? maxWidth : Math.max(maxWidth, LineUtil.getDisplayWidth(cell));
     cellContents.add(cell);
+    int width;
+    if (cell == null) {
+      width = NULL_CELL_WIDTH;
+    } else if (cell.indexOf('\n') < 0) {
+      width = LineUtil.getDisplayWidth(cell);
+    } else {
+      multiLine = true;
+      width = CellLines.getMaxLineWidth(cell);
+    }
+    recordCellWidth(width);
     return this;
   }
 
+  /**
+   * 记录最后添加的单元格的显示宽度，并更新列宽。
+   *
+   * @param width 单元格的显示宽度
+   */
+  void recordCellWidth(int width) {
+    maxWidth = isCustomerWidth ? maxWidth : Math.max(maxWidth, width);
+    modCount++;
+
+    int index = cellContents.size() - 1;
+    if (index == cellWidths.length) {
+      cellWidths = Arrays.copyOf(cellWidths, Math.max(INITIAL_CAPACITY, index + (index >> 1)));
+    }
+    cellWidths[index] = width;
+  }
+
+  /**
+   * 在添加单元格之前执行行数限制。 被丢弃的单元格不会写入存储，只计入丢弃的行数。
+   *
+   * @return 单元格应当写入存储时返回true
+   */
+  boolean acceptCell() {
+    Preconditions.checkState(
+        !detached, "Column was copied into a table with a row limit, add cells through the table");
+    if (sampler == null) {
+      return true;
+    }
+    if (cellContents.size() >= 2 * sampler.getLimit()) {
+      compact();
+    }
+    if (!sampler.offer(cellContents.size())) {
+      modCount++;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * 创建设置了行数限制的副本，供行数受限的表格使用。 副本按 {@link #limitRows(RowSampler)} 处理已有的单元格，
+   * 当前列的内容不受影响，但之后不能再添加单元格，避免数据写入表格之外的列而丢失。
+   *
+   * @param sampler 行数限制
+   * @return 与当前列类型相同的新列
+   */
+  Column limitedCopy(RowSampler sampler) {
+    compactIfNeeded();
+    Builder builder = toBuilder();
+    builder.cellWidths = Arrays.copyOf(cellWidths, Math.max(cellContents.size(), INITIAL_CAPACITY));
+    Column column = newColumn(builder, cellContents.copy());
+    column.limitRows(sampler);
+    detached = true;
+    return column;
+  }
+
+  /**
+   * 使用指定的存储创建与当前列类型相同的列，数值列覆盖该方法以保留数值的写入方法。
+   *
+   * @param builder 列配置
+   * @param cellContents 单元格存储
+   * @return 新的列实例
+   */
+  Column newColumn(Builder builder, CellStorage cellContents) {
+    return new Column(builder, cellContents);
+  }
+
+  /**
+   * 设置添加单元格时执行的行数限制。 列中已有的单元格按添加顺序重新执行一次限制，之后列只保存限制数量的单元格，
+   * 被替换或丢弃的单元格在下一次读取之前从存储中移除，因此存储的单元格数量不会超过限制的两倍。
+   *
+   * @param sampler 行数限制
+   */
+  private void limitRows(RowSampler sampler) {
+    compactIfNeeded();
+    int cellCount = cellContents.size();
+    this.sampler = sampler;
+    for (int i = 0; i < cellCount; i++) {
+      sampler.offer(i);
+    }
+    compactIfNeeded();
+    modCount++;
+  }
+
+  /**
+   * 获取因行数限制而丢弃的行数，被替换掉的行也计算在内。
+   *
+   * @return 丢弃的行数，未设置行数限制时返回0
+   */
+  public long getDroppedRowCount() {
+    return sampler == null ? 0 : sampler.getDroppedCount();
+  }
+
+  /**
+   * 创建一个在末尾追加了一个单元格的副本，用于在渲染时添加省略号行。
+   *
+   * @param cell 追加的单元格
+   * @return 新的列实例
+   */
+  Column withExtraCell(String cell) {
+    return copy().addCell(cell);
+  }
+
+  /**
+   * 创建一个在开头插入了一个单元格的副本，用于在渲染时添加省略号行。
+   *
+   * @param cell 插入的单元格
+   * @return 新的列实例
+   */
+  Column withLeadingCell(String cell) {
+    compactIfNeeded();
+    Builder builder = toBuilder();
+    builder.expectedRows = cellContents.size() + 1;
+    Column column = builder.build();
+    column.addCell(cell);
+    for (int i = 0; i < cellContents.size(); i++) {
+      column.cellContents.add(cellContents.isNull(i) ? null : cellContents.get(i));
+      column.recordCellWidth(cellWidths[i]);
+    }
+    return column;
+  }
+
+  private void compactIfNeeded() {
+    if (sampler != null && cellContents.size() > sampler.getRetainedCount()) {
+      compact();
+    }
+  }
+
+  /** 从存储中移除被行数限制替换或丢弃的单元格，保留的单元格按添加顺序排列。 已保留的单元格可能被替换时， 未设置自定义宽度的列按列头、列尾和保留的单元格重新计算列宽。 */
+  private void compact() {
+    int[] indexes = sampler.retainedIndexes();
+    cellContents.retain(indexes);
+    for (int i = 0; i < indexes.length; i++) {
+      cellWidths[i] = cellWidths[indexes[i]];
+    }
+    sampler.compacted();
+    if (!isCustomerWidth && sampler.evictsRetainedRows()) {
+      maxWidth = labelWidth;
+      reCalculateMaxWidth();
+    }
+  }
+
+  /**
+   * 添加任意类型的单元格内容，供 {@link RowWriter} 使用。 数值列会直接保存对应类型的数值，其他值通过 {@link String#valueOf(Object)} 转换。
+   *
+   * @param value 单元格内容，可以为null
+   * @return 当前列实例
+   */
+  Column addValue(Object value) {
+    return addCell(value == null ? null : String.valueOf(value));
+  }
+
+  /**
+   * 预留容量，使之后添加单元格时不需要扩容。 设置了行数限制时，预留的数量不超过存储可能保存的最大单元格数。
+   *
+   * @param rows 预计的行数
+   */
+  void ensureCapacity(int rows) {
+    int capacity = sampler == null ? rows : Math.min(rows, 2 * sampler.getLimit());
+    cellContents.ensureCapacity(capacity);
+    if (capacity > cellWidths.length) {
+      cellWidths = Arrays.copyOf(cellWidths, capacity);
+    }
+  }
+
   public Column addCell(char c) {
     return addCell(String.valueOf(c));
   }
@@ -209,12 +629,16 @@ public class Column {
    * @return 新的列实例
    */
   public Column getLimitedColumn(int limit) {
+    compactIfNeeded();
     if (cellContents.size() <= limit) {
       return this;
     }
 
-    Column newColumn = copy();
-    newColumn.cellContents = cellContents.subList(0, Math.min(limit, cellContents.size()));
+    Builder builder = toBuilder();
+    builder.cellContents = cellContents.head(limit);
+    builder.cellWidths = Arrays.copyOf(cellWidths, limit + 1);
+
+    Column newColumn = builder.build();
     newColumn.reCalculateMaxWidth();
     newColumn.addCell(Constant.ELLIPSIS);
 
@@ -222,17 +646,99 @@ public class Column {
   }
 
   public String getCell(int index) {
+    compactIfNeeded();
     return cellContents.get(index);
   }
 
+  /**
+   * 获取单元格内容的只读视图，供渲染时直接写出。 返回的视图在下一次调用本方法之前有效。
+   *
+   * @param index 单元格索引
+   * @return 单元格内容的视图
+   */
+  CharSequence getCellSequence(int index) {
+    compactIfNeeded();
+    return cellContents.view(index);
+  }
+
+  /**
+   * 判断单元格是否是以null添加的。
+   *
+   * @param index 单元格索引
+   * @return 单元格以null添加时返回true
+   */
+  boolean isNullCell(int index) {
+    compactIfNeeded();
+    return cellContents.isNull(index);
+  }
+
+  /**
+   * 获取单元格的显示宽度，该宽度在添加单元格时已计算。
+   *
+   * @param index 单元格索引
+   * @return 单元格的显示宽度
+   */
+  public int getCellWidth(int index) {
+    compactIfNeeded();
+    Preconditions.checkElementIndex(index, cellContents.size());
+    return cellWidths[index];
+  }
+
   public int getCellCount() {
+    compactIfNeeded();
     return cellContents.size();
   }
 
+  public int getMaxWidth() {
+    compactIfNeeded();
+    return maxWidth;
+  }
+
+  public void setMaxWidth(int maxWidth) {
+    this.maxWidth = maxWidth;
+    modCount++;
+  }
+
+  /**
+   * 判断列中是否可能存在包含换行符的单元格。
+   *
+   * @return 添加过包含换行符的单元格时返回true
+   */
+  boolean hasMultiLineCells() {
+    return multiLine;
+  }
+
+  /**
+   * 获取条件样式。
+   *
+   * @return 按添加顺序排列的条件样式
+   */
+  List<StyleRule> getStyleRules() {
+    return styleRules;
+  }
+
+  int getModCount() {
+    return modCount;
+  }
+
   /** 重新计算列的最大宽度。 仅当未设置自定义宽度时进行计算。 */
   private void reCalculateMaxWidth() {
-    for (String cell : cellContents) {
-      maxWidth = isCustomerWidth ? maxWidth : Math.max(maxWidth, LineUtil.getDisplayWidth(cell));
+    if (isCustomerWidth) {
+      return;
+    }
+    for (int i = 0; i < cellContents.size(); i++) {
+      maxWidth = Math.max(maxWidth, cellWidths[i]);
+    }
+  }
+
+  /** 条件样式，单元格内容满足条件时使用对应的样式。 */
+  static final class StyleRule {
+    final Predicate<String> predicate;
+    final CellStyle style;
+
+    StyleRule(Predicate<String> predicate, CellStyle style) {
+      this.predicate = predicate;
+      this.style = style;
     }
   }
 }
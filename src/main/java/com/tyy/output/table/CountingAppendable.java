@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.io.IOException;
+
+/** 统计写入内容UTF-8字节数的 {@link Appendable} 包装类，只在注册了 {@link RenderListener} 时使用。 */
+final class CountingAppendable implements Appendable {
+  private final Appendable delegate;
+  private long bytes;
+  private int peakChunkBytes;
+
+  CountingAppendable(Appendable delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) throws IOException {
+    CharSequence s = csq == null ? "null" : csq;
+    return append(s, 0, s.length());
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) throws IOException {
+    CharSequence s = csq == null ? "null" : csq;
+    for (int i = start; i < end; i++) {
+      bytes += utf8Length(s.charAt(i));
+    }
+    delegate.append(s, start, end);
+    return this;
+  }
+
+  @Override
+  public Appendable append(char c) throws IOException {
+    bytes += utf8Length(c);
+    delegate.append(c);
+    return this;
+  }
+
+  /**
+   * 写入一个预先渲染好的分块，并记录最大分块的字节数。
+   *
+   * @param chunk 分块内容
+   * @throws IOException 写入失败时抛出
+   */
+  void appendChunk(CharSequence chunk) throws IOException {
+    long before = bytes;
+    append(chunk);
+    peakChunkBytes = (int) Math.max(peakChunkBytes, bytes - before);
+  }
+
+  /** 最大分块的字节数，没有写入分块时为0。 */
+  int getPeakChunkBytes() {
+    return peakChunkBytes;
+  }
+
+  /** 已写入的UTF-8字节数。 */
+  long getBytes() {
+    return bytes;
+  }
+
+  /** 代理对的两个字符各计2个字节，合计4个字节。 */
+  private static int utf8Length(char c) {
+    if (c < 0x80) {
+      return 1;
+    } else if (c < 0x800 || Character.isSurrogate(c)) {
+      return 2;
+    }
+    return 3;
+  }
+}
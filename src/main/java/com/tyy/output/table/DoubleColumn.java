@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+/**
+ * 浮点数列。 单元格以 {@code double[]} 保存，渲染时才格式化为文本，格式与 {@link Double#toString(double)} 相同。
+ *
+ * <p>通过 {@link Column.Builder#buildDoubleColumn()} 创建。 以字符串添加的单元格如果能无损解析为浮点数，同样以 {@code double} 保存。
+ */
+public class DoubleColumn extends Column {
+  private final DoubleCellStorage cells;
+
+  DoubleColumn(Builder builder) {
+    this(builder, new DoubleCellStorage());
+  }
+
+  private DoubleColumn(Builder builder, DoubleCellStorage cells) {
+    super(builder, cells);
+    this.cells = cells;
+  }
+
+  @Override
+  Column newColumn(Builder builder, CellStorage cellContents) {
+    return new DoubleColumn(builder, (DoubleCellStorage) cellContents);
+  }
+
+  /**
+   * 添加浮点数类型的单元格内容。
+   *
+   * @param value 浮点数值
+   * @return 当前列实例
+   */
+  @Override
+  public DoubleColumn addCell(double value) {
+    if (!acceptCell()) {
+      return this;
+    }
+    cells.addDouble(value);
+    recordCellWidth(Double.toString(value).length());
+    return this;
+  }
+
+  @Override
+  Column addValue(Object value) {
+    if (value instanceof Double) {
+      return addCell(((Double) value).doubleValue());
+    }
+    return super.addValue(value);
+  }
+}
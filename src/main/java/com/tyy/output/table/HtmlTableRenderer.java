@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import com.tyy.output.table.utils.DisplayWidth;
+import com.tyy.output.table.utils.LineUtil;
+import java.io.IOException;
+
+/**
+ * 输出 HTML {@code <table>} 的渲染器。
+ *
+ * <p>标题行输出为 {@code <caption>}，表头、数据和表尾分别输出到 {@code <thead>}、{@code <tbody>} 和 {@code <tfoot>}
+ * 中，非左对齐的单元格通过 {@code text-align} 样式设置对齐方式。 单元格内容不会被裁剪；{@code & < > "} 被转义，换行符输出为 {@code <br>}，ANSI
+ * 转义序列被去掉。
+ */
+public final class HtmlTableRenderer implements TableRenderer {
+  private final Appendable out;
+
+  /** 各列数据单元格的开始标签，按对齐方式预先生成。 */
+  private String[] dataTags;
+
+  /**
+   * 创建渲染器。
+   *
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当out为null时抛出
+   */
+  public HtmlTableRenderer(Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    this.out = out;
+  }
+
+  @Override
+  public void writeHeader(TableLayout layout) throws IOException {
+    String lineSeparator = System.lineSeparator();
+    out.append("<table>").append(lineSeparator);
+    if (!layout.titleLines.isEmpty()) {
+      out.append("  <caption>");
+      for (int i = 0; i < layout.titleLines.size(); i++) {
+        if (i > 0) {
+          out.append("<br>");
+        }
+        writeEscaped(layout.titleLines.get(i));
+      }
+      out.append("</caption>").append(lineSeparator);
+    }
+    out.append("  <thead>").append(lineSeparator);
+    writeTextRow("th", layout.header, layout.headerAligns);
+    out.append("  </thead>").append(lineSeparator);
+    out.append("  <tbody>").append(lineSeparator);
+
+    dataTags = new String[layout.columns.length];
+    for (int j = 0; j < dataTags.length; j++) {
+      dataTags[j] = openTag("td", layout.dataAligns[j]);
+    }
+  }
+
+  @Override
+  public void writeRow(TableLayout layout, int row, CharSequence[] cells, int[] cellWidths)
+      throws IOException {
+    out.append("    <tr>");
+    for (int j = 0; j < cells.length; j++) {
+      out.append(dataTags[j]);
+      writeEscaped(cells[j]);
+      out.append("</td>");
+    }
+    out.append("</tr>").append(System.lineSeparator());
+  }
+
+  @Override
+  public void writeFooter(TableLayout layout) throws IOException {
+    String lineSeparator = System.lineSeparator();
+    out.append("  </tbody>").append(lineSeparator);
+    if (!LineUtil.isAllEmpty(layout.footer)) {
+      out.append("  <tfoot>").append(lineSeparator);
+      writeTextRow("td", layout.footer, layout.footerAligns);
+      out.append("  </tfoot>").append(lineSeparator);
+    }
+    out.append("</table>").append(lineSeparator);
+  }
+
+  private void writeTextRow(String tag, String[] cells, HorizontalAlign[] aligns)
+      throws IOException {
+    out.append("    <tr>");
+    for (int j = 0; j < cells.length; j++) {
+      out.append(openTag(tag, aligns[j]));
+      writeEscaped(cells[j]);
+      out.append("</").append(tag).append('>');
+    }
+    out.append("</tr>").append(System.lineSeparator());
+  }
+
+  private static String openTag(String tag, HorizontalAlign align) {
+    switch (align) {
+      case RIGHT:
+        return "<" + tag + " style=\"text-align: right\">";
+      case CENTER:
+        return "<" + tag + " style=\"text-align: center\">";
+      default:
+        return "<" + tag + ">";
+    }
+  }
+
+  private void writeEscaped(CharSequence str) throws IOException {
+    int length = str.length();
+    for (int i = 0; i < length; i++) {
+      int sequenceEnd = DisplayWidth.escapeSequenceEnd(str, i, length);
+      if (sequenceEnd > i) {
+        i = sequenceEnd - 1;
+        continue;
+      }
+      char c = str.charAt(i);
+      switch (c) {
+        case '&':
+          out.append("&amp;");
+          break;
+        case '<':
+          out.append("&lt;");
+          break;
+        case '>':
+          out.append("&gt;");
+          break;
+        case '"':
+          out.append("&quot;");
+          break;
+        case '\n':
+          out.append("<br>");
+          break;
+        case '\r':
+          break;
+        default:
+          out.append(c);
+      }
+    }
+  }
+}
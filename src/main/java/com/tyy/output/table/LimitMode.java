@@ -0,0 +1,13 @@
+package com.tyy.output.table;
+
+/** 行数限制的模式，决定超出限制时保留哪些行。 行数限制在添加单元格时生效，每列只保存限制数量的单元格。 */
+public enum LimitMode {
+  /** 保留最先添加的行，之后添加的行被丢弃。 */
+  HEAD,
+
+  /** 保留最后添加的行，新行到达时丢弃最早的行。 */
+  TAIL,
+
+  /** 使用蓄水池抽样保留均匀随机的样本，保留的行按添加顺序排列。 */
+  RESERVOIR
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+
+/** 基于 {@code List<String>} 的单元格存储，每个单元格保存为一个字符串，null单元格保存为null。 */
+class ListCellStorage implements CellStorage {
+  private final ArrayList<String> cellContents;
+
+  ListCellStorage() {
+    this.cellContents = Lists.newArrayList();
+  }
+
+  private ListCellStorage(ArrayList<String> cellContents) {
+    this.cellContents = cellContents;
+  }
+
+  @Override
+  public void add(String cell) {
+    cellContents.add(cell);
+  }
+
+  @Override
+  public String get(int index) {
+    String cell = cellContents.get(index);
+    return cell == null ? "null" : cell;
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return cellContents.get(index) == null;
+  }
+
+  @Override
+  public CharSequence view(int index) {
+    return get(index);
+  }
+
+  @Override
+  public void ensureCapacity(int capacity) {
+    cellContents.ensureCapacity(capacity);
+  }
+
+  @Override
+  public int size() {
+    return cellContents.size();
+  }
+
+  @Override
+  public void retain(int[] indexes) {
+    for (int i = 0; i < indexes.length; i++) {
+      cellContents.set(i, cellContents.get(indexes[i]));
+    }
+    cellContents.subList(indexes.length, cellContents.size()).clear();
+  }
+
+  @Override
+  public CellStorage head(int n) {
+    return new ListCellStorage(Lists.newArrayList(cellContents.subList(0, n)));
+  }
+}
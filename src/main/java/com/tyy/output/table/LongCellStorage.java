@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.Arrays;
+
+/** 使用 {@code long[]} 保存单元格的存储。 */
+class LongCellStorage extends NumericCellStorage {
+  private long[] values = new long[INITIAL_CAPACITY];
+
+  void addLong(long value) {
+    ensureCapacity(size + 1);
+    values[size++] = value;
+  }
+
+  @Override
+  boolean addParsed(String cell) {
+    long value;
+    try {
+      value = Long.parseLong(cell);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    if (!String.valueOf(value).equals(cell)) {
+      return false;
+    }
+    addLong(value);
+    return true;
+  }
+
+  @Override
+  public void ensureCapacity(int capacity) {
+    if (capacity > values.length) {
+      values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+    }
+  }
+
+  @Override
+  String format(int index) {
+    return String.valueOf(values[index]);
+  }
+
+  @Override
+  CharSequence formatView(int index) {
+    return digitsView(values[index]);
+  }
+
+  @Override
+  void retainValues(int[] indexes) {
+    for (int i = 0; i < indexes.length; i++) {
+      values[i] = values[indexes[i]];
+    }
+  }
+
+  @Override
+  public CellStorage head(int n) {
+    LongCellStorage storage = new LongCellStorage();
+    storage.values = Arrays.copyOf(values, Math.max(n, INITIAL_CAPACITY));
+    copyTextCells(storage, n);
+    return storage;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.tyy.output.table.utils.NumberUtil;
+
+/**
+ * 长整数列。 单元格以 {@code long[]} 保存，不会为每个单元格创建字符串，渲染时才格式化为文本。
+ *
+ * <p>通过 {@link Column.Builder#buildLongColumn()} 创建。 以字符串添加的单元格如果能无损解析为长整数，同样以 {@code long} 保存。
+ */
+public class LongColumn extends Column {
+  private final LongCellStorage cells;
+
+  LongColumn(Builder builder) {
+    this(builder, new LongCellStorage());
+  }
+
+  private LongColumn(Builder builder, LongCellStorage cells) {
+    super(builder, cells);
+    this.cells = cells;
+  }
+
+  @Override
+  Column newColumn(Builder builder, CellStorage cellContents) {
+    return new LongColumn(builder, (LongCellStorage) cellContents);
+  }
+
+  /**
+   * 添加长整数类型的单元格内容。
+   *
+   * @param value 长整数值
+   * @return 当前列实例
+   */
+  public LongColumn addCell(long value) {
+    if (!acceptCell()) {
+      return this;
+    }
+    cells.addLong(value);
+    recordCellWidth(NumberUtil.digitCount(value));
+    return this;
+  }
+
+  @Override
+  public LongColumn addCell(int value) {
+    return addCell((long) value);
+  }
+
+  @Override
+  Column addValue(Object value) {
+    if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      return addCell(((Number) value).longValue());
+    }
+    return super.addValue(value);
+  }
+}
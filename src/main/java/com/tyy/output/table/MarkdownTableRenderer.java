@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import com.tyy.output.table.utils.DisplayWidth;
+import com.tyy.output.table.utils.LineUtil;
+import java.io.IOException;
+
+/**
+ * 输出 GitHub Markdown 表格的渲染器。
+ *
+ * <p>标题行输出为表格之前的段落，表头的对齐方式使用各列的数据对齐方式，表尾输出为最后一个数据行。 单元格按列宽补齐空格使源文本对齐，超出列宽的内容不会被裁剪； 单元格中的 {@code |}
+ * 被转义，换行符输出为 {@code <br>}，ANSI 转义序列被去掉。
+ */
+public final class MarkdownTableRenderer implements TableRenderer {
+  /** 分隔行中每一列至少需要的字符数。 */
+  private static final int MIN_COLUMN_WIDTH = 3;
+
+  private final Appendable out;
+  private int[] columnWidths;
+
+  /**
+   * 创建渲染器。
+   *
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当out为null时抛出
+   */
+  public MarkdownTableRenderer(Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    this.out = out;
+  }
+
+  @Override
+  public void writeHeader(TableLayout layout) throws IOException {
+    String lineSeparator = System.lineSeparator();
+    if (!layout.titleLines.isEmpty()) {
+      for (String title : layout.titleLines) {
+        writeEscaped(title);
+        out.append(lineSeparator);
+      }
+      out.append(lineSeparator);
+    }
+
+    columnWidths = new int[layout.columns.length];
+    for (int j = 0; j < columnWidths.length; j++) {
+      columnWidths[j] = Math.max(MIN_COLUMN_WIDTH, layout.columnWidths[j]);
+    }
+    writeTextRow(layout.header);
+
+    out.append('|');
+    for (int j = 0; j < columnWidths.length; j++) {
+      HorizontalAlign align = layout.dataAligns[j];
+      int dashes = columnWidths[j];
+      out.append(' ');
+      if (align != HorizontalAlign.RIGHT) {
+        out.append(':');
+        dashes--;
+      }
+      if (align != HorizontalAlign.LEFT) {
+        dashes--;
+      }
+      LineUtil.writeRepeated(out, '-', dashes);
+      if (align != HorizontalAlign.LEFT) {
+        out.append(':');
+      }
+      out.append(" |");
+    }
+    out.append(lineSeparator);
+  }
+
+  @Override
+  public void writeRow(TableLayout layout, int row, CharSequence[] cells, int[] cellWidths)
+      throws IOException {
+    out.append('|');
+    for (int j = 0; j < cells.length; j++) {
+      writeCell(cells[j], cellWidths[j], columnWidths[j]);
+    }
+    out.append(System.lineSeparator());
+  }
+
+  @Override
+  public void writeFooter(TableLayout layout) throws IOException {
+    if (!LineUtil.isAllEmpty(layout.footer)) {
+      writeTextRow(layout.footer);
+    }
+  }
+
+  private void writeTextRow(String[] cells) throws IOException {
+    out.append('|');
+    for (int j = 0; j < cells.length; j++) {
+      writeCell(cells[j], LineUtil.getDisplayWidth(cells[j]), columnWidths[j]);
+    }
+    out.append(System.lineSeparator());
+  }
+
+  /** 写入一个单元格及其两侧的空格和右侧的分隔符，单行的内容按列宽补齐空格。 */
+  private void writeCell(CharSequence cell, int cellWidth, int columnWidth) throws IOException {
+    out.append(' ');
+    int escapes = writeEscaped(cell);
+    if (escapes >= 0) {
+      LineUtil.writeRepeated(out, ' ', columnWidth - cellWidth - escapes);
+    }
+    out.append(" |");
+  }
+
+  /**
+   * 写入转义后的内容。
+   *
+   * @return 转义增加的字符数；内容包含换行符时返回-1，这时无法按列宽对齐
+   */
+  private int writeEscaped(CharSequence str) throws IOException {
+    int escapes = 0;
+    int length = str.length();
+    for (int i = 0; i < length; i++) {
+      int sequenceEnd = DisplayWidth.escapeSequenceEnd(str, i, length);
+      if (sequenceEnd > i) {
+        i = sequenceEnd - 1;
+        continue;
+      }
+      char c = str.charAt(i);
+      if (c == '\n') {
+        out.append("<br>");
+        escapes = -1;
+      } else if (c == '|') {
+        out.append("\\|");
+        if (escapes >= 0) {
+          escapes++;
+        }
+      } else if (c != '\r') {
+        out.append(c);
+      }
+    }
+    return escapes;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import com.tyy.output.table.utils.NumberUtil;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 数值列的单元格存储基类。 数值保存在子类的基本类型数组中，渲染时才格式化。
+ *
+ * <p>无法无损表示为数值的单元格（例如null、省略号或空字符串）单独保存在文本单元格表中，null单元格另外记录在位图中。
+ */
+abstract class NumericCellStorage implements CellStorage {
+  static final int INITIAL_CAPACITY = 16;
+
+  int size;
+  private final Map<Integer, String> textCells = new HashMap<>();
+  private final BitSet nullCells = new BitSet();
+  private final char[] digits = new char[NumberUtil.MAX_LONG_CHARS];
+  private final DigitsView digitsView = new DigitsView();
+
+  @Override
+  public void add(String cell) {
+    if (cell != null && addParsed(cell)) {
+      return;
+    }
+    ensureCapacity(size + 1);
+    if (cell == null) {
+      nullCells.set(size);
+    }
+    textCells.put(size++, cell == null ? "null" : cell);
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return nullCells.get(index);
+  }
+
+  @Override
+  public String get(int index) {
+    Preconditions.checkElementIndex(index, size);
+    String text = getTextCell(index);
+    return text != null ? text : format(index);
+  }
+
+  @Override
+  public CharSequence view(int index) {
+    Preconditions.checkElementIndex(index, size);
+    String text = getTextCell(index);
+    return text != null ? text : formatView(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void retain(int[] indexes) {
+    retainValues(indexes);
+    if (!textCells.isEmpty()) {
+      Map<Integer, String> retained = new HashMap<>();
+      for (int i = 0; i < indexes.length; i++) {
+        String text = textCells.get(indexes[i]);
+        if (text != null) {
+          retained.put(i, text);
+        }
+      }
+      textCells.clear();
+      textCells.putAll(retained);
+    }
+    if (!nullCells.isEmpty()) {
+      BitSet retained = new BitSet();
+      for (int i = 0; i < indexes.length; i++) {
+        retained.set(i, nullCells.get(indexes[i]));
+      }
+      nullCells.clear();
+      nullCells.or(retained);
+    }
+    size = indexes.length;
+  }
+
+  /**
+   * 按给定顺序把保留的数值移动到数组的开头。
+   *
+   * @param indexes 要保留的单元格索引，按升序排列
+   */
+  abstract void retainValues(int[] indexes);
+
+  /**
+   * 尝试将字符串解析为数值保存，仅当数值格式化后与原字符串相同时才保存。
+   *
+   * @param cell 单元格内容
+   * @return 是否已保存
+   */
+  abstract boolean addParsed(String cell);
+
+  abstract String format(int index);
+
+  /** 格式化单元格，返回的视图在下一次调用之前有效。 */
+  CharSequence formatView(int index) {
+    return format(index);
+  }
+
+  /** 将整数写入内部缓冲区，返回的视图在下一次调用之前有效。 */
+  CharSequence digitsView(long value) {
+    digitsView.start = NumberUtil.getChars(value, digits);
+    return digitsView;
+  }
+
+  /** 将前n个单元格中的文本单元格和null标记复制到目标存储。 */
+  void copyTextCells(NumericCellStorage target, int n) {
+    for (Map.Entry<Integer, String> entry : textCells.entrySet()) {
+      if (entry.getKey() < n) {
+        target.textCells.put(entry.getKey(), entry.getValue());
+      }
+    }
+    target.nullCells.or(nullCells.get(0, n));
+    target.size = n;
+  }
+
+  private String getTextCell(int index) {
+    return textCells.isEmpty() ? null : textCells.get(index);
+  }
+
+  /** 数字缓冲区的可复用视图。 */
+  private final class DigitsView implements CharSequence {
+    private int start;
+
+    @Override
+    public int length() {
+      return digits.length - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      Preconditions.checkElementIndex(index, length());
+      return digits[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int begin, int end) {
+      Preconditions.checkPositionIndexes(begin, end, length());
+      return new String(digits, start + begin, end - begin);
+    }
+
+    @Override
+    public String toString() {
+      return new String(digits, start, length());
+    }
+  }
+}
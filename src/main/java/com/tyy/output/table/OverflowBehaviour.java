@@ -6,5 +6,14 @@ public enum OverflowBehaviour {
   CLIP_RIGHT,
 
   /** 从左侧裁剪溢出内容。 例如："Hello World" -> "...World" */
-  CLIP_LEFT
+  CLIP_LEFT,
+
+  /** 从中间裁剪溢出内容，保留开头和结尾。 例如："Hello World" -> "Hel...rld" */
+  CLIP_MIDDLE,
+
+  /**
+   * 按单词和显示宽度将溢出内容折行显示，数据行的高度为其中单元格的最大行数。 例如："Hello World" -> "Hello" 和 "World" 两行。
+   * 表头、表尾和标题不会折行，溢出时按 {@link #CLIP_RIGHT} 处理。
+   */
+  WRAP
 }
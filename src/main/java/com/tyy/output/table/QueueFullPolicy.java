@@ -0,0 +1,10 @@
+package com.tyy.output.table;
+
+/** {@link AsyncTableWriter} 的队列已满时提交表格的处理策略。 */
+public enum QueueFullPolicy {
+  /** 阻塞提交表格的线程，直到队列中有空位。 */
+  BLOCK,
+
+  /** 丢弃提交的表格并立即返回，丢弃的数量计入 {@link AsyncTableWriter#getDroppedCount()}。 */
+  DROP
+}
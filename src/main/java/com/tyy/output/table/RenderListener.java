@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+/**
+ * 表格渲染过程的监听器，通过 {@link Table.Builder#withRenderListener(RenderListener)} 注册。
+ * 用于在不借助性能分析工具的情况下定位渲染缓慢的阶段。
+ *
+ * <p>所有回调都在调用渲染方法的线程中执行，未注册监听器时不会产生任何额外开销。所有方法都有空的默认实现，只需覆盖关心的事件。 未执行的阶段（例如未设置行数限制时的 {@link
+ * RenderPhase#APPLY_LIMIT}）不会触发事件。
+ *
+ * <p>监听器只接收完整渲染（{@link Table#render(Appendable)}、{@link Table#getStringFormat()}、{@link
+ * Table#print(java.io.OutputStream)} 以及按字节渲染）的事件，流式渲染和追加模式不会触发事件。
+ */
+public interface RenderListener {
+
+  /**
+   * 阶段开始时调用。
+   *
+   * @param phase 渲染阶段
+   */
+  default void onPhaseStart(RenderPhase phase) {}
+
+  /**
+   * 阶段结束时调用。
+   *
+   * @param phase 渲染阶段
+   * @param elapsedNanos 阶段耗时，单位为纳秒
+   */
+  default void onPhaseEnd(RenderPhase phase, long elapsedNanos) {}
+
+  /**
+   * 每写完一批数据行后调用。
+   *
+   * @param rowsRendered 已写入的数据行数
+   * @param totalRows 数据行总数
+   * @param bytesEmitted 已输出的UTF-8字节数
+   */
+  default void onProgress(int rowsRendered, int totalRows, long bytesEmitted) {}
+
+  /**
+   * 渲染完成时调用。
+   *
+   * @param rowsRendered 写入的数据行数
+   * @param bytesEmitted 输出的UTF-8字节数
+   * @param peakBufferSize 单个中间缓冲区的最大字节数，直接写入输出目标时为0
+   */
+  default void onComplete(int rowsRendered, long bytesEmitted, int peakBufferSize) {}
+}
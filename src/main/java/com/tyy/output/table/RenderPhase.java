@@ -0,0 +1,25 @@
+package com.tyy.output.table;
+
+/** 表格渲染的阶段，按照执行顺序排列。 */
+public enum RenderPhase {
+  /** 检查各列的行数是否一致。 */
+  CHECK_COLUMNS,
+
+  /** 按照行数限制截取数据。 */
+  APPLY_LIMIT,
+
+  /** 添加行号列。 */
+  ADD_ROW_NUMBERS,
+
+  /** 根据标题宽度重新计算列宽。 */
+  PROCESS_COLUMNS_WIDTH,
+
+  /** 写入上边框、标题、表头和表头分隔线。 */
+  WRITE_HEADER,
+
+  /** 写入数据行。 */
+  WRITE_DATA,
+
+  /** 写入表尾和下边框。 */
+  WRITE_FOOTER
+}
@@ -0,0 +1,399 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import com.tyy.output.table.utils.LineUtil;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 从JDBC {@link ResultSet} 生成表格。 列名取自 {@link ResultSetMetaData#getColumnLabel(int)}，单元格按JDBC类型读取：
+ * 整数和浮点数读取为基本类型并保存到对应的数值列中，日期时间通过 {@link ResultSet#getObject(int, Class)} 读取为 {@code java.time}
+ * 类型，只有其他类型才使用 {@link ResultSet#getString(int)}。
+ *
+ * <p>支持两种模式：{@link #toTable(Table.Builder)} 读取全部行并生成表格，列宽根据数据计算； {@link #render(Table.Builder,
+ * Appendable)} 以流式方式逐行输出，列宽使用 {@link ResultSetMetaData#getColumnDisplaySize(int)}，内存占用与行数无关。
+ *
+ * <p>两种模式都只向前读取结果集一次，读取完毕后不会关闭结果集。
+ */
+public class ResultSetTableSource {
+  /** 默认的每次从数据库获取的行数。 */
+  public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+  /** 流式输出时默认的最大列宽，避免显示宽度很大的文本列撑开表格。 */
+  public static final int DEFAULT_MAX_COLUMN_WIDTH = 40;
+
+  private final ResultSet resultSet;
+  private final String[] headers;
+  private final ValueType[] types;
+  private final int[] displaySizes;
+  private final int maxColumnWidth;
+
+  private ResultSetTableSource(Builder builder) throws SQLException {
+    this.resultSet = builder.resultSet;
+    this.maxColumnWidth = builder.maxColumnWidth;
+    if (builder.fetchSize > 0) {
+      resultSet.setFetchSize(builder.fetchSize);
+    }
+
+    ResultSetMetaData metaData = resultSet.getMetaData();
+    int columnCount = metaData.getColumnCount();
+    this.headers = new String[columnCount];
+    this.types = new ValueType[columnCount];
+    this.displaySizes = new int[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      headers[i] = metaData.getColumnLabel(i + 1);
+      types[i] = ValueType.of(metaData.getColumnType(i + 1));
+      displaySizes[i] = metaData.getColumnDisplaySize(i + 1);
+    }
+  }
+
+  /** 创建Builder实例并初始化默认值。 */
+  public static class Builder {
+    private final ResultSet resultSet;
+    private int fetchSize;
+    private int maxColumnWidth;
+
+    /**
+     * 创建Builder。
+     *
+     * @param resultSet 结果集
+     * @throws NullPointerException 当resultSet为null时抛出
+     */
+    public Builder(ResultSet resultSet) {
+      this.resultSet = Preconditions.checkNotNull(resultSet, "Result set cannot be null");
+      this.fetchSize = DEFAULT_FETCH_SIZE;
+      this.maxColumnWidth = DEFAULT_MAX_COLUMN_WIDTH;
+    }
+
+    /**
+     * 设置每次从数据库获取的行数，通过 {@link ResultSet#setFetchSize(int)} 传递给驱动。
+     *
+     * @param fetchSize 每次获取的行数，0表示使用驱动的默认值
+     * @return Builder实例
+     * @throws IllegalArgumentException 当fetchSize为负数时抛出
+     */
+    public Builder withFetchSize(int fetchSize) {
+      Preconditions.checkArgument(fetchSize >= 0, "Fetch size must be non-negative");
+      this.fetchSize = fetchSize;
+      return this;
+    }
+
+    /**
+     * 设置流式输出时的最大列宽，列的显示宽度超过该值时使用该值，超出的内容按溢出行为处理。
+     *
+     * @param maxColumnWidth 最大列宽
+     * @return Builder实例
+     * @throws IllegalArgumentException 当maxColumnWidth不是正数时抛出
+     */
+    public Builder withMaxColumnWidth(int maxColumnWidth) {
+      Preconditions.checkArgument(maxColumnWidth > 0, "Max column width must be positive");
+      this.maxColumnWidth = maxColumnWidth;
+      return this;
+    }
+
+    /**
+     * 读取结果集的元数据并创建实例。
+     *
+     * @return 实例
+     * @throws SQLException 读取元数据或设置获取行数失败时抛出
+     */
+    public ResultSetTableSource build() throws SQLException {
+      return new ResultSetTableSource(this);
+    }
+  }
+
+  /**
+   * 读取结果集中剩余的全部行，生成表格。 数据写入表格中的列并执行表格的行数限制，因此设置了行数限制时内存占用只与限制行数有关。
+   *
+   * @param tableBuilder 表格配置，结果集的列追加在已有的列之后
+   * @return 包含全部数据的表格
+   * @throws SQLException 读取结果集失败时抛出
+   */
+  public Table toTable(Table.Builder tableBuilder) throws SQLException {
+    Column[] columns = new Column[headers.length];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = types[i].createColumn(columnBuilder(i));
+    }
+    Table table = tableBuilder.withColumns(columns).build();
+    // 行数受限的表格使用列的副本，因此数据写入表格中的列
+    int offset = table.getColumnCount() - columns.length;
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = table.getColumn(offset + i);
+    }
+    while (resultSet.next()) {
+      for (int i = 0; i < columns.length; i++) {
+        types[i].addTo(columns[i], resultSet, i + 1);
+      }
+    }
+    return table;
+  }
+
+  /**
+   * 以流式方式输出结果集中剩余的行。 每一行读取后立即写出，列宽取显示宽度与列名宽度中的较大值，并且不超过最大列宽。
+   *
+   * @param tableBuilder 表格配置，不能包含其他列，也不能启用行号
+   * @param out 输出目标
+   * @throws SQLException 读取结果集失败时抛出
+   * @throws IllegalArgumentException 当表格配置不支持流式输出时抛出
+   * @see Table#renderRows(Iterator, Appendable)
+   */
+  public void render(Table.Builder tableBuilder, Appendable out) throws SQLException {
+    Column[] columns = new Column[headers.length];
+    for (int i = 0; i < columns.length; i++) {
+      int width =
+          Math.max(LineUtil.getDisplayWidth(headers[i]), Math.min(displaySizes[i], maxColumnWidth));
+      columns[i] = columnBuilder(i).withMaxWidth(width).build();
+    }
+    Table table = tableBuilder.withColumns(columns).build();
+    try {
+      table.renderRows(new RowIterator(), out);
+    } catch (ResultSetReadException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Column.Builder columnBuilder(int index) {
+    return new Column.Builder()
+        .withHeader(headers[index])
+        .withDataAlign(types[index].isNumeric() ? HorizontalAlign.RIGHT : HorizontalAlign.LEFT);
+  }
+
+  /** 逐行读取结果集的迭代器，每次调用 {@link #next()} 才读取下一行。 */
+  private final class RowIterator implements Iterator<String[]> {
+    private Boolean hasNext;
+
+    @Override
+    public boolean hasNext() {
+      if (hasNext == null) {
+        try {
+          hasNext = resultSet.next();
+        } catch (SQLException e) {
+          throw new ResultSetReadException(e);
+        }
+      }
+      return hasNext;
+    }
+
+    @Override
+    public String[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasNext = null;
+      String[] row = new String[types.length];
+      try {
+        for (int i = 0; i < row.length; i++) {
+          row[i] = types[i].format(resultSet, i + 1);
+        }
+      } catch (SQLException e) {
+        throw new ResultSetReadException(e);
+      }
+      return row;
+    }
+  }
+
+  /** 在迭代器中传递 {@link SQLException}。 */
+  private static final class ResultSetReadException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    ResultSetReadException(SQLException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+      return (SQLException) super.getCause();
+    }
+  }
+
+  /** 单元格的读取方式，由列的JDBC类型决定。 */
+  private enum ValueType {
+    INT {
+      @Override
+      Column createColumn(Column.Builder builder) {
+        return builder.buildIntColumn();
+      }
+
+      @Override
+      void addTo(Column column, ResultSet resultSet, int index) throws SQLException {
+        int value = resultSet.getInt(index);
+        if (resultSet.wasNull()) {
+          column.addCell((String) null);
+        } else {
+          ((IntColumn) column).addCell(value);
+        }
+      }
+
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        int value = resultSet.getInt(index);
+        return resultSet.wasNull() ? null : Integer.toString(value);
+      }
+    },
+    LONG {
+      @Override
+      Column createColumn(Column.Builder builder) {
+        return builder.buildLongColumn();
+      }
+
+      @Override
+      void addTo(Column column, ResultSet resultSet, int index) throws SQLException {
+        long value = resultSet.getLong(index);
+        if (resultSet.wasNull()) {
+          column.addCell((String) null);
+        } else {
+          ((LongColumn) column).addCell(value);
+        }
+      }
+
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        long value = resultSet.getLong(index);
+        return resultSet.wasNull() ? null : Long.toString(value);
+      }
+    },
+    DOUBLE {
+      @Override
+      Column createColumn(Column.Builder builder) {
+        return builder.buildDoubleColumn();
+      }
+
+      @Override
+      void addTo(Column column, ResultSet resultSet, int index) throws SQLException {
+        double value = resultSet.getDouble(index);
+        if (resultSet.wasNull()) {
+          column.addCell((String) null);
+        } else {
+          ((DoubleColumn) column).addCell(value);
+        }
+      }
+
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        double value = resultSet.getDouble(index);
+        return resultSet.wasNull() ? null : Double.toString(value);
+      }
+    },
+    FLOAT {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        float value = resultSet.getFloat(index);
+        return resultSet.wasNull() ? null : Float.toString(value);
+      }
+    },
+    BOOLEAN {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        boolean value = resultSet.getBoolean(index);
+        return resultSet.wasNull() ? null : Boolean.toString(value);
+      }
+    },
+    DECIMAL {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        BigDecimal value = resultSet.getBigDecimal(index);
+        return value == null ? null : value.toPlainString();
+      }
+    },
+    DATE {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        LocalDate value = resultSet.getObject(index, LocalDate.class);
+        return value == null ? null : value.toString();
+      }
+    },
+    TIME {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        LocalTime value = resultSet.getObject(index, LocalTime.class);
+        return value == null ? null : value.toString();
+      }
+    },
+    TIMESTAMP {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        LocalDateTime value = resultSet.getObject(index, LocalDateTime.class);
+        return value == null ? null : value.toString();
+      }
+    },
+    STRING {
+      @Override
+      String format(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getString(index);
+      }
+    };
+
+    static ValueType of(int sqlType) {
+      switch (sqlType) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+          return INT;
+        case Types.BIGINT:
+          return LONG;
+        case Types.REAL:
+          return FLOAT;
+        case Types.FLOAT:
+        case Types.DOUBLE:
+          return DOUBLE;
+        case Types.BIT:
+        case Types.BOOLEAN:
+          return BOOLEAN;
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+          return DECIMAL;
+        case Types.DATE:
+          return DATE;
+        case Types.TIME:
+          return TIME;
+        case Types.TIMESTAMP:
+          return TIMESTAMP;
+        default:
+          return STRING;
+      }
+    }
+
+    boolean isNumeric() {
+      return this == INT || this == LONG || this == DOUBLE || this == FLOAT || this == DECIMAL;
+    }
+
+    Column createColumn(Column.Builder builder) {
+      return builder.build();
+    }
+
+    /** 读取单元格并添加到列中，数值列直接保存数值。 */
+    void addTo(Column column, ResultSet resultSet, int index) throws SQLException {
+      column.addCell(format(resultSet, index));
+    }
+
+    /** 读取单元格并格式化为文本，null值返回null。 */
+    abstract String format(ResultSet resultSet, int index) throws SQLException;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 在添加单元格时执行行数限制。 记录保留的行在列存储中的位置，以及已经丢弃的行数。
+ *
+ * <p>同一个表格的各列使用相同的种子创建各自的实例，因此只要各列按相同的顺序添加单元格， 各列保留的行就相同，不需要在列之间共享状态。
+ */
+final class RowSampler {
+  private final LimitMode mode;
+  private final int limit;
+  private final SplittableRandom random;
+
+  /** 保留的行在列存储中的位置，按保留槽位排列。 */
+  private final int[] slots;
+
+  private int retained;
+
+  /** 追加模式下下一个被替换的槽位，即最早添加的行。 */
+  private int oldest;
+
+  private long offered;
+
+  /**
+   * 创建行数限制。
+   *
+   * @param mode 限制模式
+   * @param limit 保留的行数
+   * @param seed 抽样使用的随机种子
+   */
+  RowSampler(LimitMode mode, int limit, long seed) {
+    this.mode = mode;
+    this.limit = limit;
+    this.random = new SplittableRandom(seed);
+    this.slots = new int[limit];
+  }
+
+  /**
+   * 决定新到达的行是否保留。
+   *
+   * @param index 该行如果保留，在列存储中的位置
+   * @return 保留时返回true，行被丢弃时返回false
+   */
+  boolean offer(int index) {
+    offered++;
+    if (retained < limit) {
+      slots[retained++] = index;
+      return true;
+    }
+    switch (mode) {
+      case TAIL:
+        if (limit == 0) {
+          return false;
+        }
+        slots[oldest] = index;
+        oldest = (oldest + 1) % limit;
+        return true;
+      case RESERVOIR:
+        long slot = random.nextLong(offered);
+        if (slot >= limit) {
+          return false;
+        }
+        slots[(int) slot] = index;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * 获取保留的行在列存储中的位置，按添加顺序（升序）排列。
+   *
+   * @return 保留的位置
+   */
+  int[] retainedIndexes() {
+    int[] indexes = Arrays.copyOf(slots, retained);
+    Arrays.sort(indexes);
+    return indexes;
+  }
+
+  /** 列存储按 {@link #retainedIndexes()} 压缩之后调用，保留的行依次位于存储的开头。 */
+  void compacted() {
+    for (int i = 0; i < retained; i++) {
+      slots[i] = i;
+    }
+    oldest = 0;
+  }
+
+  /**
+   * 判断是否会用新的行替换已保留的行。
+   *
+   * @return TAIL 和 RESERVOIR 模式返回true，HEAD 模式只丢弃超出限制的行，返回false
+   */
+  boolean evictsRetainedRows() {
+    return mode != LimitMode.HEAD;
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  int getRetainedCount() {
+    return retained;
+  }
+
+  long getDroppedCount() {
+    return offered - retained;
+  }
+}
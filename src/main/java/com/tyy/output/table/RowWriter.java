@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 按行向表格添加数据的写入器，通过 {@link Table#rowWriter(String...)} 获取。 创建时按列名一次性绑定列，之后每次写入都按位置直接访问列， 不再按列名查找。
+ *
+ * <p>整行的长度在写入任何单元格之前检查，因此长度错误的行不会使各列的行数不一致。未绑定的列在每一行中写入空字符串。 数值列（例如 {@link
+ * IntColumn}）直接保存对应类型的数值，不会先转换为字符串。
+ */
+public final class RowWriter {
+  private final Column[] columns;
+  private final Column[] unboundColumns;
+
+  /**
+   * 创建写入器。
+   *
+   * @param columns 按写入顺序绑定的列
+   * @param unboundColumns 表格中未绑定的列
+   */
+  RowWriter(Column[] columns, Column[] unboundColumns) {
+    this.columns = columns;
+    this.unboundColumns = unboundColumns;
+  }
+
+  /**
+   * 写入一行。
+   *
+   * @param values 各绑定列的单元格内容，可以包含null
+   * @return 当前写入器
+   * @throws IllegalArgumentException 当行为null或长度与绑定的列数不一致时抛出
+   */
+  public RowWriter addRow(Object... values) {
+    Preconditions.checkArgument(
+        values != null && values.length == columns.length,
+        "Row size does not match number of columns");
+    for (int i = 0; i < columns.length; i++) {
+      columns[i].addValue(values[i]);
+    }
+    for (Column column : unboundColumns) {
+      column.addCell("");
+    }
+    return this;
+  }
+
+  /**
+   * 依次写入多行。 遇到长度错误的行时抛出异常，之前的行已经写入。
+   *
+   * @param rows 行数据
+   * @return 当前写入器
+   * @throws IllegalArgumentException 当rows为null或某一行的长度与绑定的列数不一致时抛出
+   */
+  public RowWriter addRows(Iterable<Object[]> rows) {
+    Preconditions.checkArgument(rows != null, "Rows cannot be null");
+    for (Object[] row : rows) {
+      addRow(row);
+    }
+    return this;
+  }
+
+  /**
+   * 获取绑定的列数，即每一行的长度。
+   *
+   * @return 绑定的列数
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import com.google.common.base.Preconditions;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑的单元格存储。 所有单元格按顺序编码在同一个字节数组中，通过偏移量数组定位。
+ *
+ * <p>只包含 Latin-1 字符的单元格按 Latin-1 编码（每个字符一个字节），其余单元格按 UTF-8 编码， 并通过位图记录编码方式和null单元格。
+ * 单元格内容仅在读取时才解码为字符串。
+ */
+class SlabCellStorage implements CellStorage {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final String NULL_CELL = "null";
+
+  private byte[] slab;
+  private int[] offsets;
+  private long[] utf8Cells;
+  private long[] nullCells;
+  private int size;
+  private final Latin1View view = new Latin1View();
+
+  SlabCellStorage() {
+    this(INITIAL_CAPACITY * 8, INITIAL_CAPACITY);
+  }
+
+  private SlabCellStorage(int byteCapacity, int cellCapacity) {
+    this.slab = new byte[Math.max(byteCapacity, 1)];
+    this.offsets = new int[Math.max(cellCapacity, 1) + 1];
+    this.utf8Cells = new long[(offsets.length >>> 6) + 1];
+    this.nullCells = new long[(offsets.length >>> 6) + 1];
+  }
+
+  @Override
+  public void add(String cell) {
+    ensureCellCapacity(size + 1);
+    int start = offsets[size];
+
+    if (cell == null) {
+      setBit(nullCells, size);
+    } else if (isLatin1(cell)) {
+      ensureByteCapacity(start + cell.length());
+      for (int i = 0; i < cell.length(); i++) {
+        slab[start + i] = (byte) cell.charAt(i);
+      }
+      start += cell.length();
+    } else {
+      byte[] bytes = cell.getBytes(StandardCharsets.UTF_8);
+      ensureByteCapacity(start + bytes.length);
+      System.arraycopy(bytes, 0, slab, start, bytes.length);
+      setBit(utf8Cells, size);
+      start += bytes.length;
+    }
+
+    offsets[++size] = start;
+  }
+
+  @Override
+  public String get(int index) {
+    Preconditions.checkElementIndex(index, size);
+    if (getBit(nullCells, index)) {
+      return NULL_CELL;
+    }
+    int start = offsets[index];
+    int length = offsets[index + 1] - start;
+    return new String(
+        slab,
+        start,
+        length,
+        getBit(utf8Cells, index) ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return getBit(nullCells, index);
+  }
+
+  @Override
+  public CharSequence view(int index) {
+    Preconditions.checkElementIndex(index, size);
+    if (getBit(nullCells, index) || getBit(utf8Cells, index)) {
+      return get(index);
+    }
+    view.start = offsets[index];
+    view.length = offsets[index + 1] - view.start;
+    return view;
+  }
+
+  @Override
+  public void ensureCapacity(int capacity) {
+    ensureCellCapacity(capacity);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public CellStorage head(int n) {
+    Preconditions.checkArgument(n >= 0 && n <= size, "Invalid cell count: %s", n);
+    SlabCellStorage storage = new SlabCellStorage(offsets[n], n);
+    System.arraycopy(slab, 0, storage.slab, 0, offsets[n]);
+    System.arraycopy(offsets, 0, storage.offsets, 0, n + 1);
+    for (int i = 0; i < n; i++) {
+      if (getBit(utf8Cells, i)) {
+        setBit(storage.utf8Cells, i);
+      }
+      if (getBit(nullCells, i)) {
+        setBit(storage.nullCells, i);
+      }
+    }
+    storage.size = n;
+    return storage;
+  }
+
+  @Override
+  public void retain(int[] indexes) {
+    int n = indexes.length;
+    byte[] newSlab = new byte[Math.max(1, byteLength(indexes))];
+    int[] newOffsets = new int[Math.max(n, INITIAL_CAPACITY) + 1];
+    long[] newUtf8Cells = new long[(newOffsets.length >>> 6) + 1];
+    long[] newNullCells = new long[(newOffsets.length >>> 6) + 1];
+    for (int i = 0; i < n; i++) {
+      int index = indexes[i];
+      int length = offsets[index + 1] - offsets[index];
+      System.arraycopy(slab, offsets[index], newSlab, newOffsets[i], length);
+      newOffsets[i + 1] = newOffsets[i] + length;
+      if (getBit(utf8Cells, index)) {
+        setBit(newUtf8Cells, i);
+      }
+      if (getBit(nullCells, index)) {
+        setBit(newNullCells, i);
+      }
+    }
+    slab = newSlab;
+    offsets = newOffsets;
+    utf8Cells = newUtf8Cells;
+    nullCells = newNullCells;
+    size = n;
+  }
+
+  private int byteLength(int[] indexes) {
+    int length = 0;
+    for (int index : indexes) {
+      length += offsets[index + 1] - offsets[index];
+    }
+    return length;
+  }
+
+  /**
+   * 获取存储使用的数组占用的字节数，不包括对象头。
+   *
+   * @return 字节数组、偏移量数组和位图占用的字节数
+   */
+  long getAllocatedBytes() {
+    return slab.length
+        + (long) offsets.length * Integer.BYTES
+        + (long) (utf8Cells.length + nullCells.length) * Long.BYTES;
+  }
+
+  private static boolean isLatin1(String str) {
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void ensureByteCapacity(int capacity) {
+    if (capacity > slab.length) {
+      slab = Arrays.copyOf(slab, Math.max(capacity, slab.length + (slab.length >> 1)));
+    }
+  }
+
+  private void ensureCellCapacity(int cellCount) {
+    if (cellCount + 1 > offsets.length) {
+      offsets =
+          Arrays.copyOf(offsets, Math.max(cellCount + 1, offsets.length + (offsets.length >> 1)));
+    }
+    int words = (cellCount >>> 6) + 1;
+    if (words > utf8Cells.length) {
+      utf8Cells = Arrays.copyOf(utf8Cells, words * 2);
+      nullCells = Arrays.copyOf(nullCells, words * 2);
+    }
+  }
+
+  private static void setBit(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  private static boolean getBit(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /** Latin-1 单元格的可复用视图，直接读取存储数组中的字节。 */
+  private final class Latin1View implements CharSequence {
+    private int start;
+    private int length;
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      Preconditions.checkElementIndex(index, length);
+      return (char) (slab[start + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int begin, int end) {
+      Preconditions.checkPositionIndexes(begin, end, length);
+      return new String(slab, start + begin, end - begin, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+      return new String(slab, start, length, StandardCharsets.ISO_8859_1);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.tyy.output.table;
+
+/** 是否输出 {@link CellStyle} 定义的 ANSI 样式。 */
+public enum StyleMode {
+  /** 只在输出目标是终端时输出样式，例如通过 {@link Table#printInfo()} 输出到控制台或通过 {@link TablePager} 查看。 */
+  AUTO,
+
+  /** 总是输出样式。 */
+  ALWAYS,
+
+  /** 从不输出样式，也不会计算条件样式。 */
+  NEVER
+}
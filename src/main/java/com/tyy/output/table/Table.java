@@ -53,42 +53,134 @@ import static com.tyy.output.table.Constant.UNLIMITED;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.tyy.output.table.utils.DisplayWidth;
 import com.tyy.output.table.utils.LineUtil;
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.Getter;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
 
 /** 表格渲染类。 支持设置标题、列、边框样式、行号等，并提供灵活的格式化输出功能。 */
 public class Table {
   public static final int PADDING = 1;
+
+  /** 默认的并行渲染阈值，数据行数不低于该值时才并行渲染。 */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+  /** 并行渲染时每个分块的最小行数。 */
+  private static final int MIN_CHUNK_ROWS = 1_024;
+
+  /** 省略号的显示宽度。 */
+  private static final int ELLIPSIS_WIDTH = LineUtil.getDisplayWidth(ELLIPSIS);
+
+  /** 截断结果中表示保留部分包含 ANSI 控制序列的标志位。 */
+  private static final long CLIPPED_ESCAPED = 1L << 31;
+
+  /** 注册了监听器时，每写入多少行数据报告一次进度。 */
+  private static final int PROGRESS_INTERVAL_ROWS = 1_024;
+
+  /** 按字节渲染时每批编码的目标字节数。 */
+  private static final int ENCODE_BATCH_BYTES = 16 * 1_024;
+
   private List<String> titleLines;
   private List<Column> columns;
-  private String[] footer;
-  private String[] header;
-  private int titleWidth;
   @Getter private final int limit;
+  @Getter private final LimitMode limitMode;
+
+  /** 行数限制的随机种子，各列使用相同的种子，因此蓄水池抽样在各列中保留相同的行。 */
+  private final long limitSeed;
+
   @Getter private boolean rowNumbersEnabled;
   @Getter private OverflowBehaviour overflowBehaviour;
   private BorderStyle borderStyle;
-  private int rowCount;
+  @Getter private final boolean parallelRenderingEnabled;
+  private final int parallelThreshold;
+  private final ForkJoinPool forkJoinPool;
+  @Getter private final TailWidthPolicy tailWidthPolicy;
+  private final RenderListener renderListener;
+
+  /** 每隔多少个数据行重复输出一次表头，0表示不重复。 */
+  @Getter private final int headerRepeatInterval;
+
+  /** 是否输出列的 ANSI 样式。 */
+  @Getter private final StyleMode styleMode;
+
+  /** 预计的行数，列加入表格时按该行数预留存储，0表示不预留。 */
+  private final int expectedRows;
+
+  /** 表格的目标总宽度，包括边框和内边距，{@link Constant#UNLIMITED} 表示不限制。 */
+  @Getter private final int tableWidth;
+
+  /** 是否按终端的宽度收窄表格。 */
+  @Getter private final boolean fitToTerminal;
+
+  /** 终端宽度的来源，不按终端宽度收窄时为null。 */
+  private final IntSupplier terminalWidth;
+
+  /** 按列名（大写）索引的列，加入新列后失效。 */
+  private Map<String, Column> columnsByHeader;
+
+  /** 缓存的布局，表格的列、数据或标题变化后失效。 */
+  private TableLayout layout;
+
+  /** 追加输出模式下已输出的行数，-1表示尚未开始追加输出。 */
+  private int tailRowCount = -1;
+
+  /** 追加输出模式下已输出的列宽。 */
+  private int[] tailWidths;
 
   private Table(Builder builder) {
     this.borderStyle = builder.borderStyle;
     this.limit = builder.limit;
+    this.limitMode = builder.limitMode;
+    this.limitSeed = ThreadLocalRandom.current().nextLong();
+    this.expectedRows = builder.expectedRows;
     this.titleLines = builder.titleLines;
-    this.columns = builder.columns;
+    this.columns = Lists.newArrayList(builder.columns);
     this.rowNumbersEnabled = builder.rowNumbersEnabled;
     this.overflowBehaviour = builder.overflowBehaviour;
+    this.parallelRenderingEnabled = builder.parallelRenderingEnabled;
+    this.parallelThreshold = builder.parallelThreshold;
+    this.forkJoinPool = builder.forkJoinPool;
+    this.tailWidthPolicy = builder.tailWidthPolicy;
+    this.renderListener = builder.renderListener;
+    this.headerRepeatInterval = builder.headerRepeatInterval;
+    this.styleMode = builder.styleMode;
+    this.tableWidth = builder.tableWidth;
+    this.terminalWidth =
+        builder.terminalWidth != null
+            ? builder.terminalWidth
+            : builder.fitToTerminal ? TerminalWidth::get : null;
+    this.fitToTerminal = terminalWidth != null;
+    this.columns.replaceAll(this::attach);
   }
 
   static final class Builder {
@@ -96,16 +188,35 @@ public class Table {
     private BorderStyle borderStyle;
 
     private int limit;
+    private LimitMode limitMode;
+    private int expectedRows;
     private OverflowBehaviour overflowBehaviour;
     private List<String> titleLines;
     private List<Column> columns;
+    private boolean parallelRenderingEnabled;
+    private int parallelThreshold;
+    private ForkJoinPool forkJoinPool;
+    private TailWidthPolicy tailWidthPolicy;
+    private RenderListener renderListener;
+    private int headerRepeatInterval;
+    private StyleMode styleMode;
+    private int tableWidth;
+    private boolean fitToTerminal;
+    private IntSupplier terminalWidth;
 
     /** Builder 模式构造器类。 用于配置和创建 Table 实例。 */
     public Builder() {
       this.rowNumbersEnabled = false;
       this.borderStyle = BorderStyle.BASIC2;
       this.limit = UNLIMITED;
+      this.limitMode = LimitMode.HEAD;
       this.overflowBehaviour = OverflowBehaviour.CLIP_RIGHT;
+      this.parallelRenderingEnabled = false;
+      this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+      this.forkJoinPool = ForkJoinPool.commonPool();
+      this.tailWidthPolicy = TailWidthPolicy.REPRINT_HEADER;
+      this.styleMode = StyleMode.AUTO;
+      this.tableWidth = UNLIMITED;
 
       this.titleLines = Lists.newArrayList();
       this.columns = Lists.newArrayList();
@@ -142,7 +253,35 @@ public class Table {
     }
 
     public Builder withLimit(int limit) {
+      return withLimit(limit, LimitMode.HEAD);
+    }
+
+    /**
+     * 设置行数限制及其模式。 限制在添加单元格时生效，每列最多保存 limit 个单元格，内存占用与添加的总行数无关； 丢弃的行数会显示在省略号行中。
+     *
+     * @param limit 保留的行数，{@link Constant#UNLIMITED} 表示不限制
+     * @param limitMode 超出限制时保留哪些行
+     * @return Builder实例
+     * @throws IllegalArgumentException 当limit为负数且不是 {@link Constant#UNLIMITED} 时抛出
+     * @throws NullPointerException 当limitMode为null时抛出
+     */
+    public Builder withLimit(int limit, LimitMode limitMode) {
+      Preconditions.checkArgument(limit >= 0 || limit == UNLIMITED, "Limit must be non-negative");
       this.limit = limit;
+      this.limitMode = Preconditions.checkNotNull(limitMode, "Limit mode cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置预计的行数。 列加入表格时按该行数预留单元格存储，设置了行数限制时最多预留限制行数的两倍。
+     *
+     * @param expectedRows 预计的行数
+     * @return Builder实例
+     * @throws IllegalArgumentException 当expectedRows为负数时抛出
+     */
+    public Builder withExpectedRows(int expectedRows) {
+      Preconditions.checkArgument(expectedRows >= 0, "Expected rows must be non-negative");
+      this.expectedRows = expectedRows;
       return this;
     }
 
@@ -161,11 +300,209 @@ public class Table {
       return this;
     }
 
+    /**
+     * 设置是否启用并行渲染。 启用后，数据行数达到阈值时会将数据行分块，在 {@link ForkJoinPool} 上并行渲染后按顺序输出， 输出结果与顺序渲染完全一致。
+     *
+     * @param parallelRenderingEnabled 是否启用并行渲染
+     * @return Builder实例
+     */
+    public Builder withParallelRendering(boolean parallelRenderingEnabled) {
+      this.parallelRenderingEnabled = parallelRenderingEnabled;
+      return this;
+    }
+
+    /**
+     * 设置并行渲染的阈值，数据行数不低于该值时才并行渲染。
+     *
+     * @param parallelThreshold 并行渲染的最小行数
+     * @return Builder实例
+     * @throws IllegalArgumentException 当阈值不是正数时抛出
+     */
+    public Builder withParallelThreshold(int parallelThreshold) {
+      Preconditions.checkArgument(parallelThreshold > 0, "Parallel threshold must be positive");
+      this.parallelThreshold = parallelThreshold;
+      return this;
+    }
+
+    /**
+     * 设置并行渲染使用的线程池，默认使用 {@link ForkJoinPool#commonPool()}。
+     *
+     * @param forkJoinPool 线程池
+     * @return Builder实例
+     */
+    public Builder withForkJoinPool(ForkJoinPool forkJoinPool) {
+      Preconditions.checkNotNull(forkJoinPool, "ForkJoinPool cannot be null");
+      this.forkJoinPool = forkJoinPool;
+      return this;
+    }
+
+    /**
+     * 设置追加输出模式下新增单元格超出已输出列宽时的处理策略，默认为 {@link TailWidthPolicy#REPRINT_HEADER}。
+     *
+     * @param tailWidthPolicy 列宽处理策略
+     * @return Builder实例
+     */
+    public Builder withTailWidthPolicy(TailWidthPolicy tailWidthPolicy) {
+      Preconditions.checkNotNull(tailWidthPolicy, "Tail width policy cannot be null");
+      this.tailWidthPolicy = tailWidthPolicy;
+      return this;
+    }
+
+    /**
+     * 注册渲染监听器，用于获取各渲染阶段的耗时和进度。 默认不注册，此时渲染没有任何额外开销。
+     *
+     * @param renderListener 渲染监听器
+     * @return Builder实例
+     */
+    public Builder withRenderListener(RenderListener renderListener) {
+      Preconditions.checkNotNull(renderListener, "Render listener cannot be null");
+      this.renderListener = renderListener;
+      return this;
+    }
+
+    /**
+     * 设置每隔多少个数据行重复输出一次表头，便于在很长的表格中对照列名。 默认为0，表示不重复。
+     *
+     * @param headerRepeatInterval 重复表头的间隔行数，0表示不重复
+     * @return Builder实例
+     * @throws IllegalArgumentException 当间隔为负数时抛出
+     */
+    public Builder withHeaderRepeatInterval(int headerRepeatInterval) {
+      Preconditions.checkArgument(
+          headerRepeatInterval >= 0, "Header repeat interval must be non-negative");
+      this.headerRepeatInterval = headerRepeatInterval;
+      return this;
+    }
+
+    /**
+     * 设置是否输出列的 ANSI 样式。 默认为 {@link StyleMode#AUTO}，只在输出到终端时输出样式。
+     *
+     * @param styleMode 样式输出模式
+     * @return Builder实例
+     * @throws NullPointerException 当styleMode为null时抛出
+     */
+    public Builder withStyleMode(StyleMode styleMode) {
+      this.styleMode = Preconditions.checkNotNull(styleMode, "Style mode cannot be null");
+      return this;
+    }
+
+    /**
+     * 设置表格的目标总宽度，包括边框和内边距。 表格比目标宽度更宽时收窄较宽的列，被收窄的列按照 {@link #withOverflowBehaviour} 裁剪或折行； 各列收窄的程度由
+     * {@link Column.Builder#withMinWidth(int)} 和 {@link Column.Builder#withWeight(int)} 决定。 默认为
+     * {@link Constant#UNLIMITED}，不限制宽度。
+     *
+     * @param tableWidth 目标总宽度
+     * @return Builder实例
+     * @throws IllegalArgumentException 当tableWidth既不是正数也不是 {@link Constant#UNLIMITED} 时抛出
+     */
+    public Builder withTableWidth(int tableWidth) {
+      Preconditions.checkArgument(
+          tableWidth > 0 || tableWidth == UNLIMITED, "Table width must be positive or UNLIMITED");
+      this.tableWidth = tableWidth;
+      return this;
+    }
+
+    /**
+     * 设置是否按终端的宽度收窄表格。 终端宽度在第一次使用时通过 jline 获取一次，之后不会跟随终端大小的变化，需要跟随时使用 {@link
+     * #withTerminalWidth(IntSupplier)}；没有连接终端或无法获取宽度时不收窄。 同时设置了 {@link #withTableWidth(int)}
+     * 时使用两者中较小的宽度。
+     *
+     * @param fitToTerminal 是否按终端的宽度收窄表格
+     * @return Builder实例
+     */
+    public Builder withFitToTerminal(boolean fitToTerminal) {
+      this.fitToTerminal = fitToTerminal;
+      return this;
+    }
+
+    /**
+     * 按调用方提供的终端宽度收窄表格，例如 {@code terminal::getWidth}。 每次生成布局时读取一次宽度，宽度变化后布局重新生成； 返回的宽度不是正数时不收窄。 设置后
+     * {@link #withFitToTerminal(boolean)} 不再生效。
+     *
+     * @param terminalWidth 终端宽度的来源
+     * @return Builder实例
+     */
+    public Builder withTerminalWidth(IntSupplier terminalWidth) {
+      Preconditions.checkNotNull(terminalWidth, "Terminal width cannot be null");
+      this.terminalWidth = terminalWidth;
+      return this;
+    }
+
     public Table build() {
       return new Table(this);
     }
   }
 
+  /**
+   * 根据JavaBean或记录列表生成表格。 记录按组件生成列，JavaBean按公共getter方法生成列，可以通过 {@link TableColumn} 设置列头、对齐方式、宽度和顺序。
+   *
+   * <p>属性访问器按类生成一次并缓存，读取属性时不使用反射。
+   *
+   * @param type 元素的类型
+   * @param beans 元素列表，不能包含null
+   * @param <T> 元素的类型
+   * @return 包含全部元素的表格
+   * @throws IllegalArgumentException 当参数为null、列表包含null或类型没有可读的属性时抛出
+   */
+  public static <T> Table fromBeans(Class<T> type, Iterable<? extends T> beans) {
+    return fromBeans(new Builder(), type, beans);
+  }
+
+  /**
+   * 根据记录列表生成表格。
+   *
+   * @param type 记录的类型
+   * @param records 记录列表，不能包含null
+   * @param <T> 记录的类型
+   * @return 包含全部记录的表格
+   * @throws IllegalArgumentException 当参数为null、列表包含null或type不是记录时抛出
+   * @see #fromBeans(Class, Iterable)
+   */
+  public static <T> Table fromRecords(Class<T> type, Iterable<? extends T> records) {
+    Preconditions.checkArgument(
+        type != null && BeanProperties.isRecord(type), "Type must be a record class");
+    return fromBeans(new Builder(), type, records);
+  }
+
+  /**
+   * 使用指定的表格配置，根据JavaBean或记录列表生成表格。 属性生成的列追加在配置中已有的列之后。
+   *
+   * @param builder 表格配置
+   * @param type 元素的类型
+   * @param beans 元素列表，不能包含null
+   * @param <T> 元素的类型
+   * @return 包含全部元素的表格
+   * @throws IllegalArgumentException 当参数为null、列表包含null或类型没有可读的属性时抛出
+   * @see #fromBeans(Class, Iterable)
+   */
+  public static <T> Table fromBeans(Builder builder, Class<T> type, Iterable<? extends T> beans) {
+    Preconditions.checkArgument(builder != null, "Builder cannot be null");
+    Preconditions.checkArgument(type != null, "Type cannot be null");
+    Preconditions.checkArgument(beans != null, "Beans cannot be null");
+    BeanProperties.BeanProperty[] properties =
+        BeanProperties.of(type).toArray(new BeanProperties.BeanProperty[0]);
+    Column[] columns =
+        Arrays.stream(properties)
+            .map(BeanProperties.BeanProperty::createColumn)
+            .toArray(Column[]::new);
+    Table table = builder.withColumns(columns).build();
+    // 行数受限的表格使用列的副本，因此数据写入表格中的列；预留的容量只作用于这些列，不修改调用方的配置
+    int offset = table.getColumnCount() - columns.length;
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = table.getColumn(offset + i);
+      if (beans instanceof Collection && builder.expectedRows == 0) {
+        columns[i].ensureCapacity(((Collection<?>) beans).size());
+      }
+    }
+    for (T bean : beans) {
+      Preconditions.checkArgument(bean != null, "Beans cannot contain null");
+      for (int i = 0; i < properties.length; i++) {
+        properties[i].append(bean, columns[i]);
+      }
+    }
+    return table;
+  }
+
   /**
    * 将消息输出到指定的输出流。
    *
@@ -202,18 +539,69 @@ public class Table {
 
   /** 输出表格到标准输出。 */
   public void printInfo() {
-    String stringFormat = getStringFormat();
-    output(stringFormat, System.out);
+    print(System.out);
   }
 
   /**
-   * 输出表格到指定输出流。
+   * 输出表格到指定输出流。 表格内容以UTF-8编码直接写入输出流，不会先生成完整的字符串。
    *
    * @param os 输出流
+   * @throws IllegalArgumentException 当os为null时抛出
+   * @throws UncheckedIOException 当写入输出流失败时抛出
    */
   public void print(OutputStream os) {
-    String stringFormat = getStringFormat();
-    output(stringFormat, os);
+    Preconditions.checkArgument(os != null, "OutputStream cannot be null");
+    boolean isSystemStream = (os == System.out || os == System.err);
+
+    Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+    try {
+      try {
+        print(writer, isTerminal(os));
+        writer.flush();
+      } finally {
+        if (!isSystemStream) {
+          writer.close();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write table to output stream", e);
+    }
+  }
+
+  /**
+   * 按照 {@link #print(OutputStream)} 的格式写入表格，末尾多写入一个空行，不刷新输出目标。
+   *
+   * @param out 输出目标
+   * @param terminal 输出目标是否是终端，决定 {@link StyleMode#AUTO} 是否输出样式
+   * @throws IOException 写入失败时抛出
+   */
+  void print(Appendable out, boolean terminal) throws IOException {
+    render(styled(layout(), terminal), out);
+    out.append(System.lineSeparator());
+  }
+
+  /** 以追加模式输出新增的数据行到标准输出。 */
+  public void printTail() {
+    printTail(System.out);
+  }
+
+  /**
+   * 以追加模式输出新增的数据行到指定输出流。 与 {@link #print(OutputStream)} 不同，该方法会被反复调用，因此不会关闭输出流。
+   *
+   * @param os 输出流
+   * @throws IllegalArgumentException 当os为null时抛出
+   * @throws UncheckedIOException 当写入输出流失败时抛出
+   * @see #renderTail(Appendable)
+   */
+  public void printTail(OutputStream os) {
+    Preconditions.checkArgument(os != null, "OutputStream cannot be null");
+    Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+    try {
+      renderTail(writer, isTerminal(os));
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write table to output stream", e);
+    }
   }
 
   /**
@@ -230,24 +618,108 @@ public class Table {
   public void addHeader(String... headers) {
     Preconditions.checkArgument(headers != null, "Headers cannot be null");
     for (String header : headers) {
-      Column column = new Column.Builder().withHeader(header).build();
-      columns.add(column);
+      columns.add(attach(new Column.Builder().withHeader(header).build()));
     }
   }
 
   public void addColumns(Column... columns) {
     Preconditions.checkArgument(columns != null, "Columns cannot be null");
-    this.columns.addAll(Arrays.asList(columns));
+    for (Column column : columns) {
+      this.columns.add(attach(column));
+    }
+  }
+
+  /**
+   * 准备加入表格的列，并按预计的行数预留存储。 设置了行数限制时表格使用列的副本，副本中已有的单元格也按限制处理， 调用方的列内容保持不变，但之后不能再向其添加单元格，数据需要通过表格添加。
+   *
+   * @param column 加入表格的列
+   * @return 表格实际使用的列
+   */
+  private Column attach(Column column) {
+    if (limit != UNLIMITED) {
+      column = column.limitedCopy(new RowSampler(limitMode, limit, limitSeed));
+    }
+    if (expectedRows > 0) {
+      column.ensureCapacity(expectedRows);
+    }
+    columnsByHeader = null;
+    return column;
+  }
+
+  /**
+   * 获取因行数限制而丢弃的行数。 各列按相同的顺序添加单元格时，丢弃的行数相同，否则取其中的最大值。
+   *
+   * @return 丢弃的行数
+   */
+  public long getDroppedRowCount() {
+    return columns.stream().mapToLong(Column::getDroppedRowCount).max().orElse(0L);
   }
 
+  /**
+   * 添加多行数据。
+   *
+   * @param data 行数据，每一行的长度必须与列数一致
+   * @throws IllegalArgumentException 当data为null或某一行的长度与列数不一致时抛出
+   */
   public void addData(String[][] data) {
-    Preconditions.checkArgument(
-        data.length == columns.size(), "Data size does not match number of columns");
+    Preconditions.checkArgument(data != null, "Data cannot be null");
     for (String[] row : data) {
-      for (int i = 0; i < row.length; i++) {
-        getColumn(i).addCell(row[i]);
+      addRow((Object[]) row);
+    }
+  }
+
+  /**
+   * 添加一行数据，各单元格按列的顺序排列。 行的长度在写入之前检查，长度错误时不会写入任何单元格。
+   *
+   * @param values 单元格内容，可以包含null
+   * @throws IllegalArgumentException 当行为null或长度与列数不一致时抛出
+   */
+  public void addRow(Object... values) {
+    Preconditions.checkArgument(
+        values != null && values.length == columns.size(),
+        "Row size does not match number of columns");
+    for (int i = 0; i < values.length; i++) {
+      getColumn(i).addValue(values[i]);
+    }
+  }
+
+  /**
+   * 依次添加多行数据。
+   *
+   * @param rows 行数据
+   * @throws IllegalArgumentException 当rows为null或某一行的长度与列数不一致时抛出
+   * @see #addRow(Object...)
+   */
+  public void addRows(Iterable<Object[]> rows) {
+    Preconditions.checkArgument(rows != null, "Rows cannot be null");
+    for (Object[] row : rows) {
+      addRow(row);
+    }
+  }
+
+  /**
+   * 创建按列名绑定列的行写入器。 列名在创建时解析一次，不区分大小写；不传列名时按表格中列的顺序绑定全部列。 写入器绑定的是创建时的列，之后加入表格的列在写入器的每一行中不会被写入。
+   *
+   * @param headers 按写入顺序排列的列名
+   * @return 行写入器
+   * @throws IllegalArgumentException 当列名不存在或重复时抛出
+   */
+  public RowWriter rowWriter(String... headers) {
+    Preconditions.checkArgument(headers != null, "Headers cannot be null");
+    if (headers.length == 0) {
+      return new RowWriter(columns.toArray(new Column[0]), new Column[0]);
+    }
+    Column[] bound = new Column[headers.length];
+    for (int i = 0; i < headers.length; i++) {
+      bound[i] = getColumn(headers[i]);
+      Preconditions.checkArgument(bound[i] != null, "Column %s does not exist", headers[i]);
+      for (int j = 0; j < i; j++) {
+        Preconditions.checkArgument(bound[j] != bound[i], "Column %s is bound twice", headers[i]);
       }
     }
+    List<Column> unbound = Lists.newArrayList(columns);
+    unbound.removeAll(Arrays.asList(bound));
+    return new RowWriter(bound, unbound.toArray(new Column[0]));
   }
 
   public void addData(String column, String data) {
@@ -263,17 +735,33 @@ public class Table {
     return ImmutableList.copyOf(titleLines);
   }
 
-  private Column getColumn(int index) {
+  /**
+   * 获取表格中的列数。
+   *
+   * @return 列数
+   */
+  int getColumnCount() {
+    return columns.size();
+  }
+
+  /**
+   * 获取表格实际使用的列。 设置了行数限制时是加入表格的列的副本，数据需要写入该列。
+   *
+   * @param index 列的索引
+   * @return 表格中的列
+   */
+  Column getColumn(int index) {
     return columns.get(index);
   }
 
   private Column getColumn(String name) {
-    for (Column column : columns) {
-      if (column.getHeader().equalsIgnoreCase(name)) {
-        return column;
+    if (columnsByHeader == null) {
+      columnsByHeader = Maps.newHashMapWithExpectedSize(columns.size());
+      for (Column column : columns) {
+        columnsByHeader.putIfAbsent(column.getHeader(), column);
       }
     }
-    return null;
+    return name == null ? null : columnsByHeader.get(name.toUpperCase(Locale.ENGLISH));
   }
 
   /**
@@ -283,63 +771,661 @@ public class Table {
    * @throws IllegalArgumentException 当表格配置无效时抛出
    */
   public String getStringFormat() {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    StringBuilder sb = new StringBuilder();
+    render(sb);
+    return sb.toString();
+  }
+
+  /**
+   * 将表格渲染到指定的 {@link Writer}，渲染完成后刷新该 Writer。
+   *
+   * @param writer 输出目标
+   * @throws IllegalArgumentException 当writer为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(Writer writer) {
+    render((Appendable) writer);
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to flush writer", e);
+    }
+  }
+
+  /**
+   * 将表格渲染到指定的 {@link Appendable}。 边框、表头、数据行和表尾逐行直接写入输出目标，不产生中间字符串。
+   *
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当out为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    render(layout(), out);
+  }
+
+  /**
+   * 按照指定的布局渲染表格。 该方法只读取布局，不会修改表格，对同一个布局重复调用会得到相同的输出。
+   *
+   * @param layout 由 {@link #layout()} 生成的布局
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当layout或out为null时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(TableLayout layout, Appendable out) {
+    Preconditions.checkArgument(layout != null, "Layout cannot be null");
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    layout = styled(layout, false);
+    List<Character> borders = borderStyle.getCharacters();
+    if (renderListener != null) {
+      out = new CountingAppendable(out);
+    }
+
+    try {
+      long start = phaseStart(RenderPhase.WRITE_HEADER);
+      writeHeaderBlock(out, borders, layout);
+      phaseEnd(RenderPhase.WRITE_HEADER, start);
+
+      start = phaseStart(RenderPhase.WRITE_DATA);
+      if (headerRepeatInterval > 0) {
+        writeRowRange(out, borders, layout, 0, layout.rowCount);
+      } else {
+        writeData(out, borderStyle, layout, System.lineSeparator(), overflowBehaviour);
+      }
+      phaseEnd(RenderPhase.WRITE_DATA, start);
+
+      start = phaseStart(RenderPhase.WRITE_FOOTER);
+      writeFooterBlock(out, borders, layout);
+      phaseEnd(RenderPhase.WRITE_FOOTER, start);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    }
+
+    if (renderListener != null) {
+      CountingAppendable counting = (CountingAppendable) out;
+      renderListener.onComplete(layout.rowCount, counting.getBytes(), counting.getPeakChunkBytes());
+    }
+  }
+
+  /**
+   * 使用一个或多个 {@link TableRenderer} 渲染表格，见 {@link #render(TableLayout, TableRenderer...)}。
+   *
+   * @param renderers 渲染器
+   * @throws IllegalArgumentException 当没有指定渲染器或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(TableRenderer... renderers) {
+    render(layout(), renderers);
+  }
+
+  /**
+   * 按照指定的布局，使用一个或多个 {@link TableRenderer} 渲染表格。 布局和每个单元格的内容、显示宽度只计算一次，
+   * 数据只遍历一遍，每读取一行就依次交给各个渲染器，因此同时输出多种格式的开销接近于只输出一种格式。
+   *
+   * <p>该方法总是顺序渲染，不使用并行渲染，也不通知 {@link RenderListener}。
+   *
+   * @param layout 由 {@link #layout()} 生成的布局
+   * @param renderers 渲染器，例如 {@link #asciiRenderer(Appendable)}、{@link MarkdownTableRenderer} 和
+   *     {@link HtmlTableRenderer}
+   * @throws IllegalArgumentException 当layout为null或没有指定渲染器时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(TableLayout layout, TableRenderer... renderers) {
+    Preconditions.checkArgument(layout != null, "Layout cannot be null");
+    Preconditions.checkArgument(
+        renderers != null && renderers.length > 0, "At least one renderer is required");
+    Column[] columns = layout.columns;
+    CharSequence[] cells = new CharSequence[columns.length];
+    int[] widths = new int[columns.length];
+    try {
+      for (TableRenderer renderer : renderers) {
+        renderer.writeHeader(layout);
+      }
+      for (int i = 0; i < layout.rowCount; i++) {
+        for (int j = 0; j < columns.length; j++) {
+          cells[j] = columns[j].getCellSequence(i);
+          widths[j] = columns[j].getCellWidth(i);
+        }
+        for (TableRenderer renderer : renderers) {
+          renderer.writeRow(layout, i, cells, widths);
+        }
+      }
+      for (TableRenderer renderer : renderers) {
+        renderer.writeFooter(layout);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    }
+  }
+
+  /**
+   * 创建按当前表格的边框样式、溢出处理和重复表头设置输出文本表格的渲染器，与 {@link #render(Appendable)} 的输出相同。
+   *
+   * @param out 输出目标
+   * @return 渲染器
+   * @throws IllegalArgumentException 当out为null时抛出
+   */
+  public TableRenderer asciiRenderer(Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    return new AsciiRenderer(out);
+  }
+
+  /**
+   * 根据 {@link StyleMode} 决定本次渲染是否输出样式。 输出样式时编译各列的样式，不输出时不会编译，渲染过程中也不会对条件样式求值。
+   *
+   * @param layout 布局
+   * @param terminal 输出目标是否是终端
+   * @return 本次渲染使用的布局
+   */
+  private TableLayout styled(TableLayout layout, boolean terminal) {
+    if (layout.styles != null
+        || styleMode == StyleMode.NEVER
+        || styleMode == StyleMode.AUTO && !terminal) {
+      return layout;
+    }
+    return layout.withStyles();
+  }
+
+  /** 判断输出流是否是连接到终端的标准输出。 */
+  static boolean isTerminal(OutputStream os) {
+    return os == System.out && System.console() != null;
+  }
+
+  /**
+   * 渲染指定的一页。 每一页都包含标题、表头和表尾，列宽使用整个表格的布局，因此各页的列宽保持一致。
+   * 布局生成之后，渲染一页的开销只与页的大小有关，与表格的总行数无关。启用行号时，行号为整个表格中的行号。
+   *
+   * @param pageIndex 页码，从0开始
+   * @param pageSize 每页的数据行数
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当参数无效、页码超出范围或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void renderPage(int pageIndex, int pageSize, Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    TableLayout layout = styled(layout(), false);
+    int pageCount = getPageCount(layout, pageSize);
+    Preconditions.checkArgument(
+        pageIndex >= 0 && pageIndex < pageCount,
+        "Page index %s out of range [0, %s)",
+        pageIndex,
+        pageCount);
     List<Character> borders = borderStyle.getCharacters();
 
+    int from = pageIndex * pageSize;
+    int to = Math.min(layout.rowCount, from + pageSize);
+    try {
+      writeHeaderBlock(out, borders, layout);
+      writeRowRange(out, borders, layout, from, to);
+      writeFooterBlock(out, borders, layout);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    }
+  }
+
+  /**
+   * 渲染视口中可见的部分，供 {@link TablePager} 使用。 只输出上边框、表头、表头分隔线和指定范围内的数据行，不输出标题、行分隔线和表尾， 到达最后一行时再输出下边框。各行使用
+   * {@code \n} 分隔。
+   *
+   * <p>{@link TablePager} 的输出目标总是终端，因此除非设置了 {@link StyleMode#NEVER}，都会输出样式。
+   *
+   * @param layout 布局，通常是 {@link TableLayout#slice(int, int)} 截取的部分列
+   * @param from 起始行（包含）
+   * @param to 结束行（不包含）
+   * @param out 输出目标
+   * @throws IOException 写入失败时抛出
+   */
+  void renderViewport(TableLayout layout, int from, int to, Appendable out) throws IOException {
+    layout = styled(layout, true);
+    List<Character> borders = borderStyle.getCharacters();
+    writeUpperBorder(out, borders, "\n", layout.columnWidths, true);
+    writeHeader(out, borders, "\n", layout, overflowBehaviour);
+    writeHeaderBorder(out, borders, "\n", layout.columnWidths);
+    writeDataRows(out, borderStyle, layout, from, to, from, "\n", overflowBehaviour, true);
+    if (to >= layout.rowCount) {
+      writeBottomBorder(out, borders, "\n", layout.columnWidths);
+    }
+  }
+
+  /**
+   * 获取按指定大小分页后的总页数，不会渲染任何内容。 没有数据的表格也有一页，其中只包含一个空行。
+   *
+   * @param pageSize 每页的数据行数
+   * @return 总页数
+   * @throws IllegalArgumentException 当pageSize不是正数或表格配置无效时抛出
+   */
+  public int getPageCount(int pageSize) {
+    return getPageCount(layout(), pageSize);
+  }
+
+  private static int getPageCount(TableLayout layout, int pageSize) {
+    Preconditions.checkArgument(pageSize > 0, "Page size must be positive");
+    return (layout.rowCount + pageSize - 1) / pageSize;
+  }
+
+  /**
+   * 开始一次按UTF-8编码的渲染，返回的对象记录写到了哪里，可以分多次写入 {@link ByteBuffer}。 布局在调用时确定，
+   * 之后添加的数据不会出现在这次渲染中；不再需要时直接丢弃即可中止渲染。
+   *
+   * @return 新的渲染进度
+   * @throws IllegalArgumentException 当表格配置无效时抛出
+   * @see EncodedRendering#writeTo(ByteBuffer)
+   */
+  public EncodedRendering encodedRendering() {
+    return new EncodedRendering(styled(layout(), false));
+  }
+
+  /**
+   * 将表格按UTF-8编码写入指定的 {@link WritableByteChannel}。 数据行按批编码到堆内存缓冲区后写入通道，不会生成完整的字符串。
+   *
+   * <p>该方法在全部内容写完后返回，对于非阻塞通道，请使用 {@link #encodedRendering()} 自行控制写入。
+   *
+   * @param channel 输出通道
+   * @throws IllegalArgumentException 当channel为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void render(WritableByteChannel channel) {
+    Preconditions.checkArgument(channel != null, "WritableByteChannel cannot be null");
+    try {
+      new EncodedRendering(styled(layout(), false)).writeTo(channel);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    }
+  }
+
+  /**
+   * 将可见列的数据按 RFC 4180 导出为 CSV，按UTF-8编码写入输出流。 第一行为表头，行之间使用 {@code \r\n} 分隔。
+   *
+   * <p>导出直接从列的存储中读取单元格，不生成布局，不计算显示宽度，也不包含标题、表尾、行号和省略号行。写入完成后刷新输出流，但不会关闭。
+   *
+   * @param os 输出流
+   * @throws IllegalArgumentException 当os为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void exportCsv(OutputStream os) {
+    TableExport export = newExport(os);
+    try {
+      export.writeCsv();
+      os.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to export table", e);
+    }
+  }
+
+  /**
+   * 将可见列的数据导出为 TSV，按UTF-8编码写入输出流。 字段中的制表符、换行符、回车符和反斜杠写为 {@code \t}、{@code \n}、{@code \r} 和 {@code
+   * \\}，其他行为与 {@link #exportCsv(OutputStream)} 相同。
+   *
+   * @param os 输出流
+   * @throws IllegalArgumentException 当os为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void exportTsv(OutputStream os) {
+    TableExport export = newExport(os);
+    try {
+      export.writeTsv();
+      os.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to export table", e);
+    }
+  }
+
+  /**
+   * 将可见列的数据导出为 JSON Lines，按UTF-8编码写入输出流。 每一行数据为一个以表头为键的 JSON 对象，数值列中的数值输出为 JSON 数值， 其他行为与 {@link
+   * #exportCsv(OutputStream)} 相同。
+   *
+   * @param os 输出流
+   * @throws IllegalArgumentException 当os为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void exportJsonLines(OutputStream os) {
+    TableExport export = newExport(os);
+    try {
+      export.writeJsonLines();
+      os.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to export table", e);
+    }
+  }
+
+  private TableExport newExport(OutputStream os) {
+    Preconditions.checkArgument(os != null, "OutputStream cannot be null");
+    checkColumns();
+    Column[] visibleColumns = columns.stream().filter(Column::isVisible).toArray(Column[]::new);
+    return new TableExport(visibleColumns, columns.get(0).getCellCount(), os);
+  }
+
+  /**
+   * 生成表格的布局，包括行数限制、行号和标题宽度的处理。 布局会被缓存，在表格的列、数据或标题发生变化之前，重复调用直接返回缓存的布局， 因此重复输出同一个表格只需要执行写入。
+   *
+   * <p>生成布局不会修改表格：行数限制和行号作用于列的副本，标题带来的额外宽度只记录在布局中。
+   *
+   * @return 表格的布局
+   * @throws IllegalArgumentException 当表格配置无效时抛出
+   */
+  public TableLayout layout() {
+    int targetWidth = resolveTableWidth();
+    if (layout != null && layout.isValidFor(columns, titleLines, targetWidth)) {
+      return layout;
+    }
+
+    long start = phaseStart(RenderPhase.CHECK_COLUMNS);
     checkColumns();
+    phaseEnd(RenderPhase.CHECK_COLUMNS, start);
 
-    // 1. 处理 limit
+    // 1. 处理 limit，行数限制已在添加单元格时执行，这里只添加省略号行
+    List<Column> columns = this.columns;
     if (getLimit() != UNLIMITED) {
-      columns =
-          columns.stream().map(c -> c.getLimitedColumn(getLimit())).collect(Collectors.toList());
+      start = phaseStart(RenderPhase.APPLY_LIMIT);
+      columns = withEllipsisRow(columns);
+      phaseEnd(RenderPhase.APPLY_LIMIT, start);
     }
 
     // 2. 计算 rowCount
-    rowCount = columns.get(0).getCellCount();
+    int rowCount = columns.get(0).getCellCount();
     if (rowCount == 0) {
-      columns.stream().forEach(c -> c.addCell(""));
+      columns = columns.stream().map(Column::withEmptyCell).collect(Collectors.toList());
       rowCount = 1;
     }
 
     // 3. 处理 row numbers
     if (isRowNumbersEnabled()) {
+      start = phaseStart(RenderPhase.ADD_ROW_NUMBERS);
       Column rowNumberColumn =
           new Column.Builder().withHeader("").withDataAlign(HorizontalAlign.CENTER).build();
       for (int i = 0; i < rowCount; i++) {
         rowNumberColumn.addCell(String.valueOf(i + 1));
       }
-      this.columns.add(0, rowNumberColumn);
+      columns = Lists.newArrayList(columns);
+      columns.add(0, rowNumberColumn);
+      phaseEnd(RenderPhase.ADD_ROW_NUMBERS, start);
     }
 
     // 4. 计算 titleWidth
-    if (!titleLines.isEmpty()) {
-      processColumnsWidth();
+    Column[] visibleColumns = columns.stream().filter(Column::isVisible).toArray(Column[]::new);
+    int[] columnWidths = Arrays.stream(visibleColumns).mapToInt(Column::getMaxWidth).toArray();
+    if (!titleLines.isEmpty() || targetWidth != UNLIMITED) {
+      start = phaseStart(RenderPhase.PROCESS_COLUMNS_WIDTH);
+      if (!titleLines.isEmpty()) {
+        distributeTitleWidth(columnWidths);
+      }
+      if (targetWidth != UNLIMITED) {
+        columnWidths = fitToWidth(visibleColumns, columnWidths, targetWidth);
+      }
+      phaseEnd(RenderPhase.PROCESS_COLUMNS_WIDTH, start);
+    }
+
+    layout =
+        new TableLayout(
+            visibleColumns,
+            columnWidths,
+            rowCount,
+            titleLines,
+            this.columns,
+            targetWidth,
+            overflowBehaviour == OverflowBehaviour.WRAP);
+    return layout;
+  }
+
+  /**
+   * 有行被丢弃时，在列的副本中添加省略号行，第一个可见列中显示丢弃的行数，例如 {@code … +42}。 {@link LimitMode#TAIL}
+   * 丢弃的是最早的行，省略号行位于开头，其他模式位于末尾。 行数受限的列在之后添加单元格时可能移除已保留的单元格，因此布局总是使用列的副本。
+   *
+   * @param columns 表格的列
+   * @return 列的副本，有行被丢弃时添加了省略号行
+   */
+  private List<Column> withEllipsisRow(List<Column> columns) {
+    long dropped = getDroppedRowCount();
+    if (dropped == 0) {
+      return columns.stream().map(Column::copy).collect(Collectors.toList());
+    }
+    List<Column> result = Lists.newArrayListWithCapacity(columns.size());
+    boolean labelled = false;
+    for (Column column : columns) {
+      boolean label = !labelled && column.isVisible();
+      String cell = label ? ELLIPSIS + " +" + dropped : String.valueOf(ELLIPSIS);
+      result.add(
+          limitMode == LimitMode.TAIL ? column.withLeadingCell(cell) : column.withExtraCell(cell));
+      labelled |= label;
+    }
+    return result;
+  }
+
+  /**
+   * 通知监听器阶段开始。
+   *
+   * @return 阶段开始的时间，未注册监听器时返回0
+   */
+  private long phaseStart(RenderPhase phase) {
+    if (renderListener == null) {
+      return 0L;
+    }
+    renderListener.onPhaseStart(phase);
+    return System.nanoTime();
+  }
+
+  /** 通知监听器阶段结束。 */
+  private void phaseEnd(RenderPhase phase, long startNanos) {
+    if (renderListener != null) {
+      renderListener.onPhaseEnd(phase, System.nanoTime() - startNanos);
+    }
+  }
+
+  /** 获取已输出的UTF-8字节数，输出目标没有统计字节数时返回0。 */
+  private static long emittedBytes(Appendable out) {
+    return out instanceof CountingAppendable ? ((CountingAppendable) out).getBytes() : 0L;
+  }
+
+  /**
+   * 以追加模式渲染表格。 第一次调用时输出上边框、标题和表头，之后每次调用只输出上次调用以来新增的数据行，已输出的内容不会重复输出。
+   *
+   * <p>列宽在第一次调用时确定。当新增单元格超出已输出的列宽时，按照 {@link TailWidthPolicy} 处理：重新输出表头，或裁剪到已有列宽。 调用 {@link
+   * #finishTail(Appendable)} 输出表尾和下边框并结束追加模式。追加模式不支持行号和行数限制。
+   *
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当out为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void renderTail(Appendable out) {
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    renderTail(out, false);
+  }
+
+  private void renderTail(Appendable out, boolean terminal) {
+    Preconditions.checkArgument(
+        !isRowNumbersEnabled(), "Row numbers are not supported in tail mode");
+    Preconditions.checkArgument(getLimit() == UNLIMITED, "Limit is not supported in tail mode");
+    checkColumns();
+    List<Character> borders = borderStyle.getCharacters();
+
+    Column[] columns = this.columns.stream().filter(Column::isVisible).toArray(Column[]::new);
+    int count = columns.length == 0 ? 0 : columns[0].getCellCount();
+    int[] columnWidths = resolveColumnWidths(columns);
+
+    try {
+      Preconditions.checkArgument(
+          tailWidths == null || tailWidths.length == columns.length,
+          "Columns cannot be changed in tail mode");
+      boolean headerWritten = false;
+      if (tailWidths == null) {
+        tailWidths = columnWidths;
+        writeTailHeader(out, borders, styled(tailLayout(columns, count), terminal));
+        tailRowCount = 0;
+        headerWritten = true;
+      } else if (tailWidthPolicy == TailWidthPolicy.REPRINT_HEADER
+          && count > tailRowCount
+          && isWidened(columnWidths)) {
+        writeBottomBorder(out, borders, System.lineSeparator(), tailWidths);
+        tailWidths = columnWidths;
+        writeTailHeader(out, borders, styled(tailLayout(columns, count), terminal));
+        headerWritten = true;
+      }
+
+      if (count > tailRowCount) {
+        if (!headerWritten && borderStyle.isRowBoundariesEnabled()) {
+          writeRowSeparator(out, borderStyle, System.lineSeparator(), tailWidths);
+        }
+        writeDataRows(
+            out,
+            borderStyle,
+            styled(tailLayout(columns, count), terminal),
+            tailRowCount,
+            count,
+            count,
+            System.lineSeparator(),
+            overflowBehaviour,
+            true);
+        tailRowCount = count;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
     }
+  }
+
+  /**
+   * 结束追加模式。 先输出尚未输出的数据行，再输出表尾和下边框。结束后再次调用 {@link #renderTail(Appendable)} 会重新开始一个新的表格。
+   *
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当out为null或表格配置无效时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void finishTail(Appendable out) {
+    renderTail(out);
+    List<Character> borders = borderStyle.getCharacters();
 
     Column[] columns = this.columns.stream().filter(Column::isVisible).toArray(Column[]::new);
-    header = Arrays.stream(columns).map(Column::getHeader).toArray(String[]::new);
-    footer = Arrays.stream(columns).map(Column::getFooter).toArray(String[]::new);
+    TableLayout layout = styled(tailLayout(columns, tailRowCount), false);
+
+    try {
+      if (!LineUtil.isAllEmpty(layout.footer)) {
+        writeRowSeparator(out, borderStyle, System.lineSeparator(), tailWidths);
+        writeFooter(out, borders, layout, overflowBehaviour);
+      }
+      writeBottomBorder(out, borders, System.lineSeparator(), tailWidths);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    } finally {
+      tailWidths = null;
+      tailRowCount = -1;
+    }
+  }
+
+  /** 使用追加模式锁定的列宽生成布局。 */
+  private TableLayout tailLayout(Column[] columns, int rowCount) {
+    return new TableLayout(
+        columns,
+        tailWidths,
+        rowCount,
+        titleLines,
+        this.columns,
+        UNLIMITED,
+        overflowBehaviour == OverflowBehaviour.WRAP);
+  }
+
+  /** 输出上边框、标题和表头。 */
+  private void writeTailHeader(Appendable out, List<Character> borders, TableLayout layout)
+      throws IOException {
+    writeUpperBorder(out, borders, System.lineSeparator(), tailWidths, titleLines.isEmpty());
+    writeTitleLines(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+    writeHeader(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+    writeHeaderBorder(out, borders, System.lineSeparator(), tailWidths);
+  }
+
+  /** 判断是否有列的当前宽度超过了追加模式已输出的列宽。 */
+  private boolean isWidened(int[] columnWidths) {
+    for (int i = 0; i < columnWidths.length; i++) {
+      if (columnWidths[i] > tailWidths[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 以流式方式渲染数据行。 行数据不会被加入到列中，每一行在写出后即被丢弃，因此内存占用与行数无关。
+   *
+   * <p>由于无法预先扫描全部数据，所有可见列都必须通过 {@link Column.Builder#withMaxWidth(int)} 预先声明宽度， 超出宽度的单元格按照 {@link
+   * OverflowBehaviour} 处理。流式模式不支持行号，行数限制只支持 {@link LimitMode#HEAD}，省略号行中不显示丢弃的行数。
+   *
+   * @param rows 行数据迭代器，每个数组的长度必须与列数一致
+   * @param out 输出目标
+   * @throws IllegalArgumentException 当参数为null、列未声明宽度或行长度与列数不一致时抛出
+   * @throws UncheckedIOException 当写入失败时抛出
+   */
+  public void renderRows(Iterator<String[]> rows, Appendable out) {
+    Preconditions.checkArgument(rows != null, "Rows cannot be null");
+    Preconditions.checkArgument(out != null, "Appendable cannot be null");
+    Preconditions.checkArgument(!columns.isEmpty(), "No columns added");
+    Preconditions.checkArgument(
+        !isRowNumbersEnabled(), "Row numbers are not supported when rendering rows as a stream");
+    Preconditions.checkArgument(
+        limitMode == LimitMode.HEAD,
+        "Only HEAD limit mode is supported when rendering rows as a stream");
+    for (Column column : columns) {
+      Preconditions.checkArgument(
+          !column.isVisible() || column.isCustomerWidth(),
+          "Column "
+              + column.getHeader()
+              + " must declare its max width to be rendered as a stream");
+    }
+    List<Character> borders = borderStyle.getCharacters();
 
-    try (OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8)) {
-      writeUpperBorder(osw, borders, System.lineSeparator(), columns, titleLines.isEmpty());
-      writeTitleLines(osw, borders, System.lineSeparator(), columns, overflowBehaviour);
+    int[] visibleIndexes =
+        IntStream.range(0, this.columns.size())
+            .filter(i -> this.columns.get(i).isVisible())
+            .toArray();
+    Column[] columns =
+        Arrays.stream(visibleIndexes).mapToObj(this.columns::get).toArray(Column[]::new);
+    int[] columnWidths = resolveColumnWidths(columns);
+    // 流式渲染的行数未知，布局中的行数不会被使用
+    TableLayout layout =
+        new TableLayout(
+            columns,
+            columnWidths,
+            0,
+            titleLines,
+            this.columns,
+            UNLIMITED,
+            overflowBehaviour == OverflowBehaviour.WRAP);
+    layout = styled(layout, false);
 
-      writeHeader(osw, borders, System.lineSeparator(), columns, overflowBehaviour);
-      writeHeaderBorder(osw, borders, System.lineSeparator(), columns);
-      if (rowCount > 0) {
-        writeData(osw, borderStyle, columns, System.lineSeparator(), overflowBehaviour);
+    try {
+      writeUpperBorder(out, borders, System.lineSeparator(), columnWidths, titleLines.isEmpty());
+      writeTitleLines(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+
+      writeHeader(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+      writeHeaderBorder(out, borders, System.lineSeparator(), columnWidths);
+      if (out instanceof Flushable) {
+        ((Flushable) out).flush();
       }
+      writeStreamData(out, rows, visibleIndexes, layout, System.lineSeparator());
 
-      if (!LineUtil.isAllEmpty(footer)) {
-        writeRowSeparator(osw, borderStyle, System.lineSeparator(), columns);
-        writeFooter(osw, borders, columns, overflowBehaviour);
+      if (!LineUtil.isAllEmpty(layout.footer)) {
+        writeRowSeparator(out, borderStyle, System.lineSeparator(), columnWidths);
+        writeFooter(out, borders, layout, overflowBehaviour);
       }
 
-      writeBottomBorder(osw, borders, System.lineSeparator(), columns);
+      writeBottomBorder(out, borders, System.lineSeparator(), columnWidths);
+      if (out instanceof Flushable) {
+        ((Flushable) out).flush();
+      }
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      throw new UncheckedIOException("Failed to render table", e);
     }
-    return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * 以流式方式渲染数据行。 单元格通过 {@link String#valueOf(Object)} 转换为字符串。
+   *
+   * @param rows 行数据流
+   * @param out 输出目标
+   * @see #renderRows(Iterator, Appendable)
+   */
+  public void renderRows(Stream<Object[]> rows, Appendable out) {
+    Preconditions.checkArgument(rows != null, "Rows cannot be null");
+    renderRows(
+        rows.map(row -> Arrays.stream(row).map(String::valueOf).toArray(String[]::new)).iterator(),
+        out);
   }
 
   private void checkColumns() {
@@ -352,13 +1438,71 @@ public class Table {
     }
   }
 
+  /** 写入上边框、标题、表头和表头分隔线。 */
+  private void writeHeaderBlock(Appendable out, List<Character> borders, TableLayout layout)
+      throws IOException {
+    writeUpperBorder(
+        out, borders, System.lineSeparator(), layout.columnWidths, layout.titleLines.isEmpty());
+    writeTitleLines(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+    writeHeader(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+    writeHeaderBorder(out, borders, System.lineSeparator(), layout.columnWidths);
+  }
+
+  /** 写入表尾和下边框。 */
+  private void writeFooterBlock(Appendable out, List<Character> borders, TableLayout layout)
+      throws IOException {
+    if (!LineUtil.isAllEmpty(layout.footer)) {
+      writeRowSeparator(out, borderStyle, System.lineSeparator(), layout.columnWidths);
+      writeFooter(out, borders, layout, overflowBehaviour);
+    }
+    writeBottomBorder(out, borders, System.lineSeparator(), layout.columnWidths);
+  }
+
+  /**
+   * 顺序写入指定范围内的数据行，设置了重复表头时，从起始行开始每隔固定行数重复输出一次表头。
+   *
+   * @param from 起始行（包含）
+   * @param to 结束行（不包含）
+   * @throws IOException 写入失败时抛出
+   */
+  private void writeRowRange(
+      Appendable out, List<Character> borders, TableLayout layout, int from, int to)
+      throws IOException {
+    int interval = headerRepeatInterval > 0 ? headerRepeatInterval : to - from;
+    for (int start = from; start < to; start += interval) {
+      if (start > from) {
+        writeRepeatedHeader(out, borders, layout);
+      }
+      int end = Math.min(to, start + interval);
+      writeDataRows(
+          out,
+          borderStyle,
+          layout,
+          start,
+          end,
+          end,
+          System.lineSeparator(),
+          overflowBehaviour,
+          true);
+    }
+  }
+
+  /** 在数据行之间重复输出表头。 */
+  private void writeRepeatedHeader(Appendable out, List<Character> borders, TableLayout layout)
+      throws IOException {
+    writeHeaderBorder(out, borders, System.lineSeparator(), layout.columnWidths);
+    writeHeader(out, borders, System.lineSeparator(), layout, overflowBehaviour);
+    writeHeaderBorder(out, borders, System.lineSeparator(), layout.columnWidths);
+  }
+
   private void writeTitleLines(
-      OutputStreamWriter writer,
+      Appendable writer,
       List<Character> borders,
       String lineSeparator,
-      Column[] columns,
+      TableLayout layout,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
+    List<String> titleLines = layout.titleLines;
 
     for (int i = 0; i < titleLines.size(); i++) {
       writeTitleLine(
@@ -366,77 +1510,150 @@ public class Table {
           titleLines.get(i),
           borders.get(DATA_LINE_LEFT_IDX),
           borders.get(DATA_LINE_RIGHT_IDX),
+          layout.titleWidth,
           lineSeparator,
           overflowBehaviour);
 
-      if (i == titleLines.size() - 1) {
-        writeTitleBottomBorder(writer, borderStyle, System.lineSeparator(), columns);
-      } else {
-        writeTitleRowSeparator(writer, borderStyle, System.lineSeparator(), columns);
+      if (i == titleLines.size() - 1) {
+        writeTitleBottomBorder(writer, borderStyle, System.lineSeparator(), layout.columnWidths);
+      } else {
+        writeTitleRowSeparator(writer, borderStyle, System.lineSeparator(), layout.columnWidths);
+      }
+    }
+  }
+
+  /** 获取列的当前宽度，有标题时按照标题宽度加宽。 */
+  private int[] resolveColumnWidths(Column[] columns) {
+    int[] columnWidths = Arrays.stream(columns).mapToInt(Column::getMaxWidth).toArray();
+    if (!titleLines.isEmpty()) {
+      distributeTitleWidth(columnWidths);
+    }
+    int targetWidth = resolveTableWidth();
+    return targetWidth == UNLIMITED ? columnWidths : fitToWidth(columns, columnWidths, targetWidth);
+  }
+
+  /**
+   * 获取本次布局使用的目标总宽度。
+   *
+   * @return 目标总宽度，不限制时返回 {@link Constant#UNLIMITED}
+   */
+  private int resolveTableWidth() {
+    int width = terminalWidth == null ? 0 : terminalWidth.getAsInt();
+    if (width <= 0) {
+      return tableWidth;
+    }
+    return tableWidth == UNLIMITED ? width : Math.min(tableWidth, width);
+  }
+
+  /**
+   * 启动时的终端宽度。 jline 获取终端大小时可能需要启动 stty 进程，因此只在第一次使用时创建一次终端，读取宽度后立即关闭， 不注册信号处理器，以免与调用方的终端（例如 {@link
+   * TablePager}）冲突。
+   */
+  private static final class TerminalWidth {
+    private static final int WIDTH = detect();
+
+    private TerminalWidth() {}
+
+    /** 获取终端的宽度，没有连接终端或无法获取时返回0。 */
+    static int get() {
+      return WIDTH;
+    }
+
+    private static int detect() {
+      if (System.console() == null) {
+        return 0;
+      }
+      try (Terminal terminal = TerminalBuilder.builder().system(true).dumb(true).build()) {
+        return terminal.getWidth();
+      } catch (IOException e) {
+        return 0;
       }
     }
   }
 
-  private void processColumnsWidth() {
-    List<Column> visibleColumns =
-        columns.stream().filter(Column::isVisible).collect(Collectors.toList());
+  /**
+   * 收窄列宽，使表格的总宽度不超过目标宽度，见 {@link WidthSolver}。 边框和内边距占用的宽度按当前边框样式的数据行计算。
+   *
+   * @param columns 可见列
+   * @param columnWidths 列宽
+   * @param targetWidth 目标总宽度
+   * @return 收窄后的列宽
+   */
+  private int[] fitToWidth(Column[] columns, int[] columnWidths, int targetWidth) {
+    List<Character> borders = borderStyle.getCharacters();
+    int decoration = columns.length * 2 * PADDING;
+    decoration += borders.get(DATA_LINE_LEFT_IDX) == null ? 0 : 1;
+    decoration += borders.get(DATA_LINE_RIGHT_IDX) == null ? 0 : 1;
+    if (borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX) != null) {
+      decoration += Math.max(0, columns.length - 1);
+    }
+    int[] minWidths = Arrays.stream(columns).mapToInt(Column::getMinWidth).toArray();
+    int[] weights = Arrays.stream(columns).mapToInt(Column::getWeight).toArray();
+    return WidthSolver.solve(columnWidths, minWidths, weights, targetWidth - decoration);
+  }
 
-    int totalPaddingWidth = (visibleColumns.size() - 1) * (1 + 2 * PADDING);
-    int totalColumnsWidth = visibleColumns.stream().mapToInt(Column::getMaxWidth).sum();
+  /** 当标题比所有列的总宽度更宽时，将多出的宽度分配到各列。 */
+  private void distributeTitleWidth(int[] columnWidths) {
+    int totalPaddingWidth = (columnWidths.length - 1) * (1 + 2 * PADDING);
+    int totalColumnsWidth = Arrays.stream(columnWidths).sum();
 
     int currentTotalWidth = totalPaddingWidth + totalColumnsWidth;
     int maxTitleWidth = titleLines.stream().mapToInt(LineUtil::getDisplayWidth).max().orElse(0);
 
-    titleWidth = Math.max(maxTitleWidth, currentTotalWidth);
-
     if (maxTitleWidth > currentTotalWidth) {
-      distributeExtraWidth(visibleColumns, maxTitleWidth - currentTotalWidth);
+      distributeExtraWidth(columnWidths, maxTitleWidth - currentTotalWidth);
     }
   }
 
-  private void distributeExtraWidth(List<Column> columns, int extraWidth) {
-    int columnCount = columns.size();
+  private static void distributeExtraWidth(int[] columnWidths, int extraWidth) {
+    int columnCount = columnWidths.length;
     if (columnCount == 0) return;
 
     int widthPerColumn = extraWidth / columnCount;
     int allocatedWidth = 0;
 
     for (int i = 0; i < columnCount - 1; i++) {
-      Column column = columns.get(i);
-      column.setMaxWidth(column.getMaxWidth() + widthPerColumn);
+      columnWidths[i] += widthPerColumn;
       allocatedWidth += widthPerColumn;
     }
 
-    Column lastColumn = columns.get(columnCount - 1);
     int remainingWidth = extraWidth - allocatedWidth;
-    lastColumn.setMaxWidth(lastColumn.getMaxWidth() + remainingWidth);
+    columnWidths[columnCount - 1] += remainingWidth;
   }
 
-  private void writeTitleLine(
-      OutputStreamWriter osw,
+  private static void writeTitleLine(
+      Appendable out,
       String header,
       Character left,
       Character right,
+      int titleWidth,
       String lineSeparator,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
     if (left != null) {
-      osw.write(left);
+      out.append(left);
     }
 
-    writeJustified(osw, header, HorizontalAlign.CENTER, titleWidth, PADDING, overflowBehaviour);
+    writeJustified(
+        out,
+        header,
+        LineUtil.getDisplayWidth(header),
+        HorizontalAlign.CENTER,
+        titleWidth,
+        PADDING,
+        overflowBehaviour);
 
     if (right != null) {
-      osw.write(right);
+      out.append(right);
     }
 
     if (lineSeparator != null) {
-      osw.write(lineSeparator);
+      out.append(lineSeparator);
     }
   }
 
   private void writeHeaderBorder(
-      OutputStreamWriter writer, List<Character> borders, String lineSeparator, Column[] columns)
+      Appendable writer, List<Character> borders, String lineSeparator, int[] columnWidths)
       throws IOException {
     writeHorizontalLine(
         writer,
@@ -445,44 +1662,384 @@ public class Table {
         borders.get(HEADER_BOTTOM_BORDER_COLUMN_SEPARATOR_IDX),
         borders.get(HEADER_BOTTOM_BORDER_RIGHT_IDX),
         lineSeparator,
-        columns);
+        columnWidths);
   }
 
   private void writeData(
-      OutputStreamWriter writer,
+      Appendable writer,
+      BorderStyle borderStyle,
+      TableLayout layout,
+      String lineSeparator,
+      OverflowBehaviour overflowBehaviour)
+      throws IOException {
+    int rowCount = layout.rowCount;
+    if (parallelRenderingEnabled && rowCount >= parallelThreshold) {
+      writeDataInParallel(writer, borderStyle, layout, lineSeparator, overflowBehaviour);
+    } else if (renderListener == null) {
+      writeDataRows(
+          writer,
+          borderStyle,
+          layout,
+          0,
+          rowCount,
+          rowCount,
+          lineSeparator,
+          overflowBehaviour,
+          true);
+    } else {
+      for (int from = 0; from < rowCount; from += PROGRESS_INTERVAL_ROWS) {
+        int to = Math.min(rowCount, from + PROGRESS_INTERVAL_ROWS);
+        writeDataRows(
+            writer,
+            borderStyle,
+            layout,
+            from,
+            to,
+            rowCount,
+            lineSeparator,
+            overflowBehaviour,
+            true);
+        renderListener.onProgress(to, rowCount, emittedBytes(writer));
+      }
+    }
+  }
+
+  /**
+   * 将数据行分块后在线程池中并行渲染到各自的缓冲区，再按顺序写入输出目标。 同时处于渲染中的分块数量有限，避免一次性缓存整个表格。
+   *
+   * @throws IOException 写入失败时抛出
+   */
+  private void writeDataInParallel(
+      Appendable writer,
       BorderStyle borderStyle,
-      Column[] columns,
+      TableLayout layout,
       String lineSeparator,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
+    int rowCount = layout.rowCount;
+    int parallelism = forkJoinPool.getParallelism();
+    int chunkRows = Math.max(MIN_CHUNK_ROWS, rowCount / (parallelism * 4));
+    int chunkCount = (rowCount + chunkRows - 1) / chunkRows;
+    int window = parallelism * 2;
+
+    Deque<ForkJoinTask<StringBuilder>> pending = new ArrayDeque<>();
+    int submitted = 0;
+    for (int written = 0; written < chunkCount; written++) {
+      while (submitted < chunkCount && submitted < written + window) {
+        int from = submitted * chunkRows;
+        int to = Math.min(rowCount, from + chunkRows);
+        pending.addLast(
+            forkJoinPool.submit(
+                () -> {
+                  StringBuilder chunk = new StringBuilder();
+                  writeDataRows(
+                      chunk,
+                      borderStyle,
+                      layout,
+                      from,
+                      to,
+                      rowCount,
+                      lineSeparator,
+                      overflowBehaviour,
+                      false);
+                  return chunk;
+                }));
+        submitted++;
+      }
+      if (renderListener == null) {
+        writer.append(pending.removeFirst().join());
+      } else {
+        StringBuilder chunk = pending.removeFirst().join();
+        ((CountingAppendable) writer).appendChunk(chunk);
+        renderListener.onProgress(
+            Math.min(rowCount, (written + 1) * chunkRows), rowCount, emittedBytes(writer));
+      }
+    }
+  }
+
+  /**
+   * 写入指定范围内的数据行。
+   *
+   * @param writer 输出目标
+   * @param borderStyle 边框样式
+   * @param layout 表格布局
+   * @param from 起始行（包含）
+   * @param to 结束行（不包含）
+   * @param separatorEnd 行分隔线的结束行（不包含），行分隔线只写在该行之前的两行之间
+   * @param lineSeparator 行分隔符
+   * @param overflowBehaviour 溢出处理行为
+   * @param useCellViews 是否使用单元格视图，视图不是线程安全的，并行渲染时需要使用单元格字符串
+   * @throws IOException 写入失败时抛出
+   */
+  private void writeDataRows(
+      Appendable writer,
+      BorderStyle borderStyle,
+      TableLayout layout,
+      int from,
+      int to,
+      int separatorEnd,
+      String lineSeparator,
+      OverflowBehaviour overflowBehaviour,
+      boolean useCellViews)
+      throws IOException {
     List<Character> borders = borderStyle.getCharacters();
-    HorizontalAlign[] dataAligns =
-        Arrays.stream(columns).map(Column::getDataAlign).toArray(HorizontalAlign[]::new);
 
-    for (int i = 0; i < rowCount; i++) {
-      String[] data = getData(columns, i);
+    CharSequence[] data = new CharSequence[layout.columns.length];
+    int[] widths = new int[layout.columns.length];
+    int[][] lines = new int[layout.columns.length][];
+    String[] cellStyles = layout.styles == null ? null : new String[layout.columns.length];
+    for (int i = from; i < to; i++) {
+      writeDataRow(
+          writer,
+          borders,
+          layout,
+          data,
+          widths,
+          lines,
+          cellStyles,
+          i,
+          lineSeparator,
+          overflowBehaviour,
+          useCellViews);
+
+      if (i < separatorEnd - 1 && borderStyle.isRowBoundariesEnabled()) {
+        writeRowSeparator(writer, borderStyle, lineSeparator, layout.columnWidths);
+      }
+    }
+  }
+
+  /**
+   * 写入一个数据行。 包含换行符或需要折行的单元格使数据行占用多行。
+   *
+   * @param data 复用的单元格数组，长度与列数一致
+   * @param widths 复用的单元格宽度数组，长度与列数一致
+   * @param lines 复用的分行结果数组，长度与列数一致
+   * @param cellStyles 复用的样式数组，长度与列数一致；布局不输出样式时为null
+   * @param row 行索引
+   * @throws IOException 写入失败时抛出
+   */
+  private static void writeDataRow(
+      Appendable writer,
+      List<Character> borders,
+      TableLayout layout,
+      CharSequence[] data,
+      int[] widths,
+      int[][] lines,
+      String[] cellStyles,
+      int row,
+      String lineSeparator,
+      OverflowBehaviour overflowBehaviour,
+      boolean useCellViews)
+      throws IOException {
+    Column[] columns = layout.columns;
+    for (int j = 0; j < columns.length; j++) {
+      if (cellStyles != null && layout.styles.hasRules(j)) {
+        String cell = columns[j].getCell(row);
+        data[j] = cell;
+        cellStyles[j] = layout.styles.data(j, cell);
+      } else {
+        data[j] = useCellViews ? columns[j].getCellSequence(row) : columns[j].getCell(row);
+        if (cellStyles != null) {
+          cellStyles[j] = layout.styles.data(j, null);
+        }
+      }
+      widths[j] = columns[j].getCellWidth(row);
+    }
+    writeMeasuredRow(
+        writer,
+        borders,
+        layout,
+        data,
+        widths,
+        lines,
+        cellStyles,
+        row,
+        lineSeparator,
+        overflowBehaviour);
+  }
+
+  /**
+   * 写入已经读取了单元格内容和宽度的数据行。
+   *
+   * @param data 单元格内容
+   * @param widths 单元格宽度
+   * @param lines 复用的分行结果数组，长度与列数一致
+   * @param cellStyles 单元格样式；布局不输出样式时为null
+   * @param row 行索引
+   * @throws IOException 写入失败时抛出
+   */
+  private static void writeMeasuredRow(
+      Appendable writer,
+      List<Character> borders,
+      TableLayout layout,
+      CharSequence[] data,
+      int[] widths,
+      int[][] lines,
+      String[] cellStyles,
+      int row,
+      String lineSeparator,
+      OverflowBehaviour overflowBehaviour)
+      throws IOException {
+    int height = 1;
+    if (layout.hasMultiLineCells()) {
+      for (int j = 0; j < data.length; j++) {
+        lines[j] = layout.getCellLines(j, row, data[j], widths[j]);
+        if (lines[j] != null) {
+          height = Math.max(height, CellLines.count(lines[j]));
+        }
+      }
+    }
+    if (height > 1) {
+      writeMultiLineRow(
+          writer,
+          borders.get(DATA_LINE_LEFT_IDX),
+          borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
+          borders.get(DATA_LINE_RIGHT_IDX),
+          data,
+          widths,
+          lines,
+          height,
+          layout.columnWidths,
+          layout.dataAligns,
+          cellStyles,
+          lineSeparator,
+          overflowBehaviour);
+      return;
+    }
+    writeRow(
+        writer,
+        borders.get(DATA_LINE_LEFT_IDX),
+        borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
+        borders.get(DATA_LINE_RIGHT_IDX),
+        data,
+        widths,
+        layout.columnWidths,
+        layout.dataAligns,
+        cellStyles,
+        lineSeparator,
+        overflowBehaviour);
+  }
+
+  private void writeStreamData(
+      Appendable writer,
+      Iterator<String[]> rows,
+      int[] visibleIndexes,
+      TableLayout layout,
+      String lineSeparator)
+      throws IOException {
+    List<Character> borders = borderStyle.getCharacters();
+    int[] columnWidths = layout.columnWidths;
+    HorizontalAlign[] dataAligns = layout.dataAligns;
+    String[] data = new String[visibleIndexes.length];
+    int[] widths = new int[visibleIndexes.length];
+    int[][] lines = new int[visibleIndexes.length][];
+    TableStyles styles = layout.styles;
+    String[] cellStyles = styles == null ? null : new String[visibleIndexes.length];
+
+    if (!rows.hasNext()) {
+      // 没有数据时与其他渲染方式一样输出一个空行，行数限制为0时也不输出省略号行
+      Arrays.fill(data, "");
+      fillStyles(styles, data, cellStyles);
       writeRow(
           writer,
           borders.get(DATA_LINE_LEFT_IDX),
           borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
           borders.get(DATA_LINE_RIGHT_IDX),
           data,
-          columns,
+          widths,
+          columnWidths,
           dataAligns,
+          cellStyles,
           lineSeparator,
           overflowBehaviour);
+      return;
+    }
+    boolean hasNext = true;
+    for (int i = 0; hasNext && (i < getLimit() || getLimit() == UNLIMITED); i++) {
+      int height = 1;
+      String[] row = rows.next();
+      Preconditions.checkArgument(
+          row != null && row.length == this.columns.size(),
+          "Row size does not match number of columns");
+      for (int j = 0; j < visibleIndexes.length; j++) {
+        String cell = row[visibleIndexes[j]];
+        data[j] = cell == null ? "null" : cell;
+        widths[j] = LineUtil.getDisplayWidth(data[j]);
+        lines[j] = CellLines.splitIfNeeded(data[j], widths[j], columnWidths[j], layout.wrap);
+        if (lines[j] != null) {
+          height = Math.max(height, CellLines.count(lines[j]));
+        }
+      }
+      fillStyles(styles, data, cellStyles);
+      if (height > 1) {
+        writeMultiLineRow(
+            writer,
+            borders.get(DATA_LINE_LEFT_IDX),
+            borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
+            borders.get(DATA_LINE_RIGHT_IDX),
+            data,
+            widths,
+            lines,
+            height,
+            columnWidths,
+            dataAligns,
+            cellStyles,
+            lineSeparator,
+            overflowBehaviour);
+      } else {
+        writeRow(
+            writer,
+            borders.get(DATA_LINE_LEFT_IDX),
+            borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
+            borders.get(DATA_LINE_RIGHT_IDX),
+            data,
+            widths,
+            columnWidths,
+            dataAligns,
+            cellStyles,
+            lineSeparator,
+            overflowBehaviour);
+      }
 
-      if (i < rowCount - 1 && borderStyle.isRowBoundariesEnabled()) {
-        writeRowSeparator(writer, borderStyle, lineSeparator, columns);
+      hasNext = rows.hasNext();
+      if (hasNext && borderStyle.isRowBoundariesEnabled()) {
+        writeRowSeparator(writer, borderStyle, lineSeparator, columnWidths);
       }
     }
+
+    if (hasNext) {
+      Arrays.fill(data, String.valueOf(ELLIPSIS));
+      fillStyles(styles, data, cellStyles);
+      writeRow(
+          writer,
+          borders.get(DATA_LINE_LEFT_IDX),
+          borders.get(DATA_LINE_COLUMN_SEPARATOR_IDX),
+          borders.get(DATA_LINE_RIGHT_IDX),
+          data,
+          null,
+          columnWidths,
+          dataAligns,
+          cellStyles,
+          lineSeparator,
+          overflowBehaviour);
+    }
+  }
+
+  /** 计算流式输出的一行中各单元格的样式，不输出样式时不做任何事。 */
+  private static void fillStyles(TableStyles styles, String[] data, String[] cellStyles) {
+    if (styles == null) {
+      return;
+    }
+    for (int j = 0; j < data.length; j++) {
+      cellStyles[j] = styles.data(j, data[j]);
+    }
   }
 
   private static void writeUpperBorder(
-      OutputStreamWriter writer,
+      Appendable writer,
       List<Character> borders,
       String lineSeparator,
-      Column[] columns,
+      int[] columnWidths,
       boolean isTitleLinesEmpty)
       throws IOException {
     if (isTitleLinesEmpty) {
@@ -493,7 +2050,7 @@ public class Table {
           borders.get(TABLE_UPPER_BORDER_COLUMN_SEPARATOR_IDX),
           borders.get(TABLE_UPPER_BORDER_RIGHT_IDX),
           lineSeparator,
-          columns);
+          columnWidths);
     } else {
       writeHorizontalLine(
           writer,
@@ -502,34 +2059,33 @@ public class Table {
           borders.get(TABLE_UPPER_BORDER_WITH_TITLE_COLUMN_SEPARATOR_IDX),
           borders.get(TABLE_UPPER_BORDER_RIGHT_IDX),
           lineSeparator,
-          columns);
+          columnWidths);
     }
   }
 
-  private void writeHeader(
-      OutputStreamWriter osw,
+  private static void writeHeader(
+      Appendable out,
       List<Character> borders,
       String lineSeparator,
-      Column[] columns,
+      TableLayout layout,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
-    HorizontalAlign[] dataAligns =
-        Arrays.stream(columns).map(Column::getHeaderAlign).toArray(HorizontalAlign[]::new);
-
     writeRow(
-        osw,
+        out,
         borders.get(4),
         borders.get(5),
         borders.get(6),
-        header,
-        columns,
-        dataAligns,
+        layout.header,
+        null,
+        layout.columnWidths,
+        layout.headerAligns,
+        layout.styles == null ? null : layout.styles.getHeader(),
         lineSeparator,
         overflowBehaviour);
   }
 
   private void writeTitleBottomBorder(
-      OutputStreamWriter writer, BorderStyle borderStyle, String lineSeparator, Column[] columns)
+      Appendable writer, BorderStyle borderStyle, String lineSeparator, int[] columnWidths)
       throws IOException {
     List<Character> borders = borderStyle.getCharacters();
     writeHorizontalLine(
@@ -539,11 +2095,11 @@ public class Table {
         borders.get(TITLE_LINE_BORDER_COLUMN_SEPARATOR_IDX),
         borders.get(TITLE_LINE_BORDER_RIGHT_IDX),
         lineSeparator,
-        columns);
+        columnWidths);
   }
 
   private void writeTitleRowSeparator(
-      OutputStreamWriter writer, BorderStyle borderStyle, String lineSeparator, Column[] columns)
+      Appendable writer, BorderStyle borderStyle, String lineSeparator, int[] columnWidths)
       throws IOException {
     List<Character> borders = borderStyle.getCharacters();
     writeHorizontalLine(
@@ -553,11 +2109,11 @@ public class Table {
         borders.get(TITLE_LINE_ROW_BORDER_COLUMN_SEPARATOR_IDX),
         borders.get(TITLE_LINE_ROW_BORDER_RIGHT_IDX),
         lineSeparator,
-        columns);
+        columnWidths);
   }
 
   private void writeRowSeparator(
-      OutputStreamWriter writer, BorderStyle borderStyle, String lineSeparator, Column[] columns)
+      Appendable writer, BorderStyle borderStyle, String lineSeparator, int[] columnWidths)
       throws IOException {
     List<Character> borders = borderStyle.getCharacters();
     writeHorizontalLine(
@@ -567,56 +2123,52 @@ public class Table {
         borders.get(DATA_ROW_BORDER_COLUMN_SEPARATOR_IDX),
         borders.get(DATA_ROW_BORDER_RIGHT_IDX),
         lineSeparator,
-        columns);
+        columnWidths);
   }
 
   /**
    * 写入水平分隔线。
    *
-   * @param osw 输出流写入器
+   * @param out 输出目标
    * @param left 左边界字符
    * @param middle 填充字符
    * @param columnSeparator 列分隔符
    * @param right 右边界字符
    * @param lineSeparator 行分隔符
-   * @param columns 列数组
+   * @param columnWidths 列宽数组
    * @throws IOException 写入失败时抛出
    */
   private static void writeHorizontalLine(
-      OutputStreamWriter osw,
+      Appendable out,
       Character left,
       Character middle,
       Character columnSeparator,
       Character right,
       String lineSeparator,
-      Column[] columns)
+      int[] columnWidths)
       throws IOException {
 
-    Integer[] columnWidths =
-        Arrays.stream(columns)
-            .map(column -> column.getMaxWidth() + 2 * PADDING)
-            .toArray(Integer[]::new);
-
-    LineUtil.writeIfNotNull(osw, left);
+    LineUtil.writeIfNotNull(out, left);
 
     for (int i = 0; i < columnWidths.length; i++) {
-      LineUtil.writeRepeated(osw, middle, columnWidths[i]);
+      LineUtil.writeRepeated(out, middle, columnWidths[i] + 2 * PADDING);
 
       boolean isLastColumn = i == columnWidths.length - 1;
       if (!isLastColumn && columnSeparator != null) {
-        osw.write(columnSeparator);
+        out.append(columnSeparator);
       }
     }
 
-    LineUtil.writeIfNotNull(osw, right);
-    LineUtil.writeIfNotNull(osw, lineSeparator);
+    LineUtil.writeIfNotNull(out, right);
+    LineUtil.writeIfNotNull(out, lineSeparator);
   }
 
   /**
    * 写入对齐的文本内容。 处理文本的对齐方式和溢出行为，确保输出格式正确。
    *
-   * @param osw 输出流写入器
+   * @param out 输出目标
    * @param str 要写入的字符串
+   * @param contentWidth 字符串的显示宽度
    * @param align 对齐方式
    * @param maxLength 最大长度
    * @param minPadding 最小内边距
@@ -624,34 +2176,62 @@ public class Table {
    * @throws IOException 写入失败时抛出
    */
   private static void writeJustified(
-      OutputStreamWriter osw,
-      String str,
+      Appendable out,
+      CharSequence str,
+      int contentWidth,
       HorizontalAlign align,
       int maxLength,
       int minPadding,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
+    writeJustified(
+        out, str, 0, str.length(), contentWidth, align, maxLength, minPadding, overflowBehaviour);
+  }
 
-    osw.write(LineUtil.getSpaces(minPadding));
+  /**
+   * 写入字符串中指定范围的内容并对齐，用于直接写出多行单元格中的一行。
+   *
+   * @param start 起始位置（包含）
+   * @param end 结束位置（不包含）
+   * @see #writeJustified(Appendable, CharSequence, int, HorizontalAlign, int, int,
+   *     OverflowBehaviour)
+   */
+  private static void writeJustified(
+      Appendable out,
+      CharSequence str,
+      int start,
+      int end,
+      int contentWidth,
+      HorizontalAlign align,
+      int maxLength,
+      int minPadding,
+      OverflowBehaviour overflowBehaviour)
+      throws IOException {
 
-    int contentWidth = LineUtil.getDisplayWidth(str);
+    LineUtil.writeRepeated(out, ' ', minPadding);
 
     if (contentWidth <= maxLength) {
-      writeAlignedContent(osw, str, align, maxLength, contentWidth);
+      writeAlignedContent(out, str, start, end, align, maxLength, contentWidth);
     } else {
-      writeOverflowedString(osw, str, maxLength, overflowBehaviour);
+      writeOverflowedString(out, str, start, end, maxLength, overflowBehaviour);
     }
 
-    osw.write(LineUtil.getSpaces(minPadding));
+    LineUtil.writeRepeated(out, ' ', minPadding);
   }
 
   /** 写入对齐的内容，处理不同的对齐方式。 */
   private static void writeAlignedContent(
-      OutputStreamWriter osw, String str, HorizontalAlign align, int maxLength, int contentWidth)
+      Appendable out,
+      CharSequence str,
+      int start,
+      int end,
+      HorizontalAlign align,
+      int maxLength,
+      int contentWidth)
       throws IOException {
 
     if (contentWidth == maxLength) {
-      osw.write(str);
+      out.append(str, start, end);
       return;
     }
     // 1. 计算左侧填充宽度并写入
@@ -659,12 +2239,12 @@ public class Table {
     // 3. 计算右侧填充宽度并写入
     int leftPadding = calculateLeftPadding(align, maxLength, contentWidth);
 
-    LineUtil.writeRepeated(osw, ' ', leftPadding);
+    LineUtil.writeRepeated(out, ' ', leftPadding);
 
-    osw.write(str);
+    out.append(str, start, end);
 
     int rightPadding = maxLength - contentWidth - leftPadding;
-    LineUtil.writeRepeated(osw, ' ', rightPadding);
+    LineUtil.writeRepeated(out, ' ', rightPadding);
   }
 
   /** 根据对齐方式计算左侧填充宽度。 */
@@ -682,32 +2262,70 @@ public class Table {
   }
 
   /**
-   * 处理超出最大长度的字符串。 根据溢出行为，从左侧或右侧截断文本并添加省略号。
+   * 处理超出最大长度的字符串。 根据溢出行为，从右侧、左侧或中间截断文本并添加省略号。 不能折行的内容按 {@link OverflowBehaviour#CLIP_RIGHT} 处理。
+   *
+   * <p>截断位置按码点的显示宽度计算，只遍历保留的部分一次，不会拆开代理对。 宽字符跨越截断位置时不输出该字符，用空格补齐到最大长度。
    *
-   * @param osw 输出流写入器
+   * @param out 输出目标
    * @param str 原始字符串
+   * @param start 起始位置（包含）
+   * @param end 结束位置（不包含）
    * @param maxLength 最大允许长度
    * @param overflowBehaviour 溢出处理行为
    * @throws IOException 写入失败时抛出
    */
   private static void writeOverflowedString(
-      OutputStreamWriter osw, String str, int maxLength, OverflowBehaviour overflowBehaviour)
+      Appendable out,
+      CharSequence str,
+      int start,
+      int end,
+      int maxLength,
+      OverflowBehaviour overflowBehaviour)
       throws IOException {
-
-    int strLength = LineUtil.getDisplayWidth(str);
-    int ellipsisLength = LineUtil.getDisplayWidth(ELLIPSIS);
-    int remainingLength = maxLength - ellipsisLength;
+    if (maxLength < ELLIPSIS_WIDTH) {
+      LineUtil.writeRepeated(out, ' ', maxLength);
+      return;
+    }
+    int remainingLength = maxLength - ELLIPSIS_WIDTH;
 
     switch (overflowBehaviour) {
       case CLIP_RIGHT:
-        String leftPart = str.substring(0, remainingLength);
-        writeWithEllipsis(osw, leftPart, String.valueOf(ELLIPSIS));
-        break;
+      case WRAP:
+        {
+          long head = clipForward(str, start, end, remainingLength);
+          out.append(str, start, clippedIndex(head));
+          if (isClippedEscaped(head)) {
+            out.append(CellStyle.RESET);
+          }
+          out.append(ELLIPSIS);
+          LineUtil.writeRepeated(out, ' ', remainingLength - clippedWidth(head));
+          break;
+        }
 
       case CLIP_LEFT:
-        String rightPart = str.substring(strLength - remainingLength);
-        writeWithEllipsis(osw, String.valueOf(ELLIPSIS), rightPart);
-        break;
+        {
+          long tail = clipBackward(str, start, end, remainingLength);
+          LineUtil.writeRepeated(out, ' ', remainingLength - clippedWidth(tail));
+          out.append(ELLIPSIS);
+          out.append(str, clippedIndex(tail), end);
+          break;
+        }
+
+      case CLIP_MIDDLE:
+        {
+          long head = clipForward(str, start, end, (remainingLength + 1) / 2);
+          long tail =
+              clipBackward(str, clippedIndex(head), end, remainingLength - clippedWidth(head));
+          out.append(str, start, clippedIndex(head));
+          if (isClippedEscaped(head)) {
+            out.append(CellStyle.RESET);
+          }
+          out.append(ELLIPSIS);
+          out.append(str, clippedIndex(tail), end);
+          LineUtil.writeRepeated(
+              out, ' ', remainingLength - clippedWidth(head) - clippedWidth(tail));
+          break;
+        }
 
       default:
         throw new IllegalArgumentException("不支持的溢出处理方式: " + overflowBehaviour);
@@ -715,93 +2333,222 @@ public class Table {
   }
 
   /**
-   * 写入带省略号的文本。
+   * 从起始位置向后保留不超过指定显示宽度的内容。 保留部分之后的零宽字符（例如组合字符）一并保留。
    *
-   * @param osw 输出流写入器
-   * @param prefix 前缀文本
-   * @param suffix 后缀文本
-   * @throws IOException 写入失败时抛出
+   * @return 截断位置和保留部分的显示宽度，分别通过 {@link #clippedIndex(long)} 和 {@link #clippedWidth(long)} 读取
    */
-  private static void writeWithEllipsis(OutputStreamWriter osw, String prefix, String suffix)
-      throws IOException {
-    osw.write(prefix);
-    osw.write(suffix);
+  private static long clipForward(CharSequence str, int start, int end, int maxWidth) {
+    int width = 0;
+    int i = start;
+    boolean escaped = false;
+    while (i < end) {
+      int sequenceEnd = DisplayWidth.escapeSequenceEnd(str, i, end);
+      if (sequenceEnd > i) {
+        i = sequenceEnd;
+        escaped = true;
+        continue;
+      }
+      int codePoint = Character.codePointAt(str, i);
+      int codePointWidth = Math.max(0, DisplayWidth.DEFAULT.width(codePoint));
+      if (width + codePointWidth > maxWidth) {
+        break;
+      }
+      width += codePointWidth;
+      i += Character.charCount(codePoint);
+    }
+    return clipped(i, width, escaped);
+  }
+
+  /**
+   * 从结束位置向前保留不超过指定显示宽度的内容。 保留部分开头的零宽字符属于被截掉的字符，不会保留。
+   *
+   * @return 截断位置和保留部分的显示宽度，分别通过 {@link #clippedIndex(long)} 和 {@link #clippedWidth(long)} 读取
+   */
+  private static long clipBackward(CharSequence str, int start, int end, int maxWidth) {
+    int width = 0;
+    int i = end;
+    int firstVisible = end;
+    boolean escaped = false;
+    while (i > start) {
+      int sequenceStart = DisplayWidth.escapeSequenceStart(str, start, i);
+      if (sequenceStart < i) {
+        i = sequenceStart;
+        firstVisible = i;
+        escaped = true;
+        continue;
+      }
+      int codePoint = Character.codePointBefore(str, i);
+      int codePointWidth = Math.max(0, DisplayWidth.DEFAULT.width(codePoint));
+      if (width + codePointWidth > maxWidth) {
+        break;
+      }
+      width += codePointWidth;
+      i -= Character.charCount(codePoint);
+      if (codePointWidth > 0) {
+        firstVisible = i;
+      }
+    }
+    return clipped(i == start ? start : firstVisible, width, escaped);
+  }
+
+  private static long clipped(int index, int width, boolean escaped) {
+    return ((long) index << 32) | width | (escaped ? CLIPPED_ESCAPED : 0L);
+  }
+
+  private static int clippedIndex(long clipped) {
+    return (int) (clipped >>> 32);
+  }
+
+  private static int clippedWidth(long clipped) {
+    return (int) (clipped & Integer.MAX_VALUE);
+  }
+
+  /** 保留的部分是否包含 ANSI 控制序列，包含时需要在截断后重置样式。 */
+  private static boolean isClippedEscaped(long clipped) {
+    return (clipped & CLIPPED_ESCAPED) != 0;
   }
 
   /**
    * 写入表格的一行数据。 处理每个单元格的内容对齐和边界字符。
    *
-   * @param osw 输出流写入器
+   * @param out 输出目标
    * @param left 左边界字符
    * @param columnSeparator 列分隔符
    * @param right 右边界字符
    * @param data 行数据数组
-   * @param columns 列配置数组
+   * @param widths 行数据的显示宽度数组，为null时在写入时计算
+   * @param columnWidths 列宽数组
    * @param dataAligns 数据对齐方式数组
+   * @param styles 各单元格样式的控制序列，为null时不输出样式
    * @param lineSeparator 行分隔符
    * @param overflowBehaviour 溢出处理行为
    * @throws IOException 写入失败时抛出
    */
   private static void writeRow(
-      OutputStreamWriter osw,
+      Appendable out,
       Character left,
       Character columnSeparator,
       Character right,
-      String[] data,
-      Column[] columns,
+      CharSequence[] data,
+      int[] widths,
+      int[] columnWidths,
       HorizontalAlign[] dataAligns,
+      String[] styles,
       String lineSeparator,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
 
-    LineUtil.writeIfNotNull(osw, left);
+    LineUtil.writeIfNotNull(out, left);
 
     for (int i = 0; i < data.length; i++) {
-      ColumnConfig config = new ColumnConfig(columns[i].getMaxWidth(), dataAligns[i]);
-
-      writeJustified(osw, data[i], config.align, config.width, PADDING, overflowBehaviour);
+      ColumnConfig config = new ColumnConfig(columnWidths[i], dataAligns[i]);
+
+      int contentWidth = widths == null ? LineUtil.getDisplayWidth(data[i]) : widths[i];
+      String style = styles == null ? null : styles[i];
+      LineUtil.writeIfNotNull(out, style);
+      writeJustified(
+          out, data[i], contentWidth, config.align, config.width, PADDING, overflowBehaviour);
+      if (style != null) {
+        out.append(CellStyle.RESET);
+      }
 
       boolean isLastColumn = i == data.length - 1;
       if (!isLastColumn && columnSeparator != null) {
-        osw.write(columnSeparator);
+        out.append(columnSeparator);
       }
     }
 
-    LineUtil.writeIfNotNull(osw, right);
-    LineUtil.writeIfNotNull(osw, lineSeparator);
-  }
-
-  private static String[] getData(Column[] columns, int rowIndex) {
-    return Arrays.stream(columns).map(c -> c.getCell(rowIndex)).toArray(String[]::new);
+    LineUtil.writeIfNotNull(out, right);
+    LineUtil.writeIfNotNull(out, lineSeparator);
   }
 
-  private void writeFooter(
-      OutputStreamWriter osw,
-      List<Character> borders,
-      Column[] columns,
+  /**
+   * 写入占用多行的一行数据。 多行单元格的每一行按分行结果直接写出原始内容的片段，其他单元格只写在第一行，行数不足的位置用空白填充。
+   *
+   * @param lines 各单元格的分行结果，只占一行的单元格为null
+   * @param height 数据行占用的行数
+   * @see #writeRow(Appendable, Character, Character, Character, CharSequence[], int[], int[],
+   *     HorizontalAlign[], String[], String, OverflowBehaviour)
+   */
+  private static void writeMultiLineRow(
+      Appendable out,
+      Character left,
+      Character columnSeparator,
+      Character right,
+      CharSequence[] data,
+      int[] widths,
+      int[][] lines,
+      int height,
+      int[] columnWidths,
+      HorizontalAlign[] dataAligns,
+      String[] styles,
+      String lineSeparator,
       OverflowBehaviour overflowBehaviour)
       throws IOException {
+    for (int line = 0; line < height; line++) {
+      LineUtil.writeIfNotNull(out, left);
+
+      for (int i = 0; i < data.length; i++) {
+        int[] cellLines = lines[i];
+        String style = styles == null ? null : styles[i];
+        LineUtil.writeIfNotNull(out, style);
+        if (cellLines == null ? line == 0 : line < CellLines.count(cellLines)) {
+          int start = cellLines == null ? 0 : CellLines.start(cellLines, line);
+          int end = cellLines == null ? data[i].length() : CellLines.end(cellLines, line);
+          int contentWidth =
+              cellLines != null
+                  ? CellLines.width(cellLines, line)
+                  : widths == null ? LineUtil.getDisplayWidth(data[i]) : widths[i];
+          writeJustified(
+              out,
+              data[i],
+              start,
+              end,
+              contentWidth,
+              dataAligns[i],
+              columnWidths[i],
+              PADDING,
+              overflowBehaviour);
+        } else {
+          LineUtil.writeRepeated(out, ' ', columnWidths[i] + 2 * PADDING);
+        }
+        if (style != null) {
+          out.append(CellStyle.RESET);
+        }
 
-    if (footer.length != columns.length) {
-      throw new IllegalArgumentException("Footer size does not match number of columns");
+        boolean isLastColumn = i == data.length - 1;
+        if (!isLastColumn && columnSeparator != null) {
+          out.append(columnSeparator);
+        }
+      }
+
+      LineUtil.writeIfNotNull(out, right);
+      LineUtil.writeIfNotNull(out, lineSeparator);
     }
+  }
 
-    HorizontalAlign[] dataAligns =
-        Arrays.stream(columns).map(Column::getFooterAlign).toArray(HorizontalAlign[]::new);
+  private static void writeFooter(
+      Appendable out,
+      List<Character> borders,
+      TableLayout layout,
+      OverflowBehaviour overflowBehaviour)
+      throws IOException {
     writeRow(
-        osw,
+        out,
         borders.get(4),
         borders.get(5),
         borders.get(6),
-        footer,
-        columns,
-        dataAligns,
+        layout.footer,
+        null,
+        layout.columnWidths,
+        layout.footerAligns,
+        layout.styles == null ? null : layout.styles.getFooter(),
         System.lineSeparator(),
         overflowBehaviour);
   }
 
   private void writeBottomBorder(
-      OutputStreamWriter writer, List<Character> borders, String lineSeparator, Column[] columns)
+      Appendable writer, List<Character> borders, String lineSeparator, int[] columnWidths)
       throws IOException {
     writeHorizontalLine(
         writer,
@@ -810,7 +2557,268 @@ public class Table {
         borders.get(TABLE_BOTTOM_BORDER_COLUMN_SEPARATOR_IDX),
         borders.get(TABLE_BOTTOM_BORDER_RIGHT_IDX),
         lineSeparator,
-        columns);
+        columnWidths);
+  }
+
+  /** 输出文本表格的渲染器，逐行写入，行分隔线和重复表头根据行索引决定。 */
+  private final class AsciiRenderer implements TableRenderer {
+    private final Appendable out;
+    private final List<Character> borders = borderStyle.getCharacters();
+
+    /** 本次渲染使用的布局，在写入表头时根据 {@link StyleMode} 确定。 */
+    private TableLayout layout;
+
+    private int[][] lines;
+    private String[] cellStyles;
+
+    AsciiRenderer(Appendable out) {
+      this.out = out;
+    }
+
+    @Override
+    public void writeHeader(TableLayout layout) throws IOException {
+      this.layout = styled(layout, false);
+      this.lines = new int[layout.columns.length][];
+      this.cellStyles = this.layout.styles == null ? null : new String[layout.columns.length];
+      writeHeaderBlock(out, borders, this.layout);
+    }
+
+    @Override
+    public void writeRow(TableLayout layout, int row, CharSequence[] cells, int[] cellWidths)
+        throws IOException {
+      if (row > 0) {
+        if (headerRepeatInterval > 0 && row % headerRepeatInterval == 0) {
+          writeRepeatedHeader(out, borders, this.layout);
+        } else if (borderStyle.isRowBoundariesEnabled()) {
+          writeRowSeparator(out, borderStyle, System.lineSeparator(), this.layout.columnWidths);
+        }
+      }
+      TableStyles styles = this.layout.styles;
+      if (styles != null) {
+        for (int j = 0; j < cells.length; j++) {
+          cellStyles[j] = styles.data(j, styles.hasRules(j) ? cells[j].toString() : null);
+        }
+      }
+      writeMeasuredRow(
+          out,
+          borders,
+          this.layout,
+          cells,
+          cellWidths,
+          lines,
+          cellStyles,
+          row,
+          System.lineSeparator(),
+          overflowBehaviour);
+    }
+
+    @Override
+    public void writeFooter(TableLayout layout) throws IOException {
+      writeFooterBlock(out, borders, this.layout);
+    }
+  }
+
+  /**
+   * 按UTF-8编码渲染表格的进度，通过 {@link #encodedRendering()} 获取。 记录已经写到了哪一行，使写入可以在缓冲区写满后继续；
+   * 表头和表尾只写一次，使用字符渲染逻辑编码，数据行按批编码，行分隔线预先编码一次后直接复制，因此缓冲区可以远小于整个表格。
+   *
+   * <p>每个实例只渲染一次，不同的实例互不影响。该类不是线程安全的。
+   */
+  public final class EncodedRendering {
+    private final TableLayout layout;
+    private final int[] columnWidths;
+    private final int rowCount;
+    private final List<Character> borders;
+    private final byte[] rowSeparator;
+    private final CharSequence[] data;
+    private final int[] widths;
+    private final int[][] lines;
+    private final String[] cellStyles;
+    private final Utf8Sink sink;
+
+    /** 下一个要编码的行，-1表示表头尚未编码。 */
+    private int nextRow = -1;
+
+    private boolean finished;
+
+    /** 已编码但尚未写出的内容，null表示没有。 */
+    private ByteBuffer pending;
+
+    /** 以下字段只在注册了监听器时统计。 */
+    private long bytesEmitted;
+
+    private int peakBatchSize;
+    private long dataNanos;
+
+    EncodedRendering(TableLayout layout) {
+      this.layout = layout;
+      this.columnWidths = layout.columnWidths;
+      this.rowCount = layout.rowCount;
+      this.borders = borderStyle.getCharacters();
+      this.rowSeparator =
+          borderStyle.isRowBoundariesEnabled()
+              ? encodeHorizontalLine(
+                  DATA_ROW_BORDER_LEFT_IDX,
+                  DATA_ROW_BORDER_MIDDLE_IDX,
+                  DATA_ROW_BORDER_COLUMN_SEPARATOR_IDX,
+                  DATA_ROW_BORDER_RIGHT_IDX)
+              : null;
+      this.data = new CharSequence[layout.columns.length];
+      this.widths = new int[layout.columns.length];
+      this.lines = new int[layout.columns.length][];
+      this.cellStyles = layout.styles == null ? null : new String[layout.columns.length];
+      this.sink = new Utf8Sink(ENCODE_BATCH_BYTES + ENCODE_BATCH_BYTES / 4);
+    }
+
+    /**
+     * 将尽可能多的内容写入缓冲区。 缓冲区写满时返回 {@code false}，调用方取走缓冲区中的内容后再次调用即可从中断处继续写入，直到返回 {@code true}。
+     *
+     * @param dst 输出缓冲区，可以是直接缓冲区
+     * @return 全部内容写完返回true，缓冲区已满返回false
+     * @throws IllegalArgumentException 当dst为null时抛出
+     */
+    public boolean writeTo(ByteBuffer dst) {
+      Preconditions.checkArgument(dst != null, "ByteBuffer cannot be null");
+      while (true) {
+        if (pending != null) {
+          int n = Math.min(pending.remaining(), dst.remaining());
+          ByteBuffer slice = pending.duplicate();
+          slice.limit(slice.position() + n);
+          dst.put(slice);
+          pending.position(pending.position() + n);
+          if (pending.hasRemaining()) {
+            return false;
+          }
+          pending = null;
+          sink.clear();
+        }
+        if (!encodeNextBatch()) {
+          return true;
+        }
+        pending = sink.flip();
+      }
+    }
+
+    /**
+     * 判断全部内容是否已经写完。
+     *
+     * @return 全部内容都已写入缓冲区时返回true
+     */
+    public boolean isFinished() {
+      return finished && pending == null;
+    }
+
+    /** 将全部内容写入通道。 */
+    private void writeTo(WritableByteChannel channel) throws IOException {
+      while (encodeNextBatch()) {
+        ByteBuffer encoded = sink.flip();
+        while (encoded.hasRemaining()) {
+          channel.write(encoded);
+        }
+        sink.clear();
+      }
+    }
+
+    /**
+     * 编码下一批内容到 sink 中。
+     *
+     * @return 没有剩余内容时返回false
+     */
+    private boolean encodeNextBatch() {
+      if (finished) {
+        return false;
+      }
+      try {
+        if (nextRow < 0) {
+          long start = phaseStart(RenderPhase.WRITE_HEADER);
+          writeHeaderBlock(sink, borders, layout);
+          phaseEnd(RenderPhase.WRITE_HEADER, start);
+          nextRow = 0;
+          if (renderListener != null) {
+            renderListener.onPhaseStart(RenderPhase.WRITE_DATA);
+          }
+        }
+
+        long batchStart = renderListener == null ? 0L : System.nanoTime();
+        int batchFrom = nextRow;
+        while (nextRow < rowCount && sink.size() < ENCODE_BATCH_BYTES) {
+          if (headerRepeatInterval > 0 && nextRow > 0 && nextRow % headerRepeatInterval == 0) {
+            writeRepeatedHeader(sink, borders, layout);
+          }
+          writeDataRow(
+              sink,
+              borders,
+              layout,
+              data,
+              widths,
+              lines,
+              cellStyles,
+              nextRow,
+              System.lineSeparator(),
+              overflowBehaviour,
+              true);
+          if (rowSeparator != null
+              && nextRow < rowCount - 1
+              && (headerRepeatInterval == 0 || (nextRow + 1) % headerRepeatInterval != 0)) {
+            sink.appendEncoded(rowSeparator);
+          }
+          nextRow++;
+        }
+        if (renderListener != null && nextRow > batchFrom) {
+          dataNanos += System.nanoTime() - batchStart;
+          renderListener.onProgress(nextRow, rowCount, bytesEmitted + sink.size());
+        }
+
+        if (nextRow == rowCount) {
+          if (renderListener != null) {
+            renderListener.onPhaseEnd(RenderPhase.WRITE_DATA, dataNanos);
+          }
+          long start = phaseStart(RenderPhase.WRITE_FOOTER);
+          writeFooterBlock(sink, borders, layout);
+          phaseEnd(RenderPhase.WRITE_FOOTER, start);
+          finished = true;
+        }
+      } catch (IOException e) {
+        // Utf8Sink 不会抛出 IOException
+        throw new UncheckedIOException("Failed to render table", e);
+      }
+
+      if (renderListener != null) {
+        bytesEmitted += sink.size();
+        peakBatchSize = Math.max(peakBatchSize, sink.size());
+        if (finished) {
+          renderListener.onComplete(rowCount, bytesEmitted, peakBatchSize);
+        }
+      }
+      return true;
+    }
+
+    /** 使用预先编码的边框字符生成一条水平分隔线。 */
+    private byte[] encodeHorizontalLine(
+        int leftIdx, int middleIdx, int separatorIdx, int rightIdx) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      writeEncoded(out, borderStyle.getEncodedCharacter(leftIdx), 1);
+      for (int i = 0; i < columnWidths.length; i++) {
+        writeEncoded(
+            out, borderStyle.getEncodedCharacter(middleIdx), columnWidths[i] + 2 * PADDING);
+        if (i < columnWidths.length - 1) {
+          writeEncoded(out, borderStyle.getEncodedCharacter(separatorIdx), 1);
+        }
+      }
+      writeEncoded(out, borderStyle.getEncodedCharacter(rightIdx), 1);
+      byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+      out.write(lineSeparator, 0, lineSeparator.length);
+      return out.toByteArray();
+    }
+
+    private void writeEncoded(ByteArrayOutputStream out, byte[] encoded, int times) {
+      if (encoded == null) {
+        return;
+      }
+      for (int i = 0; i < times; i++) {
+        out.write(encoded, 0, encoded.length);
+      }
+    }
   }
 
   /** 列配置数据类，用于简化参数传递 */
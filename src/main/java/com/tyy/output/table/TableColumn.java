@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 配置由 {@link Table#fromBeans(Class, Iterable)} 生成的列。 可以标注在记录组件、getter方法或与属性同名的字段上，
+ * 同一个属性上同时存在多个注解时，优先使用getter方法上的注解。标注在记录组件上的注解由编译器传递到访问方法和字段上。
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD})
+public @interface TableColumn {
+  /** 列头文本，为空时使用属性名。 */
+  String header() default "";
+
+  /** 列头的对齐方式。 */
+  HorizontalAlign headerAlign() default HorizontalAlign.CENTER;
+
+  /** 数据的对齐方式。 */
+  HorizontalAlign dataAlign() default HorizontalAlign.LEFT;
+
+  /** 列的最大宽度，负数表示根据内容计算。 */
+  int maxWidth() default -1;
+
+  /** 列的顺序，数值小的列在前；顺序相同时按属性的声明顺序排列。 */
+  int order() default Integer.MAX_VALUE;
+
+  /** 是否忽略该属性，不生成列。 */
+  boolean ignore() default false;
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 将列中的数据导出为 CSV、TSV 或 JSON Lines，由 {@link Table#exportCsv(OutputStream)} 等方法使用。
+ *
+ * <p>导出不生成布局，不计算显示宽度，也不补齐空格。单元格通过存储的视图读取，转义时逐个字符写入 {@link Utf8Sink}，编码后的内容积累到一定大小后
+ * 从堆内存缓冲区的数组直接写入输出流，因此导出过程中不会为单元格创建字符串。
+ */
+final class TableExport {
+  /** 缓冲的字节数超过该值时写入输出流。 */
+  private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final Column[] columns;
+  private final int rowCount;
+  private final Utf8Sink sink = new Utf8Sink(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+  private final OutputStream os;
+
+  /**
+   * 创建导出。
+   *
+   * @param columns 导出的列
+   * @param rowCount 行数，所有列的行数必须一致
+   * @param os 输出流
+   */
+  TableExport(Column[] columns, int rowCount, OutputStream os) {
+    this.columns = columns;
+    this.rowCount = rowCount;
+    this.os = os;
+  }
+
+  /**
+   * 按 RFC 4180 导出 CSV。 第一行为表头，行之间使用 {@code \r\n} 分隔；包含逗号、双引号或换行符的字段使用双引号括起来，其中的双引号写为两个双引号。
+   *
+   * @throws IOException 写入失败时抛出
+   */
+  void writeCsv() throws IOException {
+    for (int j = 0; j < columns.length; j++) {
+      if (j > 0) {
+        sink.append(',');
+      }
+      writeCsvField(columns[j].getHeader());
+    }
+    sink.append("\r\n");
+    for (int i = 0; i < rowCount; i++) {
+      for (int j = 0; j < columns.length; j++) {
+        if (j > 0) {
+          sink.append(',');
+        }
+        writeCsvField(columns[j].getCellSequence(i));
+      }
+      sink.append("\r\n");
+      flushIfNeeded();
+    }
+    flush();
+  }
+
+  /**
+   * 导出 TSV。 第一行为表头，字段之间使用制表符分隔，行之间使用 {@code \n} 分隔；字段中的制表符、换行符、回车符和反斜杠分别写为 {@code \t}、{@code
+   * \n}、{@code \r} 和 {@code \\}。
+   *
+   * @throws IOException 写入失败时抛出
+   */
+  void writeTsv() throws IOException {
+    for (int j = 0; j < columns.length; j++) {
+      if (j > 0) {
+        sink.append('\t');
+      }
+      writeTsvField(columns[j].getHeader());
+    }
+    sink.append('\n');
+    for (int i = 0; i < rowCount; i++) {
+      for (int j = 0; j < columns.length; j++) {
+        if (j > 0) {
+          sink.append('\t');
+        }
+        writeTsvField(columns[j].getCellSequence(i));
+      }
+      sink.append('\n');
+      flushIfNeeded();
+    }
+    flush();
+  }
+
+  /**
+   * 导出 JSON Lines。 每一行数据为一个 JSON 对象，以表头为键，不输出表头行。数值列中能表示为 JSON 数值的单元格输出为数值， 以null添加的单元格输出为 {@code
+   * null}，与列的存储方式无关，其他单元格输出为字符串。
+   *
+   * @throws IOException 写入失败时抛出
+   */
+  void writeJsonLines() throws IOException {
+    // 每一列的键只转义一次，按UTF-8编码后直接复制
+    byte[][] keys = new byte[columns.length][];
+    boolean[] numeric = new boolean[columns.length];
+    for (int j = 0; j < columns.length; j++) {
+      sink.append(j == 0 ? '{' : ',');
+      writeJsonString(columns[j].getHeader());
+      sink.append(':');
+      ByteBuffer encoded = sink.flip();
+      keys[j] = new byte[encoded.remaining()];
+      encoded.get(keys[j]);
+      sink.clear();
+      numeric[j] =
+          columns[j] instanceof IntColumn
+              || columns[j] instanceof LongColumn
+              || columns[j] instanceof DoubleColumn;
+    }
+    for (int i = 0; i < rowCount; i++) {
+      for (int j = 0; j < columns.length; j++) {
+        sink.appendEncoded(keys[j]);
+        if (columns[j].isNullCell(i)) {
+          sink.append("null");
+          continue;
+        }
+        CharSequence cell = columns[j].getCellSequence(i);
+        if (numeric[j] && isJsonNumber(cell)) {
+          sink.append(cell);
+        } else {
+          writeJsonString(cell);
+        }
+      }
+      sink.append(columns.length == 0 ? "{}\n" : "}\n");
+      flushIfNeeded();
+    }
+    flush();
+  }
+
+  private void writeCsvField(CharSequence field) {
+    int length = field.length();
+    boolean quoted = false;
+    for (int i = 0; i < length && !quoted; i++) {
+      char c = field.charAt(i);
+      quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quoted) {
+      sink.append(field, 0, length);
+      return;
+    }
+    sink.append('"');
+    for (int i = 0; i < length; i++) {
+      char c = field.charAt(i);
+      if (c == '"') {
+        sink.append('"');
+      }
+      sink.append(c);
+    }
+    sink.append('"');
+  }
+
+  private void writeTsvField(CharSequence field) {
+    int length = field.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = field.charAt(i);
+      char escaped;
+      switch (c) {
+        case '\t':
+          escaped = 't';
+          break;
+        case '\n':
+          escaped = 'n';
+          break;
+        case '\r':
+          escaped = 'r';
+          break;
+        case '\\':
+          escaped = '\\';
+          break;
+        default:
+          continue;
+      }
+      sink.append(field, start, i).append('\\').append(escaped);
+      start = i + 1;
+    }
+    sink.append(field, start, length);
+  }
+
+  private void writeJsonString(CharSequence str) {
+    sink.append('"');
+    int length = str.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = str.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      sink.append(str, start, i).append('\\');
+      switch (c) {
+        case '"':
+        case '\\':
+          sink.append(c);
+          break;
+        case '\n':
+          sink.append('n');
+          break;
+        case '\r':
+          sink.append('r');
+          break;
+        case '\t':
+          sink.append('t');
+          break;
+        default:
+          sink.append("u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+      }
+      start = i + 1;
+    }
+    sink.append(str, start, length).append('"');
+  }
+
+  /** 判断文本是否符合 JSON 数值的语法，数值列中的 {@code NaN}、{@code Infinity} 和文本单元格不符合。 */
+  static boolean isJsonNumber(CharSequence str) {
+    int length = str.length();
+    int i = 0;
+    if (i < length && str.charAt(i) == '-') {
+      i++;
+    }
+    int digits = skipDigits(str, i);
+    if (digits == i || str.charAt(i) == '0' && digits > i + 1) {
+      return false;
+    }
+    i = digits;
+    if (i < length && str.charAt(i) == '.') {
+      digits = skipDigits(str, i + 1);
+      if (digits == i + 1) {
+        return false;
+      }
+      i = digits;
+    }
+    if (i < length && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+        i++;
+      }
+      digits = skipDigits(str, i);
+      if (digits == i) {
+        return false;
+      }
+      i = digits;
+    }
+    return i == length;
+  }
+
+  private static int skipDigits(CharSequence str, int i) {
+    while (i < str.length() && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+      i++;
+    }
+    return i;
+  }
+
+  private void flushIfNeeded() throws IOException {
+    if (sink.size() >= FLUSH_THRESHOLD) {
+      flush();
+    }
+  }
+
+  private void flush() throws IOException {
+    ByteBuffer buffer = sink.flip();
+    os.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    sink.clear();
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static com.tyy.output.table.Table.PADDING;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 表格的布局，由 {@link Table#layout()} 生成。 包含可见列、最终列宽、对齐方式和数据行数等渲染所需的全部信息，渲染时只读取布局而不会修改表格。
+ *
+ * <p>布局本身不可变。布局引用的列只会追加单元格，因此布局生成之后向列中添加的数据不会出现在该布局的渲染结果中； 行数受限的表格会移除列中被替换的单元格，其布局引用的是生成布局时保留行的副本。
+ * 需要占用多行的单元格在第一次渲染时计算分行位置并缓存在布局中，重复渲染同一个布局不会重复计算。
+ */
+public final class TableLayout {
+  final Column[] columns;
+  final int[] columnWidths;
+  final String[] header;
+  final String[] footer;
+  final HorizontalAlign[] headerAligns;
+  final HorizontalAlign[] dataAligns;
+  final HorizontalAlign[] footerAligns;
+  final int rowCount;
+  final ImmutableList<String> titleLines;
+  final int titleWidth;
+
+  /** 是否将超出列宽的单元格折行。 */
+  final boolean wrap;
+
+  /** 各列中需要占用多行的单元格的分行结果，按行索引缓存；不可能存在多行单元格的列为null。 并行渲染时多个线程可能同时写入同一个元素， 写入的分行结果相同，因此不需要同步。 */
+  private final int[][][] cellLines;
+
+  private final boolean multiLine;
+
+  /** 渲染时使用的样式，null表示不输出样式。 */
+  final TableStyles styles;
+
+  /** 生成布局时各源列的修改次数，用于判断布局是否仍然有效。 */
+  private final Column[] sourceColumns;
+
+  private final int[] sourceModCounts;
+  private final int sourceTitleCount;
+
+  /** 生成布局时解析的目标总宽度，终端宽度变化后布局需要重新生成。 */
+  private final int targetWidth;
+
+  /**
+   * 创建布局。
+   *
+   * @param columns 可见列
+   * @param columnWidths 列宽，调用方不能再修改该数组
+   * @param rowCount 数据行数
+   * @param titleLines 标题行
+   * @param sourceColumns 生成布局所依据的表格列
+   * @param targetWidth 生成布局时的目标总宽度
+   * @param wrap 是否将超出列宽的单元格折行
+   */
+  TableLayout(
+      Column[] columns,
+      int[] columnWidths,
+      int rowCount,
+      List<String> titleLines,
+      List<Column> sourceColumns,
+      int targetWidth,
+      boolean wrap) {
+    this.columns = columns;
+    this.columnWidths = columnWidths;
+    this.rowCount = rowCount;
+    this.titleLines = ImmutableList.copyOf(titleLines);
+    this.header = Arrays.stream(columns).map(Column::getHeader).toArray(String[]::new);
+    this.footer = Arrays.stream(columns).map(Column::getFooter).toArray(String[]::new);
+    this.headerAligns =
+        Arrays.stream(columns).map(Column::getHeaderAlign).toArray(HorizontalAlign[]::new);
+    this.dataAligns =
+        Arrays.stream(columns).map(Column::getDataAlign).toArray(HorizontalAlign[]::new);
+    this.footerAligns =
+        Arrays.stream(columns).map(Column::getFooterAlign).toArray(HorizontalAlign[]::new);
+    this.titleWidth =
+        Arrays.stream(columnWidths).sum() + Math.max(0, columns.length - 1) * (1 + 2 * PADDING);
+
+    this.sourceColumns = sourceColumns.toArray(new Column[0]);
+    this.sourceModCounts =
+        Arrays.stream(this.sourceColumns).mapToInt(Column::getModCount).toArray();
+    this.sourceTitleCount = titleLines.size();
+    this.targetWidth = targetWidth;
+
+    this.wrap = wrap;
+    this.cellLines = new int[columns.length][][];
+    boolean multiLine = false;
+    for (int i = 0; i < columns.length; i++) {
+      if (wrap || columns[i].hasMultiLineCells()) {
+        cellLines[i] = new int[rowCount][];
+        multiLine = true;
+      }
+    }
+    this.multiLine = multiLine;
+    this.styles = null;
+  }
+
+  /** 创建使用指定样式的副本，分行结果的缓存与原布局共享。 */
+  private TableLayout(TableLayout layout, TableStyles styles) {
+    this.columns = layout.columns;
+    this.columnWidths = layout.columnWidths;
+    this.header = layout.header;
+    this.footer = layout.footer;
+    this.headerAligns = layout.headerAligns;
+    this.dataAligns = layout.dataAligns;
+    this.footerAligns = layout.footerAligns;
+    this.rowCount = layout.rowCount;
+    this.titleLines = layout.titleLines;
+    this.titleWidth = layout.titleWidth;
+    this.sourceColumns = layout.sourceColumns;
+    this.sourceModCounts = layout.sourceModCounts;
+    this.sourceTitleCount = layout.sourceTitleCount;
+    this.targetWidth = layout.targetWidth;
+    this.wrap = layout.wrap;
+    this.cellLines = layout.cellLines;
+    this.multiLine = layout.multiLine;
+    this.styles = styles;
+  }
+
+  /**
+   * 生成输出样式的布局，在每次渲染开始时调用，因此各列的样式和条件样式在每次渲染时只编译一次。
+   *
+   * @return 输出样式的布局，所有列都没有样式时返回当前布局
+   */
+  TableLayout withStyles() {
+    TableStyles styles = TableStyles.compile(columns);
+    return styles == null ? this : new TableLayout(this, styles);
+  }
+
+  /**
+   * 判断是否可能存在需要占用多行的单元格。
+   *
+   * @return 可能存在时返回true，否则所有数据行都只占一行
+   */
+  boolean hasMultiLineCells() {
+    return multiLine;
+  }
+
+  /**
+   * 获取单元格的分行结果，结果会被缓存。
+   *
+   * @param column 列索引
+   * @param row 行索引
+   * @param cell 单元格内容
+   * @param cellWidth 单元格的显示宽度
+   * @return 分行结果，格式见 {@link CellLines}；单元格只占一行时返回null
+   */
+  int[] getCellLines(int column, int row, CharSequence cell, int cellWidth) {
+    int[][] cache = cellLines[column];
+    if (cache == null
+        || !(wrap && cellWidth > columnWidths[column]) && !columns[column].hasMultiLineCells()) {
+      return null;
+    }
+    int[] lines = cache[row];
+    if (lines == null) {
+      lines = CellLines.splitIfNeeded(cell, cellWidth, columnWidths[column], wrap);
+      cache[row] = lines;
+    }
+    return lines;
+  }
+
+  /**
+   * 判断布局是否仍然与表格的列、标题和目标宽度一致。
+   *
+   * @param columns 表格当前的列
+   * @param titleLines 表格当前的标题行
+   * @param targetWidth 当前解析的目标总宽度
+   * @return 列、标题和目标宽度都没有变化时返回true
+   */
+  boolean isValidFor(List<Column> columns, List<String> titleLines, int targetWidth) {
+    if (columns.size() != sourceColumns.length
+        || titleLines.size() != sourceTitleCount
+        || targetWidth != this.targetWidth) {
+      return false;
+    }
+    for (int i = 0; i < sourceColumns.length; i++) {
+      Column column = columns.get(i);
+      if (column != sourceColumns[i] || column.getModCount() != sourceModCounts[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 截取连续的若干列生成新的布局，列宽、对齐方式和数据行数保持不变，不包含标题。 截取得到的布局不会被缓存，仅用于渲染视口等局部区域。
+   *
+   * @param from 起始列（包含）
+   * @param to 结束列（不包含）
+   * @return 只包含指定列的布局
+   */
+  TableLayout slice(int from, int to) {
+    return new TableLayout(
+        Arrays.copyOfRange(columns, from, to),
+        Arrays.copyOfRange(columnWidths, from, to),
+        rowCount,
+        ImmutableList.of(),
+        ImmutableList.of(),
+        targetWidth,
+        wrap);
+  }
+
+  /**
+   * 获取可见列的数量，包括行号列。
+   *
+   * @return 列数
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * 获取最终的列宽，不包括内边距。
+   *
+   * @return 列宽数组的副本
+   */
+  public int[] getColumnWidths() {
+    return columnWidths.clone();
+  }
+
+  /**
+   * 获取表头文本。
+   *
+   * @return 表头数组的副本
+   */
+  public String[] getHeaders() {
+    return header.clone();
+  }
+
+  /**
+   * 获取数据对齐方式。
+   *
+   * @return 对齐方式数组的副本
+   */
+  public HorizontalAlign[] getDataAligns() {
+    return dataAligns.clone();
+  }
+
+  /**
+   * 获取数据行数，行数限制产生的省略号行也计算在内。
+   *
+   * @return 数据行数
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * 获取标题行。
+   *
+   * @return 标题行列表
+   */
+  public List<String> getTitleLines() {
+    return titleLines;
+  }
+
+  /**
+   * 获取标题行的显示宽度，等于所有列宽与列分隔符宽度之和。
+   *
+   * @return 标题行宽度
+   */
+  public int getTitleWidth() {
+    return titleWidth;
+  }
+}
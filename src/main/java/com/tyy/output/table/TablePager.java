@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static com.tyy.output.table.Table.PADDING;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.jline.keymap.BindingReader;
+import org.jline.keymap.KeyMap;
+import org.jline.terminal.Attributes;
+import org.jline.terminal.Size;
+import org.jline.terminal.Terminal;
+import org.jline.utils.AttributedString;
+import org.jline.utils.AttributedStyle;
+import org.jline.utils.Display;
+import org.jline.utils.InfoCmp.Capability;
+
+/**
+ * 基于jline的交互式表格查看器。 表头固定在顶部，支持上下、左右滚动，每次重绘只渲染视口中可见的行和列，
+ * 列宽使用表格布局中已经确定的列宽，因此滚动时列宽保持不变，重绘的开销只与终端大小有关，与表格的总行数无关。
+ *
+ * <p>按键：{@code j}/{@code k} 或上下方向键逐行滚动，{@code h}/{@code l} 或左右方向键逐列滚动， 空格/{@code b} 或
+ * PageDown/PageUp 翻页，{@code g}/{@code G} 或 Home/End 跳到首行/末行，{@code q} 退出。
+ */
+public class TablePager {
+  /** 固定表头占用的行数：上边框、表头和表头分隔线。 */
+  private static final int HEADER_LINES = 3;
+
+  /** 视口下方保留的行数：下边框和状态栏。 */
+  private static final int FOOTER_LINES = 2;
+
+  /** 无法获取终端大小（例如哑终端）时使用的默认大小。 */
+  private static final Size DEFAULT_SIZE = new Size(80, 24);
+
+  private final Table table;
+  private final Terminal terminal;
+  private final Display display;
+  private final KeyMap<Operation> keyMap;
+
+  /** 终端是否支持移动光标，支持时只重绘发生变化的行。 */
+  private final boolean redrawInPlace;
+
+  private TableLayout layout;
+
+  /** 每一列左边框在整行中的起始位置。 */
+  private int[] columnOffsets;
+
+  private int firstRow;
+  private int firstColumn;
+
+  /** 滚动操作。 */
+  public enum Operation {
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT,
+    PAGE_UP,
+    PAGE_DOWN,
+    HOME,
+    END,
+    QUIT
+  }
+
+  /**
+   * 创建查看器。
+   *
+   * @param table 要查看的表格
+   * @param terminal 终端
+   */
+  public TablePager(Table table, Terminal terminal) {
+    Preconditions.checkArgument(table != null, "Table cannot be null");
+    Preconditions.checkArgument(terminal != null, "Terminal cannot be null");
+    this.table = table;
+    this.terminal = terminal;
+    this.display = new Display(terminal, true);
+    this.keyMap = createKeyMap(terminal);
+    this.redrawInPlace = terminal.getStringCapability(Capability.cursor_up) != null;
+  }
+
+  /**
+   * 进入交互模式，直到按下 {@code q} 或输入结束。 运行期间终端处于原始模式，退出时恢复终端原来的属性。
+   *
+   * @throws IllegalArgumentException 当表格配置无效时抛出
+   */
+  public void run() {
+    Attributes attributes = terminal.enterRawMode();
+    terminal.puts(Capability.enter_ca_mode);
+    terminal.puts(Capability.keypad_xmit);
+    Terminal.SignalHandler previousHandler =
+        terminal.handle(Terminal.Signal.WINCH, signal -> redraw());
+    try {
+      BindingReader reader = new BindingReader(terminal.reader());
+      redraw();
+      Operation operation;
+      while ((operation = reader.readBinding(keyMap)) != null && operation != Operation.QUIT) {
+        scroll(operation);
+        redraw();
+      }
+    } finally {
+      terminal.handle(Terminal.Signal.WINCH, previousHandler);
+      terminal.puts(Capability.keypad_local);
+      terminal.puts(Capability.exit_ca_mode);
+      terminal.setAttributes(attributes);
+      terminal.flush();
+    }
+  }
+
+  /** 按终端当前的大小重绘视口。 支持光标移动的终端只写入发生变化的行，哑终端无法移动光标，每次输出完整的一屏。 */
+  synchronized void redraw() {
+    List<AttributedString> lines = viewport();
+    if (redrawInPlace) {
+      Size size = terminalSize();
+      display.resize(size.getRows(), size.getColumns());
+      display.update(lines, -1);
+    } else {
+      for (AttributedString line : lines) {
+        terminal.writer().println(line.toAnsi(terminal));
+      }
+    }
+    terminal.flush();
+  }
+
+  /**
+   * 执行一次滚动操作。
+   *
+   * @param operation 滚动操作
+   */
+  synchronized void scroll(Operation operation) {
+    refreshLayout();
+    int pageRows = bodyRows(terminalSize());
+    int lastRow = Math.max(0, layout.rowCount - pageRows);
+    switch (operation) {
+      case UP:
+        firstRow--;
+        break;
+      case DOWN:
+        firstRow++;
+        break;
+      case PAGE_UP:
+        firstRow -= pageRows;
+        break;
+      case PAGE_DOWN:
+        firstRow += pageRows;
+        break;
+      case HOME:
+        firstRow = 0;
+        break;
+      case END:
+        firstRow = lastRow;
+        break;
+      case LEFT:
+        firstColumn--;
+        break;
+      case RIGHT:
+        firstColumn++;
+        break;
+      default:
+        break;
+    }
+    firstRow = Math.max(0, Math.min(firstRow, lastRow));
+    firstColumn = Math.max(0, Math.min(firstColumn, layout.columns.length - 1));
+  }
+
+  /**
+   * 生成视口中的各行：固定的表头、可见的数据行和状态栏，每行按终端宽度截断。
+   *
+   * @return 视口中的行
+   */
+  synchronized List<AttributedString> viewport() {
+    refreshLayout();
+    Size size = terminalSize();
+    int width = size.getColumns();
+    int bodyRows = bodyRows(size);
+    firstRow = Math.max(0, Math.min(firstRow, layout.rowCount - bodyRows));
+    int lastRow = Math.min(layout.rowCount, firstRow + bodyRows);
+    int lastColumn = lastVisibleColumn(width);
+
+    StringBuilder rendered = new StringBuilder();
+    try {
+      table.renderViewport(layout.slice(firstColumn, lastColumn), firstRow, lastRow, rendered);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render table", e);
+    }
+
+    List<AttributedString> lines = new ArrayList<>(size.getRows());
+    int start = 0;
+    for (int end = rendered.indexOf("\n");
+        end >= 0 && lines.size() < size.getRows() - 1;
+        end = rendered.indexOf("\n", start)) {
+      // 单元格样式以 ANSI 控制序列输出，解析为 AttributedString 的样式后再按终端宽度截断
+      lines.add(
+          AttributedString.fromAnsi(rendered.substring(start, end)).columnSubSequence(0, width));
+      start = end + 1;
+    }
+    String status =
+        String.format(
+            "rows %d-%d of %d, columns %d-%d of %d",
+            firstRow + 1,
+            lastRow,
+            layout.rowCount,
+            firstColumn + 1,
+            lastColumn,
+            layout.columns.length);
+    lines.add(new AttributedString(status, AttributedStyle.INVERSE).columnSubSequence(0, width));
+    return lines;
+  }
+
+  /** 表格的列或数据发生变化时重新获取布局，布局未变化时直接返回缓存的布局。 */
+  private void refreshLayout() {
+    TableLayout current = table.layout();
+    if (current == layout) {
+      return;
+    }
+    layout = current;
+    columnOffsets = new int[layout.columns.length + 1];
+    for (int i = 0; i < layout.columns.length; i++) {
+      columnOffsets[i + 1] = columnOffsets[i] + layout.columnWidths[i] + 2 * PADDING + 1;
+    }
+    firstColumn = Math.min(firstColumn, layout.columns.length - 1);
+  }
+
+  /**
+   * 计算从 {@link #firstColumn} 开始能显示到哪一列，最后一列可能只显示一部分。
+   *
+   * @param width 终端宽度
+   * @return 最后一个可见列的下一列
+   */
+  private int lastVisibleColumn(int width) {
+    int limit = columnOffsets[firstColumn] + width;
+    int last = firstColumn + 1;
+    while (last < layout.columns.length && columnOffsets[last] < limit) {
+      last++;
+    }
+    return last;
+  }
+
+  private static int bodyRows(Size size) {
+    return Math.max(1, size.getRows() - HEADER_LINES - FOOTER_LINES);
+  }
+
+  private Size terminalSize() {
+    Size size = terminal.getSize();
+    return size.getRows() > 0 && size.getColumns() > 0 ? size : DEFAULT_SIZE;
+  }
+
+  private static KeyMap<Operation> createKeyMap(Terminal terminal) {
+    KeyMap<Operation> keys = new KeyMap<>();
+    bind(keys, Operation.UP, "k", "\033[A", KeyMap.key(terminal, Capability.key_up));
+    bind(keys, Operation.DOWN, "j", "\033[B", KeyMap.key(terminal, Capability.key_down));
+    bind(keys, Operation.RIGHT, "l", "\033[C", KeyMap.key(terminal, Capability.key_right));
+    bind(keys, Operation.LEFT, "h", "\033[D", KeyMap.key(terminal, Capability.key_left));
+    bind(keys, Operation.PAGE_UP, "b", "\033[5~", KeyMap.key(terminal, Capability.key_ppage));
+    bind(keys, Operation.PAGE_DOWN, " ", "\033[6~", KeyMap.key(terminal, Capability.key_npage));
+    bind(keys, Operation.HOME, "g", "\033[H", KeyMap.key(terminal, Capability.key_home));
+    bind(keys, Operation.END, "G", "\033[F", KeyMap.key(terminal, Capability.key_end));
+    bind(keys, Operation.QUIT, "q", "Q", null);
+    return keys;
+  }
+
+  /** 绑定按键，终端不支持的功能键（按键序列为null）会被忽略。 */
+  private static void bind(KeyMap<Operation> keys, Operation operation, String... sequences) {
+    for (String sequence : sequences) {
+      if (sequence != null && !sequence.isEmpty()) {
+        keys.bind(operation, sequence);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.io.IOException;
+
+/**
+ * 表格的渲染器，把 {@link TableLayout} 输出为某一种格式，通过 {@link Table#render(TableLayout, TableRenderer...)} 使用。
+ *
+ * <p>布局、单元格内容和显示宽度由 {@link Table} 计算，渲染器只负责输出，因此多个渲染器可以共享同一次计算的结果，在一次遍历中同时输出多种格式。 内置的实现有 {@link
+ * Table#asciiRenderer(Appendable)}、{@link MarkdownTableRenderer} 和 {@link HtmlTableRenderer}。
+ *
+ * <p>每次渲染依次调用一次 {@link #writeHeader(TableLayout)}，按行的顺序调用 {@link #writeRow(TableLayout, int,
+ * CharSequence[], int[])}，最后调用一次 {@link #writeFooter(TableLayout)}。
+ */
+public interface TableRenderer {
+
+  /**
+   * 写入数据行之前的内容，例如标题和表头。
+   *
+   * @param layout 布局
+   * @throws IOException 写入失败时抛出
+   */
+  void writeHeader(TableLayout layout) throws IOException;
+
+  /**
+   * 写入一个数据行。 单元格数组在各行之间复用，其中的内容只在本次调用期间有效，需要保存时应调用 {@code toString()}。
+   *
+   * @param layout 布局
+   * @param row 行索引
+   * @param cells 各列的单元格内容
+   * @param cellWidths 各单元格的显示宽度，包含换行符的单元格为最宽一行的宽度
+   * @throws IOException 写入失败时抛出
+   */
+  void writeRow(TableLayout layout, int row, CharSequence[] cells, int[] cellWidths)
+      throws IOException;
+
+  /**
+   * 写入数据行之后的内容，例如表尾。
+   *
+   * @param layout 布局
+   * @throws IOException 写入失败时抛出
+   */
+  void writeFooter(TableLayout layout) throws IOException;
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 一次渲染使用的样式，由 {@link #compile(Column[])} 根据各列的样式生成。 各列样式的控制序列在编译时取出，条件样式展开为数组，渲染每个数据单元格时只需按顺序求值。
+ *
+ * <p>不输出样式时不会编译，渲染过程中也不会对条件样式求值。
+ */
+final class TableStyles {
+  private final String[] header;
+  private final String[] footer;
+  private final String[] data;
+  private final Predicate<String>[][] predicates;
+  private final String[][] ruleSequences;
+
+  private TableStyles(
+      String[] header,
+      String[] footer,
+      String[] data,
+      Predicate<String>[][] predicates,
+      String[][] ruleSequences) {
+    this.header = header;
+    this.footer = footer;
+    this.data = data;
+    this.predicates = predicates;
+    this.ruleSequences = ruleSequences;
+  }
+
+  /**
+   * 编译各列的样式。
+   *
+   * @param columns 布局中的可见列
+   * @return 编译后的样式，所有列都没有样式时返回null
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  static TableStyles compile(Column[] columns) {
+    int count = columns.length;
+    String[] header = new String[count];
+    String[] footer = new String[count];
+    String[] data = new String[count];
+    Predicate<String>[][] predicates = new Predicate[count][];
+    String[][] ruleSequences = new String[count][];
+    boolean styled = false;
+    for (int i = 0; i < count; i++) {
+      Column column = columns[i];
+      header[i] = column.getHeaderStyle().getSequence();
+      footer[i] = column.getFooterStyle().getSequence();
+      data[i] = column.getDataStyle().getSequence();
+      styled |= header[i] != null || footer[i] != null || data[i] != null;
+
+      List<Column.StyleRule> rules = column.getStyleRules();
+      if (!rules.isEmpty()) {
+        predicates[i] = new Predicate[rules.size()];
+        ruleSequences[i] = new String[rules.size()];
+        for (int j = 0; j < rules.size(); j++) {
+          predicates[i][j] = rules.get(j).predicate;
+          ruleSequences[i][j] = rules.get(j).style.getSequence();
+        }
+        styled = true;
+      }
+    }
+    return styled ? new TableStyles(header, footer, data, predicates, ruleSequences) : null;
+  }
+
+  /**
+   * 获取各列表头的控制序列。
+   *
+   * @return 控制序列数组，没有样式的列为null
+   */
+  String[] getHeader() {
+    return header;
+  }
+
+  /**
+   * 获取各列表尾的控制序列。
+   *
+   * @return 控制序列数组，没有样式的列为null
+   */
+  String[] getFooter() {
+    return footer;
+  }
+
+  /**
+   * 判断列是否有条件样式。 没有条件样式的列不需要读取单元格内容。
+   *
+   * @param column 列索引
+   * @return 有条件样式时返回true
+   */
+  boolean hasRules(int column) {
+    return predicates[column] != null;
+  }
+
+  /**
+   * 获取数据单元格的控制序列。
+   *
+   * @param column 列索引
+   * @param cell 单元格内容，列没有条件样式时不会读取
+   * @return 控制序列，没有样式时返回null
+   */
+  String data(int column, String cell) {
+    Predicate<String>[] columnPredicates = predicates[column];
+    if (columnPredicates != null) {
+      for (int i = 0; i < columnPredicates.length; i++) {
+        if (columnPredicates[i].test(cell)) {
+          return ruleSequences[column][i];
+        }
+      }
+    }
+    return data[column];
+  }
+}
@@ -0,0 +1,10 @@
+package com.tyy.output.table;
+
+/** 追加输出模式下，新增单元格超出已输出列宽时的处理策略。 */
+public enum TailWidthPolicy {
+  /** 结束当前表格块，并使用加宽后的列宽重新输出表头。 */
+  REPRINT_HEADER,
+
+  /** 保持已输出的列宽，超出的内容按照 {@link OverflowBehaviour} 裁剪。 */
+  CLIP
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 将写入的字符直接按UTF-8编码到 {@link ByteBuffer} 的 {@link Appendable}。 缓冲区为堆内存，容量不足时自动扩容，不会产生中间字符串。
+ *
+ * <p>代理对可以分两次写入，孤立的代理字符编码为 {@code '?'}，与 {@link String#getBytes} 的行为一致。该类不是线程安全的。
+ */
+final class Utf8Sink implements Appendable {
+  private ByteBuffer buffer;
+
+  /** 尚未配对的高代理字符，0表示没有。 */
+  private char pendingHighSurrogate;
+
+  /**
+   * 创建实例，已写入的内容可以通过 {@link ByteBuffer#array()} 直接读取。
+   *
+   * @param capacity 初始容量
+   */
+  Utf8Sink(int capacity) {
+    this.buffer = ByteBuffer.allocate(capacity);
+  }
+
+  @Override
+  public Utf8Sink append(CharSequence csq) {
+    CharSequence s = csq == null ? "null" : csq;
+    return append(s, 0, s.length());
+  }
+
+  @Override
+  public Utf8Sink append(CharSequence csq, int start, int end) {
+    CharSequence s = csq == null ? "null" : csq;
+    ensureRemaining((end - start) * 3 + 1);
+    for (int i = start; i < end; i++) {
+      char c = s.charAt(i);
+      if (c < 0x80 && pendingHighSurrogate == 0) {
+        buffer.put((byte) c);
+      } else {
+        encode(c);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public Utf8Sink append(char c) {
+    ensureRemaining(4);
+    if (c < 0x80 && pendingHighSurrogate == 0) {
+      buffer.put((byte) c);
+    } else {
+      encode(c);
+    }
+    return this;
+  }
+
+  /**
+   * 写入已经编码好的字节。
+   *
+   * @param bytes 已编码的字节
+   * @return 当前实例
+   */
+  Utf8Sink appendEncoded(byte[] bytes) {
+    flushPendingSurrogate();
+    ensureRemaining(bytes.length);
+    buffer.put(bytes);
+    return this;
+  }
+
+  /**
+   * 获取已写入的字节。 返回的缓冲区处于读模式，读取完成后需要调用 {@link #clear()}。
+   *
+   * @return 已写入内容的缓冲区
+   */
+  ByteBuffer flip() {
+    flushPendingSurrogate();
+    buffer.flip();
+    return buffer;
+  }
+
+  /** 清空已写入的内容，恢复到写模式。 */
+  void clear() {
+    buffer.clear();
+    pendingHighSurrogate = 0;
+  }
+
+  /** 已写入的字节数。 */
+  int size() {
+    return buffer.position();
+  }
+
+  private void encode(char c) {
+    if (pendingHighSurrogate != 0) {
+      char high = pendingHighSurrogate;
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        return;
+      }
+      buffer.put((byte) '?');
+    }
+
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (c < 0x800) {
+      buffer.put((byte) (0xC0 | (c >> 6)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | (c >> 12)));
+      buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    }
+  }
+
+  private void flushPendingSurrogate() {
+    if (pendingHighSurrogate != 0) {
+      pendingHighSurrogate = 0;
+      ensureRemaining(1);
+      buffer.put((byte) '?');
+    }
+  }
+
+  private void ensureRemaining(int n) {
+    if (buffer.remaining() < n) {
+      int capacity = Math.max(buffer.capacity() * 2, buffer.position() + n);
+      ByteBuffer larger = ByteBuffer.allocate(capacity);
+      buffer.flip();
+      larger.put(buffer);
+      buffer = larger;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.util.Arrays;
+
+/**
+ * 按目标宽度分配列宽。 各列的宽度由所需宽度（内容的最大宽度）、最小宽度和权重决定。
+ *
+ * <p>所有列的所需宽度之和不超过可用宽度时保持不变，否则寻找一个水位 {@code λ}，使每列的宽度为 {@code λ × 权重} 并限制在 [最小宽度, 所需宽度] 之间，
+ * 且总宽度恰好等于可用宽度。这样较窄的列保持原宽度，只有较宽的列被收窄，被收窄的列之间的宽度与权重成比例，即按权重的最大最小公平分配。
+ * 水位由各列开始和停止随水位变化的位置排序后一次扫描得到，复杂度为 O(n log n)，不需要试探渲染。
+ */
+final class WidthSolver {
+
+  private WidthSolver() {}
+
+  /**
+   * 计算列宽。
+   *
+   * @param widths 各列所需的宽度
+   * @param minWidths 各列的最小宽度，所需宽度更小的列取所需宽度
+   * @param weights 各列的权重，必须为正数
+   * @param available 所有列可用的总宽度，不包括边框和内边距
+   * @return 各列的宽度；最小宽度之和超过可用宽度时各列取最小宽度
+   */
+  static int[] solve(int[] widths, int[] minWidths, int[] weights, int available) {
+    int n = widths.length;
+    int[] lower = new int[n];
+    long required = 0;
+    long minimum = 0;
+    for (int i = 0; i < n; i++) {
+      lower[i] = Math.min(minWidths[i], widths[i]);
+      required += widths[i];
+      minimum += lower[i];
+    }
+    if (required <= available) {
+      return widths.clone();
+    }
+    if (minimum >= available) {
+      return lower;
+    }
+
+    // 每列在水位 lower/weight 处开始随水位增长，在 width/weight 处达到所需宽度
+    double[] events = new double[2 * n];
+    Integer[] order = new Integer[2 * n];
+    for (int i = 0; i < n; i++) {
+      events[2 * i] = (double) lower[i] / weights[i];
+      events[2 * i + 1] = (double) widths[i] / weights[i];
+      order[2 * i] = 2 * i;
+      order[2 * i + 1] = 2 * i + 1;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(events[a], events[b]));
+
+    double level = 0;
+    double total = minimum;
+    long slope = 0;
+    for (int event : order) {
+      double next = total + slope * (events[event] - level);
+      if (next >= available) {
+        break;
+      }
+      total = next;
+      level = events[event];
+      slope += event % 2 == 0 ? weights[event / 2] : -weights[event / 2];
+    }
+    level += slope == 0 ? 0 : (available - total) / slope;
+
+    // 向下取整后，把剩余的宽度逐一分配给小数部分最大的列
+    int[] result = new int[n];
+    double[] fractions = new double[n];
+    Integer[] columns = new Integer[n];
+    int remaining = available;
+    for (int i = 0; i < n; i++) {
+      double width = Math.max(lower[i], Math.min(widths[i], level * weights[i]));
+      result[i] = (int) width;
+      fractions[i] = width - result[i];
+      remaining -= result[i];
+      columns[i] = i;
+    }
+    Arrays.sort(columns, (a, b) -> Double.compare(fractions[b], fractions[a]));
+    for (int i = 0; i < n && remaining > 0; i++) {
+      int column = columns[i];
+      if (result[column] < widths[column]) {
+        result[column]++;
+        remaining--;
+      }
+    }
+    return result;
+  }
+}
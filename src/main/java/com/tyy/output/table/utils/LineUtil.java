@@ -21,9 +21,7 @@ package com.tyy.output.table.utils;
 
 import com.google.common.base.Preconditions;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.Collections;
-import org.jline.utils.AttributedString;
 
 public class LineUtil {
 
@@ -34,7 +32,7 @@ public class LineUtil {
    * @return 字符的显示宽度，全角字符返回2，其他返回1
    */
   public static int getDisplayWidth(char c) {
-    return getDisplayWidth(String.valueOf(c));
+    return DisplayWidth.DEFAULT.width(c);
   }
   /**
    * 计算字符串的显示宽度，会考虑全角字符。 全角字符的宽度计为2，其他字符计为1。
@@ -42,14 +40,20 @@ public class LineUtil {
    * @param str 要测量的输入字符串
    * @return 字符串的显示宽度，如果输入为null则返回0
    */
-  public static int getDisplayWidth(String str) {
-    if (str == null || str.isEmpty()) {
-      return 0;
-    }
-
-    AttributedString attributedString = new AttributedString(str);
+  public static int getDisplayWidth(CharSequence str) {
+    return DisplayWidth.DEFAULT.width(str);
+  }
 
-    return attributedString.columnLength();
+  /**
+   * 计算字符串中指定范围的显示宽度。
+   *
+   * @param str 要测量的字符串
+   * @param start 起始位置（包含）
+   * @param end 结束位置（不包含）
+   * @return 指定范围的显示宽度
+   */
+  public static int getDisplayWidth(CharSequence str, int start, int end) {
+    return DisplayWidth.DEFAULT.width(str, start, end);
   }
 
   /**
@@ -101,30 +105,30 @@ public class LineUtil {
   }
 
   /** 如果字符不为null则写入输出流。 */
-  public static void writeIfNotNull(OutputStreamWriter osw, Character ch) throws IOException {
+  public static void writeIfNotNull(Appendable out, Character ch) throws IOException {
     if (ch != null) {
-      osw.write(ch);
+      out.append(ch);
     }
   }
 
   /** 如果字符串不为null则写入输出流。 */
-  public static void writeIfNotNull(OutputStreamWriter osw, String str) throws IOException {
+  public static void writeIfNotNull(Appendable out, String str) throws IOException {
     if (str != null) {
-      osw.write(str);
+      out.append(str);
     }
   }
 
   /**
    * 重复输出字符num次。
    *
-   * @param osw 输出流
+   * @param out 输出流
    * @param c 待输出的字符
    * @param num 重复次数
    * @throws IOException 如果输出失败，则抛出 {@code IOException}
    */
-  public static void writeRepeated(OutputStreamWriter osw, char c, int num) throws IOException {
+  public static void writeRepeated(Appendable out, char c, int num) throws IOException {
     for (int i = 0; i < num; i++) {
-      osw.append(c);
+      out.append(c);
     }
   }
 }
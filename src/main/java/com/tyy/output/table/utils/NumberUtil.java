@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table.utils;
+
+import com.google.common.base.Preconditions;
+
+public class NumberUtil {
+  /** long 类型数值的最大字符数，即 {@code "-9223372036854775808"} 的长度。 */
+  public static final int MAX_LONG_CHARS = 20;
+
+  /**
+   * 计算整数的十进制表示所需的字符数（包括负号），不会创建字符串。
+   *
+   * @param value 整数值
+   * @return 字符数，与 {@code String.valueOf(value).length()} 相同
+   */
+  public static int digitCount(long value) {
+    int sign = value < 0 ? 1 : 0;
+    long negative = value < 0 ? value : -value;
+    long bound = -10;
+    for (int digits = 1; digits < 19; digits++) {
+      if (negative > bound) {
+        return digits + sign;
+      }
+      bound *= 10;
+    }
+    return 19 + sign;
+  }
+
+  /**
+   * 将整数的十进制表示写入字符数组的末尾，不会创建字符串。
+   *
+   * @param value 整数值
+   * @param buf 目标数组，长度不能小于 {@link #MAX_LONG_CHARS}
+   * @return 写入内容在数组中的起始位置，内容一直延续到数组末尾
+   * @throws IllegalArgumentException 当数组长度不足时抛出
+   */
+  public static int getChars(long value, char[] buf) {
+    Preconditions.checkArgument(buf.length >= MAX_LONG_CHARS, "Buffer is too small");
+    int pos = buf.length;
+    long negative = value < 0 ? value : -value;
+    do {
+      buf[--pos] = (char) ('0' - (negative % 10));
+      negative /= 10;
+    } while (negative != 0);
+
+    if (value < 0) {
+      buf[--pos] = '-';
+    }
+    return pos;
+  }
+}
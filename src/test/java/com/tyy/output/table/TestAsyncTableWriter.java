@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class TestAsyncTableWriter {
+
+  private static Table createTable(int id) {
+    Column column = new Column.Builder().withHeader("id").build();
+    column.addCell(String.valueOf(id));
+    return new Table.Builder().withColumns(column).build();
+  }
+
+  private static String printed(Table table) throws UnsupportedEncodingException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.print(out);
+    return out.toString("UTF-8");
+  }
+
+  /** 第一次刷新时阻塞，直到测试放行的输出流。 */
+  private static final class BlockingOutputStream extends OutputStream {
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    final CountDownLatch flushing = new CountDownLatch(1);
+    final CountDownLatch released = new CountDownLatch(1);
+
+    @Override
+    public synchronized void write(int b) {
+      content.write(b);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      flushing.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
+  @Test
+  void testWritesTablesInOrder() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StringBuilder expected = new StringBuilder();
+    AsyncTableWriter writer = new AsyncTableWriter.Builder(out).build();
+    for (int i = 0; i < 100; i++) {
+      Table table = createTable(i);
+      expected.append(printed(table));
+      assertTrue(writer.submit(table));
+    }
+    writer.close();
+    assertEquals(100, writer.getSubmittedCount());
+    assertEquals(100, writer.getWrittenCount());
+    assertEquals(0, writer.getFailedCount());
+    assertEquals(0, writer.getQueueDepth());
+    assertTrue(writer.getBatchCount() >= 1 && writer.getBatchCount() <= 100);
+    assertTrue(writer.getMaxLatencyNanos() >= writer.getAverageLatencyNanos());
+    assertThrows(IllegalStateException.class, () -> writer.submit(createTable(0)));
+    assertEquals(expected.toString(), out.toString("UTF-8"));
+  }
+
+  @Test
+  void testMultipleProducers() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    AsyncTableWriter writer = new AsyncTableWriter.Builder(out).withCapacity(16).build();
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int base = (t + 1) * 1_000;
+      Thread producer =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 250; i++) {
+                  writer.submit(createTable(base + i));
+                }
+              });
+      producers.add(producer);
+      producer.start();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    writer.close();
+
+    assertEquals(1_000, writer.getWrittenCount());
+    assertEquals(0, writer.getDroppedCount());
+    String output = out.toString("UTF-8");
+    for (int t = 0; t < 4; t++) {
+      assertTrue(output.contains("| " + ((t + 1) * 1_000 + 249) + " |"));
+    }
+    assertEquals(printed(createTable(1_000)).length() * 1_000, output.length());
+  }
+
+  @Test
+  void testDropWhenFull() throws Exception {
+    BlockingOutputStream out = new BlockingOutputStream();
+    AsyncTableWriter writer =
+        new AsyncTableWriter.Builder(out)
+            .withCapacity(1)
+            .withQueueFullPolicy(QueueFullPolicy.DROP)
+            .build();
+    assertTrue(writer.submit(createTable(1)));
+    assertTrue(out.flushing.await(10, TimeUnit.SECONDS));
+
+    assertTrue(writer.submit(createTable(2)));
+    assertFalse(writer.submit(createTable(3)));
+    assertEquals(1, writer.getQueueDepth());
+    assertEquals(1, writer.getDroppedCount());
+
+    out.released.countDown();
+    writer.close();
+    assertEquals(2, writer.getWrittenCount());
+    assertEquals(printed(createTable(1)) + printed(createTable(2)), out.content.toString("UTF-8"));
+  }
+
+  @Test
+  void testBlockWhenFull() throws Exception {
+    BlockingOutputStream out = new BlockingOutputStream();
+    AsyncTableWriter writer = new AsyncTableWriter.Builder(out).withCapacity(1).build();
+    writer.submit(createTable(1));
+    assertTrue(out.flushing.await(10, TimeUnit.SECONDS));
+    writer.submit(createTable(2));
+
+    Thread producer = new Thread(() -> writer.submit(createTable(3)));
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+
+    out.released.countDown();
+    producer.join();
+    writer.close();
+    assertEquals(3, writer.getWrittenCount());
+    assertEquals(0, writer.getDroppedCount());
+  }
+
+  @Test
+  void testFailedTableDoesNotStopWriter() throws Exception {
+    Column a = new Column.Builder().withHeader("a").build();
+    Column b = new Column.Builder().withHeader("b").build();
+    a.addCell("1");
+    Table invalid = new Table.Builder().withColumns(a, b).build();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    AsyncTableWriter writer = new AsyncTableWriter.Builder(out).build();
+    writer.submit(invalid);
+    writer.submit(createTable(1));
+    writer.close();
+    assertEquals(1, writer.getFailedCount());
+    assertEquals(1, writer.getWrittenCount());
+    assertEquals(printed(createTable(1)), out.toString("UTF-8"));
+  }
+
+  @Test
+  void testPartiallyRenderedTableIsNotWritten() throws Exception {
+    IllegalStateException failure = new IllegalStateException("footer failed");
+    Column column = new Column.Builder().withHeader("id").build();
+    column.addCell("1");
+    Table failing =
+        new Table.Builder()
+            .withColumns(column)
+            .withRenderListener(
+                new RenderListener() {
+                  @Override
+                  public void onPhaseStart(RenderPhase phase) {
+                    if (phase == RenderPhase.WRITE_FOOTER) {
+                      throw failure;
+                    }
+                  }
+                })
+            .build();
+
+    List<Throwable> errors = new ArrayList<>();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    AsyncTableWriter writer =
+        new AsyncTableWriter.Builder(out).withErrorHandler(errors::add).build();
+    assertNull(writer.getLastError());
+    writer.submit(failing);
+    writer.submit(createTable(2));
+    writer.close();
+    assertEquals(1, writer.getFailedCount());
+    assertEquals(printed(createTable(2)), out.toString("UTF-8"));
+    assertEquals(Collections.singletonList(failure), errors);
+    assertSame(failure, writer.getLastError());
+  }
+
+  @Test
+  void testErrorDoesNotStopWriter() throws Exception {
+    OutputStream out =
+        new OutputStream() {
+          private boolean failed;
+
+          @Override
+          public void write(int b) {}
+
+          @Override
+          public void flush() {
+            if (!failed) {
+              failed = true;
+              throw new AssertionError("flush failed");
+            }
+          }
+        };
+    AsyncTableWriter writer = new AsyncTableWriter.Builder(out).withCapacity(1).build();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(writer.submit(createTable(i)));
+    }
+    writer.close();
+    assertTrue(writer.getFailedCount() >= 1);
+    assertEquals(5, writer.getFailedCount() + writer.getWrittenCount());
+  }
+}
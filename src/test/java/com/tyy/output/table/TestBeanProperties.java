@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class TestBeanProperties {
+
+  private static class Person {
+    @TableColumn(order = 1)
+    private final String name;
+
+    private final int age;
+    private final double score;
+    private final Long visits;
+    private final String secret;
+
+    Person(String name, int age, double score, Long visits, String secret) {
+      this.name = name;
+      this.age = age;
+      this.score = score;
+      this.visits = visits;
+      this.secret = secret;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    @TableColumn(header = "years", dataAlign = HorizontalAlign.RIGHT)
+    public int getAge() {
+      return age;
+    }
+
+    public double getScore() {
+      return score;
+    }
+
+    public Long getVisits() {
+      return visits;
+    }
+
+    @TableColumn(ignore = true)
+    public String getSecret() {
+      return secret;
+    }
+  }
+
+  public static class Book {
+    @TableColumn(maxWidth = 6)
+    private final String title;
+
+    private final long pages;
+    private final boolean available;
+
+    Book(String title, long pages, boolean available) {
+      this.title = title;
+      this.pages = pages;
+      this.available = available;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public long getPages() {
+      return pages;
+    }
+
+    public boolean isAvailable() {
+      return available;
+    }
+
+    public String getISBN() {
+      return "n/a";
+    }
+
+    public static String getPublisher() {
+      return "static";
+    }
+  }
+
+  public interface HasId<T> {
+    T getId();
+  }
+
+  public static class Product implements HasId<String> {
+    @Override
+    public String getId() {
+      return "p-1";
+    }
+  }
+
+  @Test
+  void testBridgeMethodsAreSkipped() {
+    assertEquals(
+        Collections.singletonList("id"),
+        BeanProperties.of(Product.class).stream()
+            .map(BeanProperties.BeanProperty::getName)
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  void testPrivateBeanProperties() {
+    assertEquals(
+        Arrays.asList("name", "age", "score", "visits"),
+        BeanProperties.of(Person.class).stream()
+            .map(BeanProperties.BeanProperty::getName)
+            .collect(Collectors.toList()));
+    assertSame(BeanProperties.of(Person.class), BeanProperties.of(Person.class));
+  }
+
+  @Test
+  void testPrivateBean() {
+    Table table =
+        Table.fromBeans(
+            Person.class,
+            Arrays.asList(new Person("Tom", 14, 90.5, 3L, "x"), new Person("张三", 7, 1, null, "y")));
+    assertEquals(
+        "+------+-------+-------+--------+\n"
+            + "| NAME | YEARS | SCORE | VISITS |\n"
+            + "+------+-------+-------+--------+\n"
+            + "| Tom  |    14 | 90.5  | 3      |\n"
+            + "| 张三 |     7 | 1.0   | null   |\n"
+            + "+------+-------+-------+--------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testFromBeans() {
+    Table table =
+        Table.fromBeans(
+            Book.class,
+            Arrays.asList(new Book("Refactoring", 448, true), new Book("SICP", 657, false)));
+    assertEquals(
+        "+--------+-------+-----------+------+\n"
+            + "| TITLE  | PAGES | AVAILABLE | ISBN |\n"
+            + "+--------+-------+-----------+------+\n"
+            + "| Refac… | 448   | true      | n/a  |\n"
+            + "| SICP   | 657   | false     | n/a  |\n"
+            + "+--------+-------+-----------+------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testFromBeansWithLimit() {
+    Table table =
+        Table.fromBeans(
+            new Table.Builder().withLimit(1),
+            Book.class,
+            Arrays.asList(new Book("Refactoring", 448, true), new Book("SICP", 657, false)));
+    assertEquals(1, table.getDroppedRowCount());
+    assertEquals(
+        "+--------+-------+-----------+------+\n"
+            + "| TITLE  | PAGES | AVAILABLE | ISBN |\n"
+            + "+--------+-------+-----------+------+\n"
+            + "| Refac… | 448   | true      | n/a  |\n"
+            + "| … +1   | …     | …         | …    |\n"
+            + "+--------+-------+-----------+------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testInvalidInput() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Table.fromBeans(Book.class, Collections.singletonList(null)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Table.fromBeans(Object.class, Collections.emptyList()));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Table.fromRecords(Book.class, Collections.emptyList()));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class TestCellLines {
+
+  @Test
+  void testSplitLineBreaks() {
+    assertArrayEquals(
+        new int[] {0, 3, 3, 5, 5, 0, 6, 7, 2}, CellLines.split("abc\r\n\n中", 10, false));
+    assertEquals(5, CellLines.getMaxLineWidth("ab\ncdefg\r\n中文"));
+  }
+
+  @Test
+  void testWrapWords() {
+    String cell = "hello  big world";
+    int[] lines = CellLines.split(cell, 9, true);
+    assertEquals(2, CellLines.count(lines));
+    assertEquals("hello", slice(cell, lines, 0));
+    assertEquals("big world", slice(cell, lines, 1));
+    assertEquals(9, CellLines.width(lines, 1));
+  }
+
+  @Test
+  void testWrapWideCharacters() {
+    String cell = "中文abc";
+    int[] lines = CellLines.split(cell, 3, true);
+    assertArrayEquals(new int[] {0, 1, 2, 1, 3, 3, 3, 5, 2}, lines);
+
+    // 列宽小于单个宽字符时，字符单独占一行
+    assertEquals(2, CellLines.count(CellLines.split("中文", 1, true)));
+  }
+
+  @Test
+  void testSplitIfNeeded() {
+    assertNull(CellLines.splitIfNeeded("short", 5, 10, true));
+    assertNull(CellLines.splitIfNeeded("a long cell", 11, 5, false));
+    assertEquals(2, CellLines.count(CellLines.splitIfNeeded("a long cell", 11, 6, true)));
+    assertEquals(2, CellLines.count(CellLines.splitIfNeeded("a\nb", 1, 10, false)));
+  }
+
+  private static String slice(String cell, int[] lines, int line) {
+    return cell.substring(CellLines.start(lines, line), CellLines.end(lines, line));
+  }
+}
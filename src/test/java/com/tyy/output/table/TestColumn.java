@@ -99,4 +99,75 @@ public class TestColumn {
     Assertions.assertEquals(limitedColumn.getCell(2), "cell3");
     Assertions.assertEquals(limitedColumn.getCell(3), String.valueOf(ELLIPSIS));
   }
+
+  @Test
+  void testCellWidth() {
+    Column column = new Column.Builder().withHeader("name").build();
+    for (int i = 0; i < 100; i++) {
+      column.addCell("cell" + i);
+    }
+    column.addCell("超级长的名字").addCell(null);
+
+    Assertions.assertEquals(5, column.getCellWidth(0));
+    Assertions.assertEquals(6, column.getCellWidth(99));
+    Assertions.assertEquals(12, column.getCellWidth(100));
+    Assertions.assertEquals(4, column.getCellWidth(101));
+    Assertions.assertEquals(12, column.getMaxWidth());
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> column.getCellWidth(102));
+
+    Column limitedColumn = column.getLimitedColumn(2);
+    Assertions.assertEquals(3, limitedColumn.getCellCount());
+    Assertions.assertEquals(5, limitedColumn.getCellWidth(1));
+    Assertions.assertEquals(1, limitedColumn.getCellWidth(2));
+    Assertions.assertEquals(102, column.getCellCount());
+    Assertions.assertEquals("cell2", column.getCell(2));
+  }
+
+  @Test
+  void testColumnsFromSameBuilder() {
+    Column.Builder builder = new Column.Builder().withHeader("name");
+    Column first = builder.build().addCell("a");
+    Column second = builder.build().addCell("中文");
+    Assertions.assertEquals(1, first.getCellWidth(0));
+    Assertions.assertEquals(4, second.getCellWidth(0));
+
+    builder.withExpectedRows(100);
+    Column third = builder.build().addCell("abc");
+    Column fourth = builder.build().addCell("abcdef");
+    Assertions.assertEquals(3, third.getCellWidth(0));
+    Assertions.assertEquals(6, fourth.getCellWidth(0));
+  }
+
+  @Test
+  void testPrimitiveColumns() {
+    IntColumn ints = new Column.Builder().withHeader("id").buildIntColumn();
+    ints.addCell(7).addCell(-12345).addCell(Integer.MIN_VALUE);
+    ints.addCell("42").addCell("abc").addCell((String) null);
+    Assertions.assertEquals(6, ints.getCellCount());
+    Assertions.assertEquals("-12345", ints.getCell(1));
+    Assertions.assertEquals(String.valueOf(Integer.MIN_VALUE), ints.getCell(2));
+    Assertions.assertEquals("42", ints.getCell(3));
+    Assertions.assertEquals("abc", ints.getCell(4));
+    Assertions.assertEquals("null", ints.getCell(5));
+    Assertions.assertEquals("-12345", ints.getCellSequence(1).toString());
+    Assertions.assertEquals(6, ints.getCellWidth(1));
+    Assertions.assertEquals(11, ints.getMaxWidth());
+
+    LongColumn longs = new Column.Builder().withHeader("count").buildLongColumn();
+    longs.addCell(Long.MIN_VALUE).addCell(3);
+    Assertions.assertEquals(String.valueOf(Long.MIN_VALUE), longs.getCell(0));
+    Assertions.assertEquals("3", longs.getCellSequence(1).toString());
+    Assertions.assertEquals(20, longs.getMaxWidth());
+
+    DoubleColumn doubles = new Column.Builder().withHeader("ratio").buildDoubleColumn();
+    doubles.addCell(0.5).addCell(1e20).addCell(Double.NaN);
+    Assertions.assertEquals("1.0E20", doubles.getCell(1));
+    Assertions.assertEquals("NaN", doubles.getCell(2));
+    Assertions.assertEquals(6, doubles.getMaxWidth());
+
+    Column limitedColumn = ints.getLimitedColumn(2);
+    Assertions.assertEquals(3, limitedColumn.getCellCount());
+    Assertions.assertEquals("-12345", limitedColumn.getCell(1));
+    Assertions.assertEquals(String.valueOf(ELLIPSIS), limitedColumn.getCell(2));
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestResultSetTableSource {
+  private Connection connection;
+  private Statement statement;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:");
+    statement = connection.createStatement();
+    statement.execute(
+        "CREATE TABLE person (id INT, name VARCHAR(12), score DOUBLE, balance DECIMAL(8, 2),"
+            + " born DATE, active BOOLEAN, visits BIGINT)");
+    statement.execute(
+        "INSERT INTO person VALUES"
+            + " (1, 'Tom', 90.5, 1024.50, DATE '1990-01-02', TRUE, 12345678901),"
+            + " (2, '张远航', NULL, NULL, NULL, FALSE, 0),"
+            + " (3, 'Jane', 77.0, -3.10, DATE '2001-12-31', NULL, NULL)");
+  }
+
+  @AfterEach
+  void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  private ResultSet query() throws SQLException {
+    return statement.executeQuery("SELECT * FROM person ORDER BY id");
+  }
+
+  @Test
+  void testToTable() throws SQLException {
+    ResultSet resultSet = query();
+    List<Integer> fetchSizes = new ArrayList<>();
+    ResultSet recording =
+        (ResultSet)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                  if (method.getName().equals("setFetchSize")) {
+                    fetchSizes.add((Integer) args[0]);
+                  }
+                  return method.invoke(resultSet, args);
+                });
+    Table table =
+        new ResultSetTableSource.Builder(recording)
+            .withFetchSize(2)
+            .build()
+            .toTable(new Table.Builder().withBorderStyle(BorderStyle.BASIC2));
+    assertEquals(Collections.singletonList(2), fetchSizes);
+    assertEquals(
+        "+----+--------+-------+---------+------------+--------+-------------+\n"
+            + "| ID |  NAME  | SCORE | BALANCE |    BORN    | ACTIVE |   VISITS    |\n"
+            + "+----+--------+-------+---------+------------+--------+-------------+\n"
+            + "|  1 | Tom    |  90.5 | 1024.50 | 1990-01-02 | true   | 12345678901 |\n"
+            + "|  2 | 张远航 |  null |    null | null       | false  |           0 |\n"
+            + "|  3 | Jane   |  77.0 |   -3.10 | 2001-12-31 | null   |        null |\n"
+            + "+----+--------+-------+---------+------------+--------+-------------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testToTableWithLimit() throws SQLException {
+    ResultSet resultSet = statement.executeQuery("SELECT id, name FROM person ORDER BY id");
+    Table table =
+        new ResultSetTableSource.Builder(resultSet)
+            .build()
+            .toTable(new Table.Builder().withLimit(2));
+    assertEquals(1, table.getDroppedRowCount());
+    assertEquals(
+        "+------+--------+\n"
+            + "|  ID  |  NAME  |\n"
+            + "+------+--------+\n"
+            + "|    1 | Tom    |\n"
+            + "|    2 | 张远航 |\n"
+            + "| … +1 | …      |\n"
+            + "+------+--------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testStreamingRender() throws SQLException {
+    StringBuilder out = new StringBuilder();
+    ResultSet resultSet =
+        statement.executeQuery("SELECT id, name, born FROM person WHERE id <> 2 ORDER BY id");
+    new ResultSetTableSource.Builder(resultSet)
+        .withMaxColumnWidth(4)
+        .build()
+        .render(new Table.Builder().withLimit(1), out);
+    assertEquals(
+        "+------+------+------+\n"
+            + "|  ID  | NAME | BORN |\n"
+            + "+------+------+------+\n"
+            + "|    1 | Tom  | 199… |\n"
+            + "|    … | …    | …    |\n"
+            + "+------+------+------+\n",
+        out.toString());
+  }
+
+  @Test
+  void testReadFailureIsReported() throws SQLException {
+    ResultSet resultSet = query();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ResultSetTableSource.Builder(resultSet).withFetchSize(-1));
+    ResultSetTableSource source = new ResultSetTableSource.Builder(resultSet).build();
+    statement.close();
+    assertThrows(SQLException.class, () -> source.render(new Table.Builder(), new StringBuilder()));
+  }
+}
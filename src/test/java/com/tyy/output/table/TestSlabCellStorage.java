@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSlabCellStorage {
+
+  @Test
+  void testAddAndGet() {
+    SlabCellStorage storage = new SlabCellStorage();
+    String[] cells = {"John", "", "café", "张远航", null, "😀 emoji"};
+    for (int i = 0; i < 100; i++) {
+      for (String cell : cells) {
+        storage.add(cell);
+      }
+    }
+
+    Assertions.assertEquals(600, storage.size());
+    for (int i = 0; i < storage.size(); i++) {
+      String expected = cells[i % cells.length] == null ? "null" : cells[i % cells.length];
+      Assertions.assertEquals(expected, storage.get(i));
+      Assertions.assertEquals(expected, storage.view(i).toString());
+    }
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> storage.get(600));
+  }
+
+  @Test
+  void testView() {
+    SlabCellStorage storage = new SlabCellStorage();
+    storage.add("Hello World");
+    CharSequence view = storage.view(0);
+    Assertions.assertEquals(11, view.length());
+    Assertions.assertEquals('W', view.charAt(6));
+    Assertions.assertEquals("World", view.subSequence(6, 11).toString());
+    Assertions.assertEquals("Hello", new StringBuilder().append(view, 0, 5).toString());
+  }
+
+  @Test
+  void testHead() {
+    SlabCellStorage storage = new SlabCellStorage();
+    storage.add("a");
+    storage.add(null);
+    storage.add("中文");
+    CellStorage head = storage.head(2);
+    Assertions.assertEquals(2, head.size());
+    Assertions.assertEquals("null", head.get(1));
+    head.add("b");
+    Assertions.assertEquals("b", head.get(2));
+    Assertions.assertEquals("中文", storage.get(2));
+    Assertions.assertEquals("中文", storage.copy().get(2));
+  }
+
+  @Test
+  void testRetain() {
+    SlabCellStorage storage = new SlabCellStorage();
+    String[] cells = {"a", null, "中文", "bb", "😀"};
+    for (String cell : cells) {
+      storage.add(cell);
+    }
+    storage.retain(new int[] {1, 2, 4});
+    Assertions.assertEquals(3, storage.size());
+    Assertions.assertEquals("null", storage.get(0));
+    Assertions.assertEquals("中文", storage.get(1));
+    Assertions.assertEquals("😀", storage.get(2));
+    storage.add("c");
+    Assertions.assertEquals("c", storage.view(3).toString());
+  }
+
+  @Test
+  void testAllocatedBytes() {
+    int cellCount = 300_000;
+    long contentBytes = 0;
+    SlabCellStorage storage = new SlabCellStorage();
+    for (int i = 0; i < cellCount; i++) {
+      String cell = "row-" + i;
+      storage.add(cell);
+      contentBytes += cell.length();
+    }
+    Assertions.assertEquals(cellCount, storage.size());
+
+    // 每个单元格占用内容字节和一个偏移量，扩容最多多分配一半
+    long expected = contentBytes + (long) cellCount * Integer.BYTES;
+    long allocated = storage.getAllocatedBytes();
+    Assertions.assertTrue(allocated >= expected, "Allocated " + allocated + " bytes");
+    Assertions.assertTrue(
+        allocated <= expected * 3 / 2 + 1024, "Allocated " + allocated + " bytes");
+    // 列表存储中每个String对象本身至少占用24字节
+    Assertions.assertTrue(allocated < (long) cellCount * 24, "Allocated " + allocated + " bytes");
+  }
+
+  @Test
+  void testUtf8CellsUseMoreBytes() {
+    SlabCellStorage latin1 = new SlabCellStorage();
+    SlabCellStorage utf8 = new SlabCellStorage();
+    for (int i = 0; i < 1000; i++) {
+      latin1.add("café");
+      utf8.add("张远航");
+    }
+    // Latin-1 单元格每个字符一个字节，"张远航" 按UTF-8编码为9个字节
+    Assertions.assertTrue(latin1.getAllocatedBytes() < utf8.getAllocatedBytes());
+    Assertions.assertTrue(utf8.getAllocatedBytes() >= 9000 + 1000 * Integer.BYTES);
+  }
+}
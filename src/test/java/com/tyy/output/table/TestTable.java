@@ -22,9 +22,18 @@ package com.tyy.output.table;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.tyy.output.table.utils.LineUtil;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -102,6 +111,53 @@ public class TestTable {
         table.getStringFormat());
   }
 
+  @Test
+  void testAddDataChecksRowLength() {
+    Table table = new Table.Builder().build();
+    table.addHeader("name", "age");
+    table.addData(new String[][] {{"Tom", "14"}, {"Mary", "16"}, {"Ann", "9"}});
+    assertThrows(
+        IllegalArgumentException.class, () -> table.addData(new String[][] {{"Bob", "1", "x"}}));
+    assertThrows(IllegalArgumentException.class, () -> table.addRow("Bob"));
+    assertEquals(
+        "+------+-----+\n"
+            + "| NAME | AGE |\n"
+            + "+------+-----+\n"
+            + "| Tom  | 14  |\n"
+            + "| Mary | 16  |\n"
+            + "| Ann  | 9   |\n"
+            + "+------+-----+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testRowWriter() {
+    Column name = new Column.Builder().withHeader("name").build();
+    IntColumn age = new Column.Builder().withHeader("age").withExpectedRows(2).buildIntColumn();
+    Column comment = new Column.Builder().withHeader("comment").build();
+    Table table =
+        new Table.Builder().withColumns(name, age, comment).withExpectedRows(1_000).build();
+
+    RowWriter writer = table.rowWriter("Age", "NAME");
+    assertEquals(2, writer.getColumnCount());
+    writer.addRow(14, "Tom").addRows(Arrays.<Object[]>asList(new Object[] {16, null}));
+    table.addRow("Ann", 9, "new");
+    assertEquals(
+        "+------+-----+---------+\n"
+            + "| NAME | AGE | COMMENT |\n"
+            + "+------+-----+---------+\n"
+            + "| Tom  | 14  |         |\n"
+            + "| null | 16  |         |\n"
+            + "| Ann  | 9   | new     |\n"
+            + "+------+-----+---------+\n",
+        table.getStringFormat());
+
+    assertThrows(IllegalArgumentException.class, () -> writer.addRow(1, "a", "b"));
+    assertThrows(IllegalArgumentException.class, () -> table.rowWriter("missing"));
+    assertThrows(IllegalArgumentException.class, () -> table.rowWriter("name", "NAME"));
+    assertEquals(3, age.getCellCount());
+  }
+
   @Test
   void testCreateTableWithoutColumns() {
     Table table = new Table.Builder().build();
@@ -654,7 +710,7 @@ public class TestTable {
             + "+-------+--------------------------+\n"
             + "| John  |    This is a comment     |\n"
             + "| Jane  | This is another comment  |\n"
-            + "| …     |            …             |\n"
+            + "| … +2  |            …             |\n"
             + "+-------+--------------------------+\n"
             + "| foot1 |          foot2           |\n"
             + "+-------+--------------------------+",
@@ -699,7 +755,7 @@ public class TestTable {
             + "+---+-------+--------------------------+\n"
             + "| 1 | John  |    This is a comment     |\n"
             + "| 2 | Jane  | This is another comment  |\n"
-            + "| 3 | …     |            …             |\n"
+            + "| 3 | … +2  |            …             |\n"
             + "+---+-------+--------------------------+\n"
             + "|   | foot1 |          foot2           |\n"
             + "+---+-------+--------------------------+",
@@ -745,7 +801,7 @@ public class TestTable {
             + "╠═══════╪══════════════════════════╣\n"
             + "║ John  │    This is a comment     ║\n"
             + "║ Jane  │ This is another comment  ║\n"
-            + "║ …     │            …             ║\n"
+            + "║ … +2  │            …             ║\n"
             + "╟───────┼──────────────────────────╢\n"
             + "║ foot1 │          foot2           ║\n"
             + "╚═══════╧══════════════════════════╝",
@@ -793,10 +849,918 @@ public class TestTable {
             + "+-------+--------------------------+\n"
             + "| Jane  | This is another comment  |\n"
             + "+-------+--------------------------+\n"
-            + "| …     |            …             |\n"
+            + "| … +2  |            …             |\n"
             + "+-------+--------------------------+\n"
             + "| foot1 |          foot2           |\n"
             + "+-------+--------------------------+",
         infoOutput);
   }
+
+  @Test
+  void testTailLimitKeepsLastRows() {
+    Column id = new Column.Builder().withHeader("id").build();
+    Table table = new Table.Builder().withColumns(id).withLimit(3, LimitMode.TAIL).build();
+    for (int i = 0; i < 100; i++) {
+      table.addRow(i);
+    }
+
+    assertEquals(0, id.getCellCount());
+    assertThrows(IllegalStateException.class, () -> id.addCell("lost"));
+    assertEquals(97, table.getDroppedRowCount());
+    assertEquals(
+        "+-------+\n"
+            + "|  ID   |\n"
+            + "+-------+\n"
+            + "| … +97 |\n"
+            + "| 97    |\n"
+            + "| 98    |\n"
+            + "| 99    |\n"
+            + "+-------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testReservoirLimitKeepsSameRowsInEveryColumn() {
+    IntColumn id = new Column.Builder().withHeader("id").buildIntColumn();
+    Column name = new Column.Builder().withHeader("name").withCompactStorage(true).build();
+    Table table =
+        new Table.Builder().withColumns(id, name).withLimit(50, LimitMode.RESERVOIR).build();
+    for (int i = 0; i < 10_000; i++) {
+      table.addRow(i, "name" + i);
+    }
+
+    TableLayout layout = table.layout();
+    assertEquals(51, layout.rowCount);
+    assertEquals(9_950, table.getDroppedRowCount());
+    for (int i = 0; i < 50; i++) {
+      String retained = layout.columns[0].getCell(i);
+      assertEquals("name" + retained, layout.columns[1].getCell(i));
+      if (i > 0) {
+        Assertions.assertTrue(
+            Integer.parseInt(layout.columns[0].getCell(i - 1)) < Integer.parseInt(retained));
+      }
+    }
+  }
+
+  @Test
+  void testLimitAppliesToExistingCells() {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("a").addCell("b").addCell("c");
+    Table table = new Table.Builder().withLimit(2, LimitMode.TAIL).build();
+    table.addColumns(name);
+
+    assertEquals(3, name.getCellCount());
+    assertEquals("a", name.getCell(0));
+    assertEquals(1, table.getDroppedRowCount());
+    assertEquals(
+        "+------+\n"
+            + "| NAME |\n"
+            + "+------+\n"
+            + "| … +1 |\n"
+            + "| b    |\n"
+            + "| c    |\n"
+            + "+------+\n",
+        table.getStringFormat());
+    assertThrows(IllegalStateException.class, () -> name.addCell("d"));
+    assertThrows(
+        IllegalArgumentException.class, () -> new Table.Builder().withLimit(-2, LimitMode.HEAD));
+  }
+
+  @Test
+  void testTailLimitShrinksWidthOfEvictedCells() {
+    Column name = new Column.Builder().withHeader("n").build();
+    Table table = new Table.Builder().withColumns(name).withLimit(2, LimitMode.TAIL).build();
+    table.addRow("veryveryverylongvalue");
+    table.addRow("b");
+    table.addRow("c");
+
+    assertEquals(
+        "+------+\n"
+            + "|  N   |\n"
+            + "+------+\n"
+            + "| … +1 |\n"
+            + "| b    |\n"
+            + "| c    |\n"
+            + "+------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testLayoutOfLimitedTableIsStable() {
+    Table table =
+        new Table.Builder()
+            .withColumns(new Column.Builder().withHeader("id").build())
+            .withLimit(2, LimitMode.TAIL)
+            .build();
+    table.addRow("1");
+    table.addRow("2");
+    TableLayout layout = table.layout();
+    StringBuilder expected = new StringBuilder();
+    table.render(layout, expected);
+
+    for (int i = 3; i < 8; i++) {
+      table.addRow("longer value " + i);
+    }
+    StringBuilder actual = new StringBuilder();
+    table.render(layout, actual);
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  @Test
+  void testRenderToAppendableAndWriter() {
+    Table table = new Table.Builder().build();
+    table.addHeader("name", "age");
+    table.addData(new String[][] {{"Tom", "14"}, {"Mary", "16"}});
+    String expected =
+        "+------+-----+\n"
+            + "| NAME | AGE |\n"
+            + "+------+-----+\n"
+            + "| Tom  | 14  |\n"
+            + "| Mary | 16  |\n"
+            + "+------+-----+\n";
+
+    StringBuilder sb = new StringBuilder();
+    table.render(sb);
+    assertEquals(expected, sb.toString());
+
+    StringWriter writer = new StringWriter();
+    table.render(writer);
+    assertEquals(expected, writer.toString());
+  }
+
+  @Test
+  void testRenderRowsFromIterator() {
+    Column name = new Column.Builder().withHeader("name").withMaxWidth(5).build();
+    Column age = new Column.Builder().withHeader("age").withMaxWidth(3).withFooter("sum").build();
+    Table table = new Table.Builder().withColumns(name, age).withLimit(2).build();
+    List<String[]> rows =
+        Arrays.asList(
+            new String[] {"Tom", "14"}, new String[] {"Jonathan", "16"}, new String[] {"Ann", "9"});
+
+    StringBuilder sb = new StringBuilder();
+    table.renderRows(rows.iterator(), sb);
+    assertEquals(
+        "+-------+-----+\n"
+            + "| NAME  | AGE |\n"
+            + "+-------+-----+\n"
+            + "| Tom   | 14  |\n"
+            + "| Jona… | 16  |\n"
+            + "| …     | …   |\n"
+            + "+-------+-----+\n"
+            + "|       | sum |\n"
+            + "+-------+-----+\n",
+        sb.toString());
+  }
+
+  @Test
+  void testRenderRowsFromStream() {
+    Column name = new Column.Builder().withHeader("name").withMaxWidth(4).build();
+    Column age = new Column.Builder().withHeader("age").withMaxWidth(3).build();
+    Table table = new Table.Builder().withColumns(name, age).build();
+
+    StringBuilder sb = new StringBuilder();
+    table.renderRows(Stream.of(new Object[] {"Tom", 14}, new Object[] {null, 16}), sb);
+    assertEquals(
+        "+------+-----+\n"
+            + "| NAME | AGE |\n"
+            + "+------+-----+\n"
+            + "| Tom  | 14  |\n"
+            + "| null | 16  |\n"
+            + "+------+-----+\n",
+        sb.toString());
+
+    String empty =
+        "+------+-----+\n"
+            + "| NAME | AGE |\n"
+            + "+------+-----+\n"
+            + "|      |     |\n"
+            + "+------+-----+\n";
+    sb.setLength(0);
+    table.renderRows(Stream.<Object[]>empty(), sb);
+    assertEquals(empty, sb.toString());
+    sb.setLength(0);
+    new Table.Builder()
+        .withColumns(name, age)
+        .withLimit(0)
+        .build()
+        .renderRows(Stream.<Object[]>empty(), sb);
+    assertEquals(empty, sb.toString());
+
+    Table withoutWidth = new Table.Builder().build();
+    withoutWidth.addHeader("name");
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> withoutWidth.renderRows(Stream.<Object[]>empty(), new StringBuilder()));
+  }
+
+  @Test
+  void testTableWithCompactStorage() {
+    Column name = new Column.Builder().withHeader("name").withCompactStorage(true).build();
+    name.addCell("张远航").addCell("Jane").addCell(null);
+    Column comment =
+        new Column.Builder().withHeader("comment").withMaxWidth(8).withCompactStorage(true).build();
+    comment.addCell("short").addCell("This is a long comment").addCell("café");
+    Table table = new Table.Builder().withColumns(name, comment).build();
+    assertEquals(
+        "+--------+----------+\n"
+            + "|  NAME  | COMMENT  |\n"
+            + "+--------+----------+\n"
+            + "| 张远航 | short    |\n"
+            + "| Jane   | This is… |\n"
+            + "| null   | café     |\n"
+            + "+--------+----------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testTableWithPrimitiveColumns() {
+    IntColumn id =
+        new Column.Builder().withHeader("id").withDataAlign(HorizontalAlign.RIGHT).buildIntColumn();
+    id.addCell(1).addCell(20).addCell(-300);
+    DoubleColumn score = new Column.Builder().withHeader("score").buildDoubleColumn();
+    score.addCell(9.5).addCell(10.0).addCell(7.25);
+    Table table = new Table.Builder().withColumns(id, score).withRowNumbersEnabled(true).build();
+    assertEquals(
+        "+---+------+-------+\n"
+            + "|   |  ID  | SCORE |\n"
+            + "+---+------+-------+\n"
+            + "| 1 |    1 | 9.5   |\n"
+            + "| 2 |   20 | 10.0  |\n"
+            + "| 3 | -300 | 7.25  |\n"
+            + "+---+------+-------+\n",
+        table.getStringFormat());
+  }
+
+  @Test
+  void testParallelRenderingMatchesSequential() {
+    String sequential = buildLargeTable(false).getStringFormat();
+    String parallel = buildLargeTable(true).getStringFormat();
+    assertEquals(sequential, parallel);
+  }
+
+  @Test
+  void testRenderTailOnlyWritesNewRows() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Column age = new Column.Builder().withHeader("age").build();
+    Table table = new Table.Builder().withColumns(name, age).build();
+
+    StringBuilder sb = new StringBuilder();
+    name.addCell("Tom");
+    age.addCell("1");
+    table.renderTail(sb);
+    assertEquals(
+        "+------+-----+\n" + "| NAME | AGE |\n" + "+------+-----+\n" + "| Tom  | 1   |\n",
+        sb.toString());
+
+    sb.setLength(0);
+    table.renderTail(sb);
+    assertEquals("", sb.toString());
+
+    name.addCell("Jane");
+    age.addCell("22");
+    table.renderTail(sb);
+    assertEquals("| Jane | 22  |\n", sb.toString());
+
+    sb.setLength(0);
+    table.finishTail(sb);
+    assertEquals("+------+-----+\n", sb.toString());
+  }
+
+  @Test
+  void testRenderTailReprintsHeaderWhenWidened() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Table table = new Table.Builder().withColumns(name).build();
+
+    StringBuilder sb = new StringBuilder();
+    name.addCell("Tom");
+    table.renderTail(sb);
+    name.addCell("Jonathan");
+    table.renderTail(sb);
+    assertEquals(
+        "+------+\n"
+            + "| NAME |\n"
+            + "+------+\n"
+            + "| Tom  |\n"
+            + "+------+\n"
+            + "+----------+\n"
+            + "|   NAME   |\n"
+            + "+----------+\n"
+            + "| Jonathan |\n",
+        sb.toString());
+  }
+
+  @Test
+  void testRenderTailClipsWhenWidened() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Table table =
+        new Table.Builder()
+            .withColumns(name)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withTailWidthPolicy(TailWidthPolicy.CLIP)
+            .build();
+
+    StringBuilder sb = new StringBuilder();
+    name.addCell("Tom");
+    table.renderTail(sb);
+    name.addCell("Jonathan");
+    table.renderTail(sb);
+    table.finishTail(sb);
+    assertEquals(
+        "+------+\n"
+            + "| NAME |\n"
+            + "+------+\n"
+            + "| Tom  |\n"
+            + "+------+\n"
+            + "| Jon… |\n"
+            + "+------+\n",
+        sb.toString());
+  }
+
+  @Test
+  void testRenderTailRejectsRowNumbers() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Table table = new Table.Builder().withColumns(name).withRowNumbersEnabled(true).build();
+    assertThrows(IllegalArgumentException.class, () -> table.renderTail(new StringBuilder()));
+  }
+
+  @Test
+  void testRenderToChannel() throws UnsupportedEncodingException {
+    String expected = buildEncodedTable().getStringFormat();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    buildEncodedTable().render(Channels.newChannel(out));
+    assertEquals(expected, out.toString("UTF-8"));
+  }
+
+  @Test
+  void testRenderToSmallByteBuffer() throws UnsupportedEncodingException {
+    String expected = buildEncodedTable().getStringFormat();
+    Table table = buildEncodedTable();
+    Table.EncodedRendering abandoned = table.encodedRendering();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(7);
+    Assertions.assertFalse(abandoned.writeTo(buffer));
+    buffer.clear();
+
+    Table.EncodedRendering rendering = table.encodedRendering();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    boolean finished;
+    do {
+      finished = rendering.writeTo(buffer);
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        out.write(buffer.get());
+      }
+      buffer.clear();
+    } while (!finished);
+    Assertions.assertTrue(rendering.isFinished());
+    Assertions.assertFalse(abandoned.isFinished());
+    assertEquals(expected, out.toString("UTF-8"));
+    Assertions.assertTrue(rendering.writeTo(buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testRenderListener() {
+    RecordingListener listener = new RecordingListener();
+    Column name = new Column.Builder().withHeader("name").build();
+    for (int i = 0; i < 3_000; i++) {
+      name.addCell("张远航" + i);
+    }
+    Table table =
+        new Table.Builder()
+            .withTitle("listener")
+            .withColumns(name)
+            .withLimit(2_500)
+            .withRenderListener(listener)
+            .build();
+    String output = table.getStringFormat();
+
+    assertEquals(
+        Arrays.asList(
+            "start CHECK_COLUMNS",
+            "end CHECK_COLUMNS",
+            "start APPLY_LIMIT",
+            "end APPLY_LIMIT",
+            "start PROCESS_COLUMNS_WIDTH",
+            "end PROCESS_COLUMNS_WIDTH",
+            "start WRITE_HEADER",
+            "end WRITE_HEADER",
+            "start WRITE_DATA",
+            "progress 1024/2501",
+            "progress 2048/2501",
+            "progress 2501/2501",
+            "end WRITE_DATA",
+            "start WRITE_FOOTER",
+            "end WRITE_FOOTER",
+            "complete 2501"),
+        listener.events);
+    assertEquals(output.getBytes(StandardCharsets.UTF_8).length, listener.bytesEmitted);
+    assertEquals(0, listener.peakBufferSize);
+  }
+
+  @Test
+  void testRenderListenerWithChannel() throws UnsupportedEncodingException {
+    RecordingListener listener = new RecordingListener();
+    String expected = buildEncodedTable().getStringFormat();
+    Table table = encodedTableBuilder().withRenderListener(listener).build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.render(Channels.newChannel(out));
+
+    assertEquals(expected, out.toString("UTF-8"));
+    assertEquals(out.size(), listener.bytesEmitted);
+    Assertions.assertTrue(listener.peakBufferSize > 0);
+    assertEquals("complete 3000", listener.events.get(listener.events.size() - 1));
+  }
+
+  @Test
+  void testRepeatedRenderingIsStable() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Column age = new Column.Builder().withHeader("age").build();
+    for (int i = 0; i < 5; i++) {
+      name.addCell("name" + i);
+      age.addCell(String.valueOf(i));
+    }
+    Table table =
+        new Table.Builder()
+            .withTitle("a rather long table title")
+            .withColumns(name, age)
+            .withLimit(3)
+            .withRowNumbersEnabled(true)
+            .build();
+
+    String first = table.getStringFormat();
+    assertEquals(first, table.getStringFormat());
+    assertEquals(5, name.getCellCount());
+    assertEquals(2, table.getDroppedRowCount());
+    assertEquals(5, name.getMaxWidth());
+    assertEquals(3, age.getMaxWidth());
+  }
+
+  @Test
+  void testLayoutIsCachedUntilDataChanges() {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("Tom");
+    Table table = new Table.Builder().withColumns(name).withRowNumbersEnabled(true).build();
+
+    TableLayout layout = table.layout();
+    Assertions.assertSame(layout, table.layout());
+    assertEquals(2, layout.getColumnCount());
+    assertEquals(1, layout.getRowCount());
+    Assertions.assertArrayEquals(new int[] {1, 4}, layout.getColumnWidths());
+
+    name.addCell("Jonathan");
+    TableLayout changed = table.layout();
+    Assertions.assertNotSame(layout, changed);
+    assertEquals(2, changed.getRowCount());
+    Assertions.assertArrayEquals(new int[] {1, 8}, changed.getColumnWidths());
+
+    StringBuilder sb = new StringBuilder();
+    table.render(layout, sb);
+    assertEquals(
+        "+---+------+\n"
+            + "|   | NAME |\n"
+            + "+---+------+\n"
+            + "| 1 | Tom  |\n"
+            + "+---+------+\n",
+        sb.toString());
+  }
+
+  @Test
+  void testEmptyTableRenderingIsStable() {
+    Column name = new Column.Builder().withHeader("name").build();
+    Table table = new Table.Builder().withColumns(name).build();
+    String first = table.getStringFormat();
+    assertEquals(first, table.getStringFormat());
+    assertEquals(0, name.getCellCount());
+  }
+
+  @Test
+  void testRenderPage() {
+    Column name = new Column.Builder().withHeader("name").build();
+    for (int i = 0; i < 9; i++) {
+      name.addCell("n" + i);
+    }
+    name.addCell("longest");
+    Table table =
+        new Table.Builder()
+            .withColumns(name)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withRowNumbersEnabled(true)
+            .build();
+
+    assertEquals(3, table.getPageCount(4));
+    assertEquals(1, table.getPageCount(10));
+
+    StringBuilder sb = new StringBuilder();
+    table.renderPage(1, 4, sb);
+    assertEquals(
+        "+----+---------+\n"
+            + "|    |  NAME   |\n"
+            + "+----+---------+\n"
+            + "| 5  | n4      |\n"
+            + "+----+---------+\n"
+            + "| 6  | n5      |\n"
+            + "+----+---------+\n"
+            + "| 7  | n6      |\n"
+            + "+----+---------+\n"
+            + "| 8  | n7      |\n"
+            + "+----+---------+\n",
+        sb.toString());
+
+    sb.setLength(0);
+    table.renderPage(2, 4, sb);
+    assertEquals(
+        "+----+---------+\n"
+            + "|    |  NAME   |\n"
+            + "+----+---------+\n"
+            + "| 9  | n8      |\n"
+            + "+----+---------+\n"
+            + "| 10 | longest |\n"
+            + "+----+---------+\n",
+        sb.toString());
+
+    assertThrows(IllegalArgumentException.class, () -> table.renderPage(3, 4, new StringBuilder()));
+    assertThrows(IllegalArgumentException.class, () -> table.getPageCount(0));
+  }
+
+  @Test
+  void testHeaderRepeatInterval() throws UnsupportedEncodingException {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("a").addCell("b").addCell("c");
+    Table table =
+        new Table.Builder()
+            .withColumns(name)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withHeaderRepeatInterval(2)
+            .build();
+    String output = table.getStringFormat();
+    assertEquals(
+        "+------+\n"
+            + "| NAME |\n"
+            + "+------+\n"
+            + "| a    |\n"
+            + "+------+\n"
+            + "| b    |\n"
+            + "+------+\n"
+            + "| NAME |\n"
+            + "+------+\n"
+            + "| c    |\n"
+            + "+------+\n",
+        output);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.render(Channels.newChannel(out));
+    assertEquals(output, out.toString("UTF-8"));
+  }
+
+  @Test
+  void testMultiLineCells() throws UnsupportedEncodingException {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("Tom").addCell("Mary\r\nJane");
+    Column note =
+        new Column.Builder().withHeader("note").withDataAlign(HorizontalAlign.RIGHT).build();
+    note.addCell("first\nsecond\nthird").addCell("x");
+    Table table =
+        new Table.Builder()
+            .withColumns(name, note)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withRowNumbersEnabled(true)
+            .build();
+    String output = table.getStringFormat();
+    assertEquals(
+        "+---+------+--------+\n"
+            + "|   | NAME |  NOTE  |\n"
+            + "+---+------+--------+\n"
+            + "| 1 | Tom  |  first |\n"
+            + "|   |      | second |\n"
+            + "|   |      |  third |\n"
+            + "+---+------+--------+\n"
+            + "| 2 | Mary |      x |\n"
+            + "|   | Jane |        |\n"
+            + "+---+------+--------+\n",
+        output);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.render(Channels.newChannel(out));
+    assertEquals(output, out.toString("UTF-8"));
+  }
+
+  @Test
+  void testWrapOverflow() {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("Tom").addCell("Jane");
+    Column comment = new Column.Builder().withHeader("comment").withMaxWidth(10).build();
+    comment.addCell("This is a long comment").addCell("Supercalifragilistic 中文内容");
+    Table table =
+        new Table.Builder()
+            .withColumns(name, comment)
+            .withOverflowBehaviour(OverflowBehaviour.WRAP)
+            .build();
+    String output = table.getStringFormat();
+    assertEquals(
+        "+------+------------+\n"
+            + "| NAME |  COMMENT   |\n"
+            + "+------+------------+\n"
+            + "| Tom  | This is a  |\n"
+            + "|      | long       |\n"
+            + "|      | comment    |\n"
+            + "| Jane | Supercalif |\n"
+            + "|      | ragilistic |\n"
+            + "|      | 中文内容   |\n"
+            + "+------+------------+\n",
+        output);
+    assertEquals(output, table.getStringFormat());
+    Table parallel =
+        new Table.Builder()
+            .withColumns(name, comment)
+            .withOverflowBehaviour(OverflowBehaviour.WRAP)
+            .withParallelRendering(true)
+            .withParallelThreshold(1)
+            .build();
+    assertEquals(output, parallel.getStringFormat());
+  }
+
+  @Test
+  void testRenderRowsWithWrap() {
+    Column name = new Column.Builder().withHeader("name").withMaxWidth(4).build();
+    Column note = new Column.Builder().withHeader("note").withMaxWidth(6).build();
+    Table table =
+        new Table.Builder()
+            .withColumns(name, note)
+            .withOverflowBehaviour(OverflowBehaviour.WRAP)
+            .build();
+    StringBuilder sb = new StringBuilder();
+    table.renderRows(
+        Arrays.asList(new String[] {"Tom", "hello world"}, new String[] {"Ann", "a\nb"}).iterator(),
+        sb);
+    assertEquals(
+        "+------+--------+\n"
+            + "| NAME |  NOTE  |\n"
+            + "+------+--------+\n"
+            + "| Tom  | hello  |\n"
+            + "|      | world  |\n"
+            + "| Ann  | a      |\n"
+            + "|      | b      |\n"
+            + "+------+--------+\n",
+        sb.toString());
+  }
+
+  @Test
+  void testClipByDisplayWidth() {
+    assertEquals("| 中文内… |", clippedRow(OverflowBehaviour.CLIP_RIGHT, 7, "中文内容测试数据"));
+    assertEquals("| 中文…  |", clippedRow(OverflowBehaviour.CLIP_RIGHT, 6, "中文内容测试数据"));
+    assertEquals("|  …数据 |", clippedRow(OverflowBehaviour.CLIP_LEFT, 6, "中文内容测试数据"));
+    assertEquals("| 中…据  |", clippedRow(OverflowBehaviour.CLIP_MIDDLE, 6, "中文内容测试数据"));
+    assertEquals("| Hel…rld |", clippedRow(OverflowBehaviour.CLIP_MIDDLE, 7, "Hello World"));
+    assertEquals("| 😀😀… |", clippedRow(OverflowBehaviour.CLIP_RIGHT, 5, "😀😀😀😀"));
+    assertEquals("| …😀😀 |", clippedRow(OverflowBehaviour.CLIP_LEFT, 5, "😀😀😀😀"));
+    assertEquals("| …e\u0301 |", clippedRow(OverflowBehaviour.CLIP_LEFT, 2, "abcde\u0301"));
+  }
+
+  private static String clippedRow(OverflowBehaviour overflowBehaviour, int width, String cell) {
+    Column column = new Column.Builder().withMaxWidth(width).build();
+    column.addCell(cell);
+    Table table =
+        new Table.Builder().withColumns(column).withOverflowBehaviour(overflowBehaviour).build();
+    return table.getStringFormat().split("\n")[3];
+  }
+
+  @Test
+  void testStyledRendering() throws UnsupportedEncodingException {
+    CellStyle red = new CellStyle.Builder().withForeground(AnsiColor.RED).build();
+    CellStyle green = new CellStyle.Builder().withForeground(AnsiColor.GREEN).build();
+    CellStyle bold = new CellStyle.Builder().withBold(true).build();
+    Column name = new Column.Builder().withHeader("name").withHeaderStyle(bold).build();
+    name.addCell("db").addCell("web");
+    Column status =
+        new Column.Builder()
+            .withHeader("status")
+            .withStyleRule("FAILED"::equals, red)
+            .withStyleRule(cell -> cell.startsWith("OK"), green)
+            .build();
+    status.addCell("FAILED").addCell("OK");
+
+    Table table =
+        new Table.Builder()
+            .withColumns(name, status)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withStyleMode(StyleMode.ALWAYS)
+            .build();
+    String output = table.getStringFormat();
+    assertEquals(
+        "+------+--------+\n"
+            + "|\u001B[1m NAME \u001B[0m| STATUS |\n"
+            + "+------+--------+\n"
+            + "| db   |\u001B[31m FAILED \u001B[0m|\n"
+            + "+------+--------+\n"
+            + "| web  |\u001B[32m OK     \u001B[0m|\n"
+            + "+------+--------+\n",
+        output);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    table.render(Channels.newChannel(out));
+    assertEquals(output, out.toString("UTF-8"));
+  }
+
+  @Test
+  void testStylesAreSkippedWhenNotTerminal() {
+    int[] evaluations = new int[1];
+    Column status =
+        new Column.Builder()
+            .withHeader("status")
+            .withHeaderStyle(new CellStyle.Builder().withUnderline(true).build())
+            .withStyleRule(
+                cell -> ++evaluations[0] > 0,
+                new CellStyle.Builder().withBackground(AnsiColor.YELLOW).build())
+            .build();
+    status.addCell("WARN");
+    Table table = new Table.Builder().withColumns(status).build();
+
+    assertEquals(
+        "+--------+\n" + "| STATUS |\n" + "+--------+\n" + "| WARN   |\n" + "+--------+\n",
+        table.getStringFormat());
+    assertEquals(0, evaluations[0]);
+
+    Table never = new Table.Builder().withColumns(status).withStyleMode(StyleMode.NEVER).build();
+    never.print(new ByteArrayOutputStream());
+    assertEquals(0, evaluations[0]);
+  }
+
+  @Test
+  void testEscapeSequencesInCellsDoNotCountTowardWidth() {
+    Column status = new Column.Builder().withHeader("status").build();
+    status.addCell("\u001B[33mAMBER\u001B[0m").addCell("OK");
+    Table table = new Table.Builder().withColumns(status).build();
+    assertEquals(
+        "+--------+\n"
+            + "| STATUS |\n"
+            + "+--------+\n"
+            + "| \u001B[33mAMBER\u001B[0m  |\n"
+            + "| OK     |\n"
+            + "+--------+\n",
+        table.getStringFormat());
+    assertEquals(
+        "| \u001B[33mAM\u001B[0m… |",
+        clippedRow(OverflowBehaviour.CLIP_RIGHT, 3, "\u001B[33mAMBER\u001B[0m"));
+  }
+
+  @Test
+  void testRenderRowsWithStyles() {
+    Column level =
+        new Column.Builder()
+            .withHeader("level")
+            .withMaxWidth(5)
+            .withDataStyle(new CellStyle.Builder().withItalic(true).build())
+            .withStyleRule(
+                "ERROR"::equals, new CellStyle.Builder().withForeground(AnsiColor.RED).build())
+            .build();
+    Table table =
+        new Table.Builder()
+            .withColumns(level)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withStyleMode(StyleMode.ALWAYS)
+            .build();
+    StringBuilder sb = new StringBuilder();
+    table.renderRows(Arrays.asList(new String[] {"ERROR"}, new String[] {"INFO"}).iterator(), sb);
+    assertEquals(
+        "+-------+\n"
+            + "| LEVEL |\n"
+            + "+-------+\n"
+            + "|\u001B[31m ERROR \u001B[0m|\n"
+            + "+-------+\n"
+            + "|\u001B[3m INFO  \u001B[0m|\n"
+            + "+-------+\n",
+        sb.toString());
+  }
+
+  @Test
+  void testFitToTableWidth() {
+    Column id = new Column.Builder().withHeader("id").build();
+    Column name = new Column.Builder().withHeader("name").build();
+    Column comment = new Column.Builder().withHeader("comment").withWeight(2).build();
+    id.addCell("1").addCell("2");
+    name.addCell("a rather long name").addCell("short");
+    comment.addCell("this comment is much longer than the terminal").addCell("ok");
+    Table table =
+        new Table.Builder()
+            .withColumns(id, name, comment)
+            .withBorderStyle(BorderStyle.BASIC)
+            .withTableWidth(40)
+            .build();
+    assertEquals(
+        "+----+-----------+---------------------+\n"
+            + "| ID |   NAME    |       COMMENT       |\n"
+            + "+----+-----------+---------------------+\n"
+            + "| 1  | a rather… | this comment is mu… |\n"
+            + "+----+-----------+---------------------+\n"
+            + "| 2  | short     | ok                  |\n"
+            + "+----+-----------+---------------------+\n",
+        table.getStringFormat());
+
+    Table wrapped =
+        new Table.Builder()
+            .withColumns(id, name, comment)
+            .withOverflowBehaviour(OverflowBehaviour.WRAP)
+            .withTableWidth(40)
+            .build();
+    for (String line : wrapped.getStringFormat().split("\n")) {
+      assertEquals(40, LineUtil.getDisplayWidth(line), line);
+    }
+
+    Table wide = new Table.Builder().withColumns(id, name, comment).withTableWidth(200).build();
+    assertEquals(
+        new Table.Builder().withColumns(id, name, comment).build().getStringFormat(),
+        wide.getStringFormat());
+    assertThrows(IllegalArgumentException.class, () -> new Table.Builder().withTableWidth(0));
+  }
+
+  @Test
+  void testFitToSuppliedTerminalWidth() {
+    Column name = new Column.Builder().withHeader("name").build();
+    name.addCell("a rather long name");
+    int[] width = {12};
+    Table table = new Table.Builder().withColumns(name).withTerminalWidth(() -> width[0]).build();
+    Assertions.assertTrue(table.isFitToTerminal());
+    assertEquals(
+        "+----------+\n"
+            + "|   NAME   |\n"
+            + "+----------+\n"
+            + "| a rathe… |\n"
+            + "+----------+\n",
+        table.getStringFormat());
+
+    width[0] = 0;
+    assertEquals(
+        "+--------------------+\n"
+            + "|        NAME        |\n"
+            + "+--------------------+\n"
+            + "| a rather long name |\n"
+            + "+--------------------+\n",
+        table.getStringFormat());
+    assertThrows(NullPointerException.class, () -> new Table.Builder().withTerminalWidth(null));
+  }
+
+  private static class RecordingListener implements RenderListener {
+    private final List<String> events = new ArrayList<>();
+    private long bytesEmitted;
+    private int peakBufferSize;
+
+    @Override
+    public void onPhaseStart(RenderPhase phase) {
+      events.add("start " + phase);
+    }
+
+    @Override
+    public void onPhaseEnd(RenderPhase phase, long elapsedNanos) {
+      Assertions.assertTrue(elapsedNanos >= 0);
+      events.add("end " + phase);
+    }
+
+    @Override
+    public void onProgress(int rowsRendered, int totalRows, long bytesEmitted) {
+      events.add("progress " + rowsRendered + "/" + totalRows);
+    }
+
+    @Override
+    public void onComplete(int rowsRendered, long bytesEmitted, int peakBufferSize) {
+      events.add("complete " + rowsRendered);
+      this.bytesEmitted = bytesEmitted;
+      this.peakBufferSize = peakBufferSize;
+    }
+  }
+
+  private static Table buildEncodedTable() {
+    return encodedTableBuilder().build();
+  }
+
+  private static Table.Builder encodedTableBuilder() {
+    Column name = new Column.Builder().withHeader("name").withFooter("total").build();
+    Column comment = new Column.Builder().withHeader("comment").withMaxWidth(10).build();
+    for (int i = 0; i < 3_000; i++) {
+      name.addCell(i % 2 == 0 ? "张远航" + i : "😀 " + i);
+      comment.addCell(i % 3 == 0 ? "a rather long comment" : "café");
+    }
+    return new Table.Builder()
+        .withTitle("encoded")
+        .withBorderStyle(BorderStyle.FANCY2)
+        .withColumns(name, comment);
+  }
+
+  private static Table buildLargeTable(boolean parallel) {
+    Column name = new Column.Builder().withHeader("name").withCompactStorage(true).build();
+    IntColumn age = new Column.Builder().withHeader("age").buildIntColumn();
+    Column comment = new Column.Builder().withHeader("comment").withMaxWidth(12).build();
+    for (int i = 0; i < 5_000; i++) {
+      name.addCell("name-" + i);
+      age.addCell(i % 100);
+      comment.addCell(i % 3 == 0 ? "a rather long comment" : "备注 " + i);
+    }
+    return new Table.Builder()
+        .withTitle("parallel")
+        .withBorderStyle(BorderStyle.FANCY2)
+        .withRowNumbersEnabled(true)
+        .withParallelRendering(parallel)
+        .withParallelThreshold(100)
+        .withColumns(name, age, comment)
+        .build();
+  }
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import org.junit.jupiter.api.Test;
+
+public class TestTableExport {
+
+  private static Table createTable() {
+    Column name = new Column.Builder().withHeader("name").build();
+    IntColumn age = new Column.Builder().withHeader("age").buildIntColumn();
+    DoubleColumn score = new Column.Builder().withHeader("score").buildDoubleColumn();
+    Column hidden = new Column.Builder().withHeader("secret").withVisible(false).build();
+    name.addCell("plain").addCell("a,\"b\"").addCell("x\ty\\z\n张三");
+    age.addCell(1).addCell(-20);
+    age.addCell("n/a");
+    score.addCell(0.5).addCell(Double.NaN).addCell(1e21);
+    hidden.addCell("1").addCell("2").addCell("3");
+    return new Table.Builder().withColumns(name, age, score, hidden).withTitle("title").build();
+  }
+
+  private static String export(Table table, String format) throws UnsupportedEncodingException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    switch (format) {
+      case "csv":
+        table.exportCsv(out);
+        break;
+      case "tsv":
+        table.exportTsv(out);
+        break;
+      default:
+        table.exportJsonLines(out);
+    }
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  void testExportCsv() throws UnsupportedEncodingException {
+    assertEquals(
+        "NAME,AGE,SCORE\r\n"
+            + "plain,1,0.5\r\n"
+            + "\"a,\"\"b\"\"\",-20,NaN\r\n"
+            + "\"x\ty\\z\n张三\",n/a,1.0E21\r\n",
+        export(createTable(), "csv"));
+  }
+
+  @Test
+  void testExportTsv() throws UnsupportedEncodingException {
+    assertEquals(
+        "NAME\tAGE\tSCORE\n"
+            + "plain\t1\t0.5\n"
+            + "a,\"b\"\t-20\tNaN\n"
+            + "x\\ty\\\\z\\n张三\tn/a\t1.0E21\n",
+        export(createTable(), "tsv"));
+  }
+
+  @Test
+  void testExportJsonLines() throws UnsupportedEncodingException {
+    assertEquals(
+        "{\"NAME\":\"plain\",\"AGE\":1,\"SCORE\":0.5}\n"
+            + "{\"NAME\":\"a,\\\"b\\\"\",\"AGE\":-20,\"SCORE\":\"NaN\"}\n"
+            + "{\"NAME\":\"x\\ty\\\\z\\n张三\",\"AGE\":\"n/a\",\"SCORE\":1.0E21}\n",
+        export(createTable(), "json"));
+
+    Column control = new Column.Builder().withHeader("c").build();
+    control.addCell("\u001B[31mred\u001B[0m");
+    assertEquals(
+        "{\"C\":\"\\u001b[31mred\\u001b[0m\"}\n",
+        export(new Table.Builder().withColumns(control).build(), "json"));
+  }
+
+  @Test
+  void testExportNullCells() throws UnsupportedEncodingException {
+    Column compact = new Column.Builder().withHeader("a").withCompactStorage(true).build();
+    Column list = new Column.Builder().withHeader("b").build();
+    IntColumn ints = new Column.Builder().withHeader("c").buildIntColumn();
+    compact.addCell(null).addCell("null");
+    list.addCell(null).addCell("x");
+    ints.addCell((String) null).addCell(2);
+    Table table = new Table.Builder().withColumns(compact, list, ints).build();
+    assertEquals(
+        "{\"A\":null,\"B\":null,\"C\":null}\n{\"A\":\"null\",\"B\":\"x\",\"C\":2}\n",
+        export(table, "json"));
+    assertEquals("A,B,C\r\nnull,null,null\r\nnull,x,2\r\n", export(table, "csv"));
+  }
+
+  @Test
+  void testExportLargeTable() throws UnsupportedEncodingException {
+    Column id = new Column.Builder().withHeader("id").buildIntColumn();
+    Column name = new Column.Builder().withHeader("name").withCompactStorage(true).build();
+    StringBuilder expected = new StringBuilder("ID,NAME\r\n");
+    for (int i = 0; i < 20000; i++) {
+      id.addCell(i);
+      name.addCell("名字" + i);
+      expected.append(i).append(",名字").append(i).append("\r\n");
+    }
+    Table table = new Table.Builder().withColumns(id, name).build();
+    assertEquals(expected.toString(), export(table, "csv"));
+  }
+
+  @Test
+  void testExportRespectsLimit() throws UnsupportedEncodingException {
+    Column id = new Column.Builder().withHeader("id").build();
+    Table table = new Table.Builder().withColumns(id).withLimit(2).build();
+    for (int i = 0; i < 5; i++) {
+      table.addRow(String.valueOf(i));
+    }
+    assertEquals("ID\n0\n1\n", export(table, "tsv"));
+  }
+
+  @Test
+  void testExportInvalidTable() {
+    Column a = new Column.Builder().withHeader("a").build();
+    Column b = new Column.Builder().withHeader("b").build();
+    a.addCell("1");
+    Table table = new Table.Builder().withColumns(a, b).build();
+    assertThrows(IllegalArgumentException.class, () -> export(table, "csv"));
+    assertThrows(IllegalArgumentException.class, () -> table.exportCsv(null));
+  }
+
+  @Test
+  void testIsJsonNumber() {
+    for (String number : new String[] {"0", "-1", "10", "0.5", "1.0E21", "2e-3", "-0.0"}) {
+      assertTrue(TableExport.isJsonNumber(number), number);
+    }
+    for (String text : new String[] {"", "-", "01", "1.", ".5", "1e", "NaN", "Infinity", "…"}) {
+      assertFalse(TableExport.isJsonNumber(text), text);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.jline.terminal.Size;
+import org.jline.terminal.Terminal;
+import org.jline.terminal.impl.DumbTerminal;
+import org.jline.utils.AttributedString;
+import org.junit.jupiter.api.Test;
+
+public class TestTablePager {
+
+  private static Table buildTable(int rows) {
+    Column id = new Column.Builder().withHeader("id").build();
+    Column name = new Column.Builder().withHeader("name").build();
+    Column city = new Column.Builder().withHeader("city").build();
+    for (int i = 0; i < rows; i++) {
+      id.addCell(String.valueOf(i));
+      name.addCell("name" + i);
+      city.addCell("city" + i);
+    }
+    return new Table.Builder()
+        .withBorderStyle(Constant.BASIC_ASCII, true)
+        .withColumns(id, name, city)
+        .build();
+  }
+
+  private static Terminal dumbTerminal(String input, ByteArrayOutputStream out, int columns)
+      throws IOException {
+    Terminal terminal =
+        new DumbTerminal(
+            "test",
+            Terminal.TYPE_DUMB,
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+            out,
+            StandardCharsets.UTF_8);
+    terminal.setSize(new Size(columns, 8));
+    return terminal;
+  }
+
+  private static String lines(TablePager pager) {
+    List<AttributedString> viewport = pager.viewport();
+    return viewport.stream().map(AttributedString::toString).collect(Collectors.joining("\n"));
+  }
+
+  @Test
+  void testViewportShowsVisibleRowsAndColumns() throws IOException {
+    TablePager pager = new TablePager(buildTable(100), dumbTerminal("", sink(), 20));
+    assertEquals(
+        "+----+--------+-----\n"
+            + "| ID |  NAME  |  CIT\n"
+            + "+----+--------+-----\n"
+            + "| 0  | name0  | city\n"
+            + "| 1  | name1  | city\n"
+            + "| 2  | name2  | city\n"
+            + "rows 1-3 of 100, col",
+        lines(pager));
+  }
+
+  @Test
+  void testScrollKeepsHeaderFrozen() throws IOException {
+    TablePager pager = new TablePager(buildTable(100), dumbTerminal("", sink(), 20));
+    pager.scroll(TablePager.Operation.DOWN);
+    pager.scroll(TablePager.Operation.RIGHT);
+    assertEquals(
+        "+--------+--------+\n"
+            + "|  NAME  |  CITY  |\n"
+            + "+--------+--------+\n"
+            + "| name1  | city1  |\n"
+            + "| name2  | city2  |\n"
+            + "| name3  | city3  |\n"
+            + "rows 2-4 of 100, col",
+        lines(pager));
+
+    pager.scroll(TablePager.Operation.END);
+    assertEquals(
+        "+--------+--------+\n"
+            + "|  NAME  |  CITY  |\n"
+            + "+--------+--------+\n"
+            + "| name97 | city97 |\n"
+            + "| name98 | city98 |\n"
+            + "| name99 | city99 |\n"
+            + "+--------+--------+\n"
+            + "rows 98-100 of 100, ",
+        lines(pager));
+  }
+
+  @Test
+  void testScrollIsClamped() throws IOException {
+    TablePager pager = new TablePager(buildTable(2), dumbTerminal("", sink(), 40));
+    pager.scroll(TablePager.Operation.UP);
+    pager.scroll(TablePager.Operation.PAGE_DOWN);
+    pager.scroll(TablePager.Operation.LEFT);
+    for (int i = 0; i < 5; i++) {
+      pager.scroll(TablePager.Operation.RIGHT);
+    }
+    List<AttributedString> viewport = pager.viewport();
+    assertEquals("rows 1-2 of 2, columns 3-3 of 3", viewport.get(viewport.size() - 1).toString());
+  }
+
+  @Test
+  void testViewportFollowsNewData() throws IOException {
+    Table table = buildTable(1);
+    TablePager pager = new TablePager(table, dumbTerminal("", sink(), 40));
+    pager.viewport();
+    table.addData("id", "1");
+    table.addData("name", "a much longer name");
+    table.addData("city", "c");
+    List<AttributedString> viewport = pager.viewport();
+    assertEquals("| 1  | a much longer name | c     |", viewport.get(4).toString());
+  }
+
+  @Test
+  void testRunRedrawsFullFramesOnDumbTerminal() throws IOException {
+    ByteArrayOutputStream out = sink();
+    new TablePager(buildTable(100), dumbTerminal("jjlGq", out, 20)).run();
+    List<String> lines = Arrays.asList(out.toString("UTF-8").split("\\R"));
+
+    // 初始画面加上四次按键各重绘一次
+    assertEquals(5, lines.stream().filter(line -> line.startsWith("rows ")).count());
+    assertEquals(
+        Arrays.asList(
+            "+----+--------+-----",
+            "| ID |  NAME  |  CIT",
+            "+----+--------+-----",
+            "| 2  | name2  | city",
+            "| 3  | name3  | city",
+            "| 4  | name4  | city",
+            "rows 3-5 of 100, col"),
+        lines.subList(14, 21));
+    assertEquals(
+        Arrays.asList(
+            "+--------+--------+",
+            "|  NAME  |  CITY  |",
+            "+--------+--------+",
+            "| name97 | city97 |",
+            "| name98 | city98 |",
+            "| name99 | city99 |",
+            "+--------+--------+",
+            "rows 98-100 of 100, "),
+        lines.subList(lines.size() - 8, lines.size()));
+  }
+
+  private static ByteArrayOutputStream sink() {
+    return new ByteArrayOutputStream();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class TestTableRenderer {
+
+  private static Table createTable(Table.Builder builder) {
+    Column name =
+        new Column.Builder().withHeader("name").withFooter("total").withMaxWidth(8).build();
+    Column amount =
+        new Column.Builder()
+            .withHeader("amount")
+            .withDataAlign(HorizontalAlign.RIGHT)
+            .withFooter("42")
+            .build();
+    name.addCell("a|b").addCell("<x & y>").addCell("line1\nline2").addCell("overflowing");
+    amount.addCell("1").addCell("20").addCell("3").addCell("18");
+    return builder.withColumns(name, amount).build();
+  }
+
+  @Test
+  void testAsciiRendererMatchesRender() {
+    Table.Builder[] builders = {
+      new Table.Builder(),
+      new Table.Builder().withBorderStyle(BorderStyle.BASIC),
+      new Table.Builder().withTitle("report").withRowNumbersEnabled(true),
+      new Table.Builder().withHeaderRepeatInterval(2).withBorderStyle(BorderStyle.BASIC),
+      new Table.Builder().withOverflowBehaviour(OverflowBehaviour.WRAP),
+      new Table.Builder().withLimit(2)
+    };
+    for (Table.Builder builder : builders) {
+      Table table = createTable(builder);
+      StringBuilder sb = new StringBuilder();
+      table.render(table.asciiRenderer(sb));
+      assertEquals(table.getStringFormat(), sb.toString());
+    }
+  }
+
+  @Test
+  void testMarkdownRenderer() {
+    Table table = createTable(new Table.Builder().withTitle("report"));
+    StringBuilder sb = new StringBuilder();
+    table.render(new MarkdownTableRenderer(sb));
+    assertEquals(
+        "report\n"
+            + "\n"
+            + "| NAME     | AMOUNT |\n"
+            + "| :------- | -----: |\n"
+            + "| a\\|b     | 1      |\n"
+            + "| <x & y>  | 20     |\n"
+            + "| line1<br>line2 | 3      |\n"
+            + "| overflowing | 18     |\n"
+            + "| total    | 42     |\n",
+        sb.toString());
+  }
+
+  @Test
+  void testHtmlRenderer() {
+    Table table = createTable(new Table.Builder().withTitle("report"));
+    StringBuilder sb = new StringBuilder();
+    table.render(new HtmlTableRenderer(sb));
+    assertEquals(
+        "<table>\n"
+            + "  <caption>report</caption>\n"
+            + "  <thead>\n"
+            + "    <tr><th style=\"text-align: center\">NAME</th>"
+            + "<th style=\"text-align: center\">AMOUNT</th></tr>\n"
+            + "  </thead>\n"
+            + "  <tbody>\n"
+            + "    <tr><td>a|b</td><td style=\"text-align: right\">1</td></tr>\n"
+            + "    <tr><td>&lt;x &amp; y&gt;</td><td style=\"text-align: right\">20</td></tr>\n"
+            + "    <tr><td>line1<br>line2</td><td style=\"text-align: right\">3</td></tr>\n"
+            + "    <tr><td>overflowing</td><td style=\"text-align: right\">18</td></tr>\n"
+            + "  </tbody>\n"
+            + "  <tfoot>\n"
+            + "    <tr><td style=\"text-align: center\">total</td>"
+            + "<td style=\"text-align: center\">42</td></tr>\n"
+            + "  </tfoot>\n"
+            + "</table>\n",
+        sb.toString());
+  }
+
+  @Test
+  void testRenderAllFormatsInOnePass() {
+    Table table = createTable(new Table.Builder().withBorderStyle(BorderStyle.BASIC));
+    TableLayout layout = table.layout();
+    StringBuilder ascii = new StringBuilder();
+    StringBuilder markdown = new StringBuilder();
+    StringBuilder html = new StringBuilder();
+    table.render(
+        layout,
+        table.asciiRenderer(ascii),
+        new MarkdownTableRenderer(markdown),
+        new HtmlTableRenderer(html));
+
+    StringBuilder expected = new StringBuilder();
+    table.render(layout, expected);
+    assertEquals(expected.toString(), ascii.toString());
+    expected.setLength(0);
+    table.render(layout, new MarkdownTableRenderer(expected));
+    assertEquals(expected.toString(), markdown.toString());
+    expected.setLength(0);
+    table.render(layout, new HtmlTableRenderer(expected));
+    assertEquals(expected.toString(), html.toString());
+  }
+
+  @Test
+  void testRenderWithoutRenderers() {
+    Table table = createTable(new Table.Builder());
+    assertThrows(IllegalArgumentException.class, () -> table.render(new TableRenderer[0]));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestUtf8Sink {
+
+  @Test
+  void testEncodeMatchesString() {
+    String text = "name café 张远航 😀 ╔═╗ end";
+    Utf8Sink sink = new Utf8Sink(4);
+    sink.append(text).append('|').append(text, 5, 9).append(null);
+    String expected = text + '|' + text.substring(5, 9) + "null";
+    Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(sink));
+  }
+
+  @Test
+  void testSurrogatePairAcrossAppends() {
+    String emoji = "😀";
+    Utf8Sink sink = new Utf8Sink(16);
+    sink.append(emoji.charAt(0)).append(emoji.charAt(1));
+    Assertions.assertArrayEquals(emoji.getBytes(StandardCharsets.UTF_8), toBytes(sink));
+  }
+
+  @Test
+  void testUnpairedSurrogate() {
+    String text = "a\uD83Db\uDE00";
+    Utf8Sink sink = new Utf8Sink(16);
+    sink.append(text).append('\uD83D');
+    Assertions.assertArrayEquals((text + '\uD83D').getBytes(StandardCharsets.UTF_8), toBytes(sink));
+  }
+
+  @Test
+  void testAppendEncodedAndClear() {
+    Utf8Sink sink = new Utf8Sink(16);
+    sink.append("ab").appendEncoded("═".getBytes(StandardCharsets.UTF_8));
+    Assertions.assertEquals(5, sink.size());
+    Assertions.assertArrayEquals("ab═".getBytes(StandardCharsets.UTF_8), toBytes(sink));
+
+    sink.clear();
+    Assertions.assertEquals(0, sink.size());
+  }
+
+  private static byte[] toBytes(Utf8Sink sink) {
+    ByteBuffer buffer = sink.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TestWidthSolver {
+
+  private static int[] ones(int n) {
+    int[] ones = new int[n];
+    Arrays.fill(ones, 1);
+    return ones;
+  }
+
+  @Test
+  void testKeepsWidthsThatFit() {
+    int[] widths = {5, 10, 20};
+    assertArrayEquals(widths, WidthSolver.solve(widths, new int[] {3, 3, 3}, ones(3), 35));
+    assertArrayEquals(widths, WidthSolver.solve(widths, new int[] {3, 3, 3}, ones(3), 100));
+  }
+
+  @Test
+  void testShrinksWidestColumnsFirst() {
+    // 水位为 12.5：5 保持不变，10 和 20 分别收窄
+    assertArrayEquals(
+        new int[] {5, 10, 15}, WidthSolver.solve(new int[] {5, 10, 20}, ones(3), ones(3), 30));
+    assertArrayEquals(
+        new int[] {5, 8, 8}, WidthSolver.solve(new int[] {5, 10, 20}, ones(3), ones(3), 21));
+  }
+
+  @Test
+  void testWeights() {
+    assertArrayEquals(
+        new int[] {10, 20},
+        WidthSolver.solve(new int[] {40, 40}, new int[] {3, 3}, new int[] {1, 2}, 30));
+    assertArrayEquals(
+        new int[] {5, 25},
+        WidthSolver.solve(new int[] {5, 40}, new int[] {3, 3}, new int[] {3, 1}, 30));
+  }
+
+  @Test
+  void testMinWidths() {
+    assertArrayEquals(
+        new int[] {12, 8}, WidthSolver.solve(new int[] {30, 30}, new int[] {12, 3}, ones(2), 20));
+    // 最小宽度之和超过可用宽度
+    assertArrayEquals(
+        new int[] {6, 2, 6},
+        WidthSolver.solve(new int[] {30, 2, 30}, new int[] {6, 6, 6}, ones(3), 10));
+  }
+
+  @Test
+  void testTotalEqualsAvailable() {
+    Random random = new Random(42);
+    for (int round = 0; round < 1000; round++) {
+      int n = 1 + random.nextInt(12);
+      int[] widths = new int[n];
+      int[] minWidths = new int[n];
+      int[] weights = new int[n];
+      int required = 0;
+      int minimum = 0;
+      for (int i = 0; i < n; i++) {
+        widths[i] = 1 + random.nextInt(80);
+        minWidths[i] = 1 + random.nextInt(6);
+        weights[i] = 1 + random.nextInt(4);
+        required += widths[i];
+        minimum += Math.min(widths[i], minWidths[i]);
+      }
+      int available = minimum + random.nextInt(Math.max(1, required - minimum));
+      int[] result = WidthSolver.solve(widths, minWidths, weights, available);
+      assertEquals(Math.min(required, available), Arrays.stream(result).sum());
+      for (int i = 0; i < n; i++) {
+        assertEquals(
+            true, result[i] >= Math.min(widths[i], minWidths[i]) && result[i] <= widths[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table.utils;
+
+import org.jline.utils.AttributedString;
+import org.jline.utils.WCWidth;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestDisplayWidth {
+
+  @Test
+  void testSameAsJlineForEveryCodePoint() {
+    for (int cp = 0; cp <= Character.MAX_CODE_POINT; cp++) {
+      Assertions.assertEquals(
+          WCWidth.wcwidth(cp),
+          DisplayWidth.DEFAULT.width(cp),
+          "Width mismatch for U+" + Integer.toHexString(cp));
+    }
+  }
+
+  @Test
+  void testSameAsJlineForStrings() {
+    String[] samples = {
+      "",
+      "hello world",
+      "张远航",
+      "超级长的名字用于测试",
+      "mixed 混合 text",
+      "été",
+      "😀 smile",
+      "👨‍👩‍👧",
+      "ｆｕｌｌｗｉｄｔｈ",
+      "한국어",
+      "tab\tand\nnewline",
+      "lone \uD800 surrogate",
+      "…",
+      "╔═══╗"
+    };
+    for (String sample : samples) {
+      Assertions.assertEquals(
+          new AttributedString(sample).columnLength(),
+          DisplayWidth.DEFAULT.width(sample),
+          "Width mismatch for " + sample);
+      Assertions.assertEquals(
+          new AttributedString(sample).columnLength(), LineUtil.getDisplayWidth(sample));
+    }
+  }
+
+  @Test
+  void testAnsiEscapeSequences() {
+    String[] samples = {
+      "\u001B[31mred\u001B[0m",
+      "\u001B[1;4;97;41m粗体\u001B[0m text",
+      "\u001B[38;5;208morange",
+      "plain \u001B[m reset"
+    };
+    for (String sample : samples) {
+      Assertions.assertEquals(
+          AttributedString.fromAnsi(sample).columnLength(),
+          DisplayWidth.DEFAULT.width(sample),
+          "Width mismatch for " + sample);
+    }
+    // 没有结束字节的序列一直延续到末尾
+    Assertions.assertEquals(0, DisplayWidth.DEFAULT.width("\u001B[31", 0, 4));
+
+    String styled = "a\u001B[31mb";
+    Assertions.assertEquals(6, DisplayWidth.escapeSequenceEnd(styled, 1, styled.length()));
+    Assertions.assertEquals(0, DisplayWidth.escapeSequenceEnd(styled, 0, styled.length()));
+    Assertions.assertEquals(1, DisplayWidth.escapeSequenceStart(styled, 0, 6));
+    Assertions.assertEquals(5, DisplayWidth.escapeSequenceStart(styled, 0, 5));
+  }
+
+  @Test
+  void testAmbiguousWidth() {
+    Assertions.assertEquals(1, DisplayWidth.DEFAULT.width('°'));
+    Assertions.assertEquals(2, DisplayWidth.CJK.width('°'));
+    Assertions.assertEquals(2, DisplayWidth.CJK.width("…"));
+    Assertions.assertEquals(0, DisplayWidth.CJK.width("\u0301"));
+    Assertions.assertEquals(4, DisplayWidth.CJK.width("中文"));
+    Assertions.assertEquals(5, DisplayWidth.CJK.width("ascii"));
+  }
+
+  @Test
+  void testNullAndAscii() {
+    Assertions.assertEquals(0, DisplayWidth.DEFAULT.width(null));
+    Assertions.assertEquals(0, LineUtil.getDisplayWidth(null));
+    Assertions.assertEquals(11, DisplayWidth.DEFAULT.width("hello world"));
+    Assertions.assertEquals(2, DisplayWidth.DEFAULT.width(new StringBuilder("ok")));
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.tyy.output.table.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestNumberUtil {
+  private static final long[] VALUES = {
+    0,
+    1,
+    -1,
+    9,
+    10,
+    -10,
+    99,
+    100,
+    12345,
+    -987654321,
+    Integer.MAX_VALUE,
+    Integer.MIN_VALUE,
+    999_999_999_999_999_999L,
+    1_000_000_000_000_000_000L,
+    Long.MAX_VALUE,
+    Long.MIN_VALUE
+  };
+
+  @Test
+  void testDigitCount() {
+    for (long value : VALUES) {
+      Assertions.assertEquals(String.valueOf(value).length(), NumberUtil.digitCount(value));
+    }
+  }
+
+  @Test
+  void testGetChars() {
+    char[] buf = new char[NumberUtil.MAX_LONG_CHARS];
+    for (long value : VALUES) {
+      int start = NumberUtil.getChars(value, buf);
+      Assertions.assertEquals(String.valueOf(value), new String(buf, start, buf.length - start));
+    }
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> NumberUtil.getChars(1, new char[3]));
+  }
+}